@@ -0,0 +1,76 @@
+package reactivefb;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.reactivestreams.Publisher;
+import reactivefb.compression.Compression;
+import reactivefb.json.ChunkedJsonDecoder;
+import reactivefb.json.DecodeOffload;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response which body is decoded by {@link ChunkedJsonDecoder} straight from Jetty content chunks,
+ * each chunk is released back to Jetty as soon as it is tokenized and cancelling the body aborts the exchange.
+ * Decoding of big bodies may be moved off Jetty I/O threads by {@link DecodeOffload},
+ * compressed bodies are inflated by {@link Compression} while decoded.
+ * {@link #bodyData()} is left raw for error responses.
+ *
+ * @author Sergii Karpenko
+ */
+public class ChunkedJsonReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final RawReactiveHttpResponse raw;
+    private final Publisher<ContentChunk> content;
+    private final ObjectReader objectReader;
+    private final Class<?> bodyType;
+    private final ByteBufferPool bufferPool;
+    private final DecodeOffload decodeOffload;
+    private final long contentLength;
+
+    public ChunkedJsonReactiveHttpResponse(Response response, Publisher<ContentChunk> content,
+                                           ObjectReader objectReader, ByteBufferPool bufferPool) {
+        this(response, content, objectReader, null, bufferPool, null, null);
+    }
+
+    /**
+     * @param bodyType type {@code objectReader} decodes, reported with decoding events
+     * @param decodeOffload moves decoding off Jetty I/O threads, {@code null} to decode in place
+     * @param compression inflates body, {@code null} if body is decoded as received
+     */
+    public ChunkedJsonReactiveHttpResponse(Response response, Publisher<ContentChunk> content,
+                                           ObjectReader objectReader, Class<?> bodyType,
+                                           ByteBufferPool bufferPool, DecodeOffload decodeOffload,
+                                           Compression compression) {
+        this(new RawReactiveHttpResponse(response, content, compression), response, content, objectReader, bodyType,
+                bufferPool, decodeOffload);
+    }
+
+    private ChunkedJsonReactiveHttpResponse(RawReactiveHttpResponse raw, Response response,
+                                            Publisher<ContentChunk> content, ObjectReader objectReader,
+                                            Class<?> bodyType, ByteBufferPool bufferPool,
+                                            DecodeOffload decodeOffload) {
+        super(raw);
+        this.raw = raw;
+        this.content = content;
+        this.objectReader = objectReader;
+        this.bodyType = bodyType;
+        this.bufferPool = bufferPool;
+        this.decodeOffload = decodeOffload;
+        this.contentLength = response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH.asString());
+    }
+
+    @Override
+    public Mono<Object> body() {
+        Flux<ContentChunk> chunks = Flux.from(content);
+        if (decodeOffload != null) {
+            chunks = decodeOffload.apply(chunks, contentLength);
+        }
+        return ChunkedJsonDecoder.decode(chunks.doOnCancel(raw::abort), objectReader, bodyType, bufferPool,
+                raw.isCompressed() ? raw::newInflater : null);
+    }
+}
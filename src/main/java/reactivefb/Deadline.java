@@ -0,0 +1,58 @@
+package reactivefb;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Point in time after which response is no longer needed.
+ * <p>
+ * Deadline is passed in Reactor {@link Context} of a call, e.g.
+ * {@code client.fetchObject("me", User.class).subscriberContext(Deadline.within(Duration.ofSeconds(2)))},
+ * and is enforced by {@link DefaultReactiveWebRequestor} on the Jetty exchange,
+ * which is aborted once deadline passes.
+ *
+ * @author Sergii Karpenko
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return context modification putting deadline {@code timeout} from now into context of a call,
+     * unless the context already has an earlier one
+     */
+    public static Function<Context, Context> within(Duration timeout) {
+        return context -> {
+            Deadline deadline = after(timeout);
+            return context.getOrEmpty(Deadline.class)
+                    .map(Deadline.class::cast)
+                    .filter(existing -> existing.deadlineNanos - deadline.deadlineNanos <= 0)
+                    .map(existing -> context)
+                    .orElseGet(() -> context.put(Deadline.class, deadline));
+        };
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{in " + remainingMillis() + " ms}";
+    }
+}
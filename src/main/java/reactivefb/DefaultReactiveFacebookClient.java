@@ -4,15 +4,20 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.async_.JsonFactory;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.restfb.*;
 import com.restfb.batch.BatchRequest;
 import com.restfb.batch.BatchResponse;
 import com.restfb.exception.FacebookException;
+import com.restfb.exception.FacebookJsonMappingException;
 import com.restfb.exception.FacebookNetworkException;
 import com.restfb.exception.FacebookOAuthException;
 import com.restfb.exception.devicetoken.DeviceTokenExceptionFactory;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenCodeExpiredException;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenPendingException;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenSlowdownException;
 import com.restfb.exception.generator.DefaultFacebookExceptionGenerator;
 import com.restfb.exception.generator.FacebookExceptionGenerator;
 import com.restfb.scope.ScopeBuilder;
@@ -23,19 +28,59 @@ import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactivefb.bulk.BatchGraph;
+import reactivefb.bulk.BatchGraphResult;
+import reactivefb.bulk.BatchPipeline;
+import reactivefb.bulk.BatchStep;
+import reactivefb.bulk.BulkOptions;
+import reactivefb.bulk.BulkResult;
+import reactivefb.bulk.PublishRequest;
+import reactivefb.circuit.CircuitBreakers;
+import reactivefb.compression.Compression;
+import reactivefb.error.GraphError;
+import reactivefb.error.GraphErrorException;
+import reactivefb.expansion.Edge;
+import reactivefb.expansion.ExpandedObject;
+import reactivefb.expansion.GraphQuery;
+import reactivefb.hedging.HedgingPolicy;
+import reactivefb.jfr.GraphEvents;
+import reactivefb.jfr.RequestRecording;
+import reactivefb.json.DecodeOffload;
+import reactivefb.json.FacebookModules;
+import reactivefb.json.PagingScanner;
 import reactivefb.json.types.Connection;
 import reactivefb.json.types.DeleteResponse;
+import reactivefb.json.types.ProjectedObject;
+import reactivefb.leak.ResponseTracker;
+import reactivefb.pagination.Checkpoint;
+import reactivefb.pagination.CursorStore;
+import reactivefb.ratelimit.RateLimiter;
+import reactivefb.timing.RequestTimings;
+import reactivefb.timing.SlowRequestLog;
+import reactivefb.token.AccessTokenManager;
+import reactivefb.token.TokenPool;
+import reactivefb.warmup.ConnectionWarmup;
 import reactivefeign.client.DelegatingReactiveHttpResponse;
 import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.restfb.FacebookClient.AccessToken;
 import static com.restfb.FacebookClient.DebugTokenInfo;
@@ -47,6 +92,7 @@ import static java.net.HttpURLConnection.*;
 import static java.nio.ByteBuffer.wrap;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static reactivefb.Parameters.ACCESS_TOKEN_PARAM_NAME;
 import static reactivefb.Parameters.APP_SECRET_PROOF_PARAM_NAME;
 import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
 
@@ -84,6 +130,10 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
    */
   protected static final String IDS_PARAM_NAME = "ids";
 
+  private static final int DEFAULT_DEVICE_POLLING_INTERVAL_SECONDS = 5;
+  private static final int DEFAULT_DEVICE_CODE_EXPIRES_IN_SECONDS = 420;
+  static final Duration DEVICE_POLLING_SLOW_DOWN_INCREMENT = Duration.ofSeconds(5);
+
   /**
    * Version of API endpoint.
    */
@@ -95,6 +145,43 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
 
   private UtilityFacebookClient utilityFacebookClient;
 
+  /**
+   * Budget of Graph API calls shared by bulk operations.
+   */
+  private final RateLimiter rateLimiter;
+
+  private final ObjectReader deleteResponseReader;
+
+  /**
+   * If {@code true} expected errors are signalled with stackless {@link GraphErrorException}.
+   */
+  private final boolean stacklessErrors;
+
+  /**
+   * If set GET requests which are not answered in time are duplicated.
+   */
+  private final HedgingPolicy hedgingPolicy;
+
+  /**
+   * If set requests to failing endpoints are rejected without being sent.
+   */
+  private final CircuitBreakers circuitBreakers;
+
+  /**
+   * If set makes sure bodies of responses are consumed or released.
+   */
+  private final ResponseTracker responseTracker;
+
+  /**
+   * Completes once connections are warmed up.
+   */
+  private final Mono<Void> readiness;
+
+  /**
+   * If {@code true} fetched connection pages carry timings of their requests even if caller didn't ask for them.
+   */
+  private final boolean captureTimings;
+
   /**
    * Creates a Facebook Graph API client .
    *
@@ -111,6 +198,26 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
   protected DefaultReactiveFacebookClient(
           Version apiVersion, String accessToken, String appSecret,
           ReactiveWebRequestor webRequestor, FacebookExceptionGenerator exceptionGenerator, ObjectMapper objectMapper) {
+    this(apiVersion, accessToken, appSecret, webRequestor, exceptionGenerator, objectMapper, RateLimiter.UNLIMITED);
+  }
+
+  /**
+   * Creates a Facebook Graph API client which bulk operations are limited by {@code rateLimiter}.
+   */
+  protected DefaultReactiveFacebookClient(
+          Version apiVersion, String accessToken, String appSecret,
+          ReactiveWebRequestor webRequestor, FacebookExceptionGenerator exceptionGenerator, ObjectMapper objectMapper,
+          RateLimiter rateLimiter) {
+    this(apiVersion, accessToken, appSecret, webRequestor, exceptionGenerator, objectMapper, rateLimiter, false,
+            null, null, null, Mono.empty(), false);
+  }
+
+  private DefaultReactiveFacebookClient(
+          Version apiVersion, String accessToken, String appSecret,
+          ReactiveWebRequestor webRequestor, FacebookExceptionGenerator exceptionGenerator, ObjectMapper objectMapper,
+          RateLimiter rateLimiter, boolean stacklessErrors, HedgingPolicy hedgingPolicy,
+          CircuitBreakers circuitBreakers, ResponseTracker responseTracker,
+          Mono<Void> readiness, boolean captureTimings) {
     super();
 
     this.apiVersion = apiVersion;
@@ -120,6 +227,14 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     this.webRequestor = webRequestor;
     this.exceptionGenerator = exceptionGenerator;
     this.objectMapper = objectMapper;
+    this.rateLimiter = rateLimiter;
+    this.deleteResponseReader = objectMapper.readerFor(DeleteResponse.class);
+    this.stacklessErrors = stacklessErrors;
+    this.hedgingPolicy = hedgingPolicy;
+    this.circuitBreakers = circuitBreakers;
+    this.responseTracker = responseTracker;
+    this.readiness = readiness;
+    this.captureTimings = captureTimings;
 
     this.utilityFacebookClient = new UtilityFacebookClient(accessToken, appSecret, apiVersion);
   }
@@ -129,7 +244,7 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
   public <T> Mono<T> fetchObject(String object, Class<T> objectType, Parameter... parameters) {
     verifyParameterPresence("object", object);
     verifyParameterPresence("objectType", objectType);
-    return makeGetRequest(object, objectType,null, parameters);
+    return makeGetRequest(object, objectType, parameters);
   }
 
   @Override
@@ -168,20 +283,32 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     verifyParameterPresence("object", object);
 
     return makeDeleteRequest(object, String.class, parameters)
-            .map(responseString -> {
-              try {
-                DeleteResponse deleteResponse = objectMapper.readValue(responseString, DeleteResponse.class);
-                if(deleteResponse.getSuccess() != null){
-                  return Boolean.valueOf(deleteResponse.getSuccess());
-                }
-                if(deleteResponse.getResult() != null){
-                  return deleteResponse.getResult().contains("Successfully deleted");
-                }
-              } catch (IOException e) {
-                logger.debug("no valid JSON returned while deleting a object, using returned String instead", e);
-              }
-              return "true".equals(responseString);
-            });
+            .map(this::isDeleted);
+  }
+
+  /**
+   * Body which is not valid JSON means success only if it is plain {@code true}.
+   */
+  private boolean isDeleted(String responseString) {
+    try {
+      return deleteResponseReader.<DeleteResponse>readValue(responseString).isDeleted();
+    } catch (IOException e) {
+      logger.debug("no valid JSON returned while deleting a object, using returned String instead", e);
+      return "true".equals(responseString);
+    }
+  }
+
+  @Override
+  public Flux<BulkResult<String, Boolean>> deleteObjects(Flux<String> ids) {
+    return deleteObjects(ids, BulkOptions.DEFAULT);
+  }
+
+  @Override
+  public Flux<BulkResult<String, Boolean>> deleteObjects(Flux<String> ids, BulkOptions options) {
+    return new BatchPipeline<String, Boolean>(this::executeBatchRequests, rateLimiter, options,
+            id -> new BatchRequest.BatchRequestBuilder(id).method("DELETE").build(),
+            response -> this.<DeleteResponse>decodeBatchResponse(response, deleteResponseReader).isDeleted())
+            .execute(ids);
   }
 
   /**
@@ -191,12 +318,35 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
   public <T> Mono<Connection<T>> fetchConnection(String connection, Class<T> connectionType, Parameter... parameters) {
     verifyParameterPresence("connection", connection);
     verifyParameterPresence("connectionType", connectionType);
-    JavaType parametrizedType = objectMapper.getTypeFactory().constructParametricType(Connection.class, connectionType);
+    return fetchConnection(connection, connectionReader(connectionType), parameters);
+  }
+
+  @Override
+  public Mono<Connection<ProjectedObject>> fetchConnection(String connection, Projection projection,
+                                                           Parameter... parameters) {
+    verifyParameterPresence("connection", connection);
+    verifyParameterPresence("projection", projection);
+    return fetchConnection(connection, connectionReader(projection),
+            withProjection(projection, parameters));
+  }
+
+  @Override
+  public Mono<ProjectedObject> fetchObject(String object, Projection projection, Parameter... parameters) {
+    verifyParameterPresence("object", object);
+    verifyParameterPresence("projection", projection);
+    return makeGetRequest(object, ProjectedObject.class,
+            objectMapper.readerFor(ProjectedObject.class).withAttribute(Projection.class, projection),
+            withProjection(projection, parameters));
+  }
+
+  private <T> Mono<Connection<T>> fetchConnection(String connection, ObjectReader connectionReader,
+                                                  Parameter... parameters) {
     TraceableResult<Connection> traceableResult = makeGetRequestTraceable(connection, Connection.class,
-            objectMapper.readerFor(parametrizedType), parameters);
+            connectionReader, parameters);
 
-    return traceableResult.result.map(conn -> {
+    return traceableResult.mapTimed(captureTimings, (conn, timings) -> {
       conn.setUrl(traceableResult.url);
+      conn.setTimings(timings);
       return conn;
     });
   }
@@ -207,21 +357,187 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
    */
   @Override
   public <T> Mono<Connection<T>> fetchConnectionPage(String connectionPageUrl, Class<T> connectionType) {
+    return fetchConnectionPage(connectionPageUrl, connectionReader(connectionType));
+  }
+
+  @Override
+  public Mono<Connection<ProjectedObject>> fetchConnectionPage(String connectionPageUrl, Projection projection) {
+    verifyParameterPresence("projection", projection);
+    return fetchConnectionPage(connectionPageUrl, connectionReader(projection));
+  }
+
+  private <T> Mono<Connection<T>> fetchConnectionPage(String connectionPageUrl, ObjectReader connectionReader) {
     if (!isBlank(accessToken) && !isBlank(appSecret)) {
       connectionPageUrl = replaceOrAddQueryParameter(connectionPageUrl,
               APP_SECRET_PROOF_PARAM_NAME, utilityFacebookClient.obtainAppSecretProof(accessToken, appSecret));
     }
 
-    JavaType parametrizedType = objectMapper.getTypeFactory().constructParametricType(Connection.class, connectionType);
-    TraceableResult<Connection> traceableResult = makeGetRequestTraceable(connectionPageUrl, Connection.class,
-            objectMapper.readerFor(parametrizedType));
+    TraceableResult<Connection> traceableResult = makeGetRequestTraceableForUrl(connectionPageUrl, Connection.class,
+            connectionReader);
 
-    return traceableResult.result.map(conn -> {
+    return traceableResult.mapTimed(captureTimings, (conn, timings) -> {
       conn.setUrl(traceableResult.url);
+      conn.setTimings(timings);
       return conn;
     });
   }
 
+  private ObjectReader connectionReader(Class<?> connectionType) {
+    JavaType parametrizedType = objectMapper.getTypeFactory().constructParametricType(Connection.class, connectionType);
+    return objectMapper.readerFor(parametrizedType);
+  }
+
+  private ObjectReader connectionReader(Projection projection) {
+    return connectionReader(ProjectedObject.class).withAttribute(Projection.class, projection);
+  }
+
+  private Parameter[] withProjection(Projection projection, Parameter... parameters) {
+    return withFields(projection.toFieldsParameter(), parameters);
+  }
+
+  private Parameter[] withFields(String fields, Parameter... parameters) {
+    for (Parameter parameter : parameters) {
+      if (Projection.FIELDS_PARAM_NAME.equals(parameter.name)) {
+        throw new IllegalArgumentException("You cannot specify the '" + Projection.FIELDS_PARAM_NAME
+                + "' URL parameter yourself - it is populated from projection or query.");
+      }
+    }
+    return utilityFacebookClient.withAdditionalParameter(
+            Parameter.with(Projection.FIELDS_PARAM_NAME, fields), parameters);
+  }
+
+  @Override
+  public <T> Flux<Connection<T>> fetchConnectionResumable(String streamId, CursorStore cursorStore,
+                                                          String connection, Class<T> connectionType,
+                                                          Parameter... parameters) {
+    verifyParameterPresence("streamId", streamId);
+    verifyParameterPresence("cursorStore", cursorStore);
+    verifyParameterPresence("connection", connection);
+    verifyParameterPresence("connectionType", connectionType);
+
+    Mono<Connection<T>> firstPage = cursorStore.load(streamId)
+            .flatMap(checkpoint -> resumeConnection(checkpoint, connection, connectionType, parameters))
+            .switchIfEmpty(Mono.defer(() -> fetchConnection(connection, connectionType, parameters)));
+
+    return firstPage
+            .expand(page -> hasNextPage(page)
+                    ? fetchConnectionPage(page.getNextPageUrl(), connectionType)
+                    : Mono.empty())
+            .concatMap(page -> {
+              Checkpoint checkpoint = checkpointOf(page);
+              Mono<Void> saved = checkpoint != null
+                      ? cursorStore.save(streamId, checkpoint)
+                      : cursorStore.remove(streamId);
+              return Mono.just(page).concatWith(saved.then(Mono.<Connection<T>>empty()));
+            });
+  }
+
+  private <T> Mono<Connection<T>> resumeConnection(Checkpoint checkpoint, String connection, Class<T> connectionType,
+                                                   Parameter... parameters) {
+    if (checkpoint.getKind() == Checkpoint.Kind.AFTER_CURSOR) {
+      return fetchConnection(connection, connectionType, utilityFacebookClient.withAdditionalParameter(
+              Parameter.with(Connection.AFTER_PARAMETER, checkpoint.getValue()), parameters));
+    } else {
+      String pageUrl = checkpoint.getValue();
+      if (!isBlank(accessToken)) {
+        pageUrl = replaceOrAddQueryParameter(pageUrl, ACCESS_TOKEN_PARAM_NAME, accessToken);
+      }
+      return fetchConnectionPage(pageUrl, connectionType);
+    }
+  }
+
+  /**
+   * @return checkpoint to resume after this page or {@code null} if it is the last one.
+   * Page urls are stored without access token.
+   */
+  private static Checkpoint checkpointOf(Connection<?> page) {
+    if (!hasNextPage(page)) {
+      return null;
+    }
+    Connection.Cursors cursors = page.getPaging().getCursors();
+    if (cursors != null && !isBlank(cursors.getAfter())) {
+      return Checkpoint.afterCursor(cursors.getAfter());
+    }
+    return Checkpoint.pageUrl(page.getNextPageUrl()
+            .replaceAll("([?&])" + ACCESS_TOKEN_PARAM_NAME + "=[^&]*&?", "$1")
+            .replaceAll("[?&]$", ""));
+  }
+
+  @Override
+  public Mono<ExpandedObject> fetchExpanded(GraphQuery query, Parameter... parameters) {
+    verifyParameterPresence("query", query);
+    return makeGetRequest(query.getObject(), JsonNode.class, objectMapper.readerFor(JsonNode.class),
+            withFields(query.toFieldsParameter(), parameters))
+            .map(node -> new ExpandedObject(node, query, objectMapper, this::fetchRemainingEdge));
+  }
+
+  private Flux<JsonNode> fetchRemainingEdge(String parentId, Edge edge, String afterCursor) {
+    ObjectReader pageReader = connectionReader(JsonNode.class);
+    Mono<Connection<JsonNode>> firstPage = fetchConnection(
+            parentId + "/" + edge.getName(), pageReader, edge.toPageParameters(afterCursor));
+    return firstPage
+            .expand(page -> hasNextPage(page)
+                    ? fetchConnectionPage(page.getNextPageUrl(), pageReader)
+                    : Mono.empty())
+            .flatMapIterable(Connection::getData);
+  }
+
+  private static boolean hasNextPage(Connection<?> connection) {
+    return connection.getPaging() != null
+            && connection.getData() != null && !connection.getData().isEmpty()
+            && connection.getNextPageUrl() != null;
+  }
+
+  @Override
+  public Flux<ByteBuffer> fetchRaw(String object, Parameter... parameters) {
+    verifyParameterPresence("object", object);
+    return makeGetRequestRaw(createGetUrl(object, parameters))
+            .flatMapMany(reactiveHttpResponse -> (Publisher<ByteBuffer>) reactiveHttpResponse.body());
+  }
+
+  @Override
+  public Mono<RawConnectionPage> fetchConnectionRaw(String connection, Parameter... parameters) {
+    verifyParameterPresence("connection", connection);
+    return fetchRawPage(createGetUrl(connection, parameters));
+  }
+
+  @Override
+  public Mono<RawConnectionPage> fetchConnectionPageRaw(String connectionPageUrl) {
+    verifyParameterPresence("connectionPageUrl", connectionPageUrl);
+    if (!isBlank(accessToken) && !isBlank(appSecret)) {
+      connectionPageUrl = replaceOrAddQueryParameter(connectionPageUrl,
+              APP_SECRET_PROOF_PARAM_NAME, utilityFacebookClient.obtainAppSecretProof(accessToken, appSecret));
+    }
+    return fetchRawPage(connectionPageUrl);
+  }
+
+  private Mono<RawConnectionPage> fetchRawPage(String url) {
+    return makeGetRequestRaw(url).flatMap(reactiveHttpResponse -> {
+      PagingScanner pagingScanner;
+      try {
+        pagingScanner = new PagingScanner();
+      } catch (IOException e) {
+        return Mono.error(e);
+      }
+      return Flux.from((Publisher<ByteBuffer>) reactiveHttpResponse.body())
+              .doOnNext(buffer -> {
+                try {
+                  pagingScanner.feed(buffer);
+                } catch (IOException e) {
+                  throw Exceptions.propagate(e);
+                }
+              })
+              .collectList()
+              .map(content -> {
+                try {
+                  return new RawConnectionPage(content, pagingScanner.finish(), url);
+                } catch (IOException e) {
+                  throw Exceptions.propagate(e);
+                }
+              });
+    });
+  }
+
   /**
    * @see com.restfb.FacebookClient#publish(String, Class, com.restfb.Parameter[])
    */
@@ -270,6 +586,74 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     }
   }
 
+  @Override
+  public Mono<BatchGraphResult> executeBatch(BatchGraph batchGraph) {
+    verifyParameterPresence("batchGraph", batchGraph);
+
+    Map<BatchStep<?>, ObjectReader> readers = new HashMap<>();
+    for (BatchStep<?> step : batchGraph.getSteps()) {
+      readers.put(step, step.isConnection()
+              ? connectionReader(step.getType())
+              : objectMapper.readerFor(step.getType()));
+    }
+    return executeBatchRequests(batchGraph.getRequests())
+            .map(responses -> batchGraph.decode(responses,
+                    (step, response) -> decodeBatchResponse(response, readers.get(step))));
+  }
+
+  @Override
+  public <T> Flux<BulkResult<PublishRequest, T>> publishAll(Flux<PublishRequest> requests, Class<T> objectType) {
+    return publishAll(requests, objectType, BulkOptions.DEFAULT);
+  }
+
+  @Override
+  public <T> Flux<BulkResult<PublishRequest, T>> publishAll(Flux<PublishRequest> requests, Class<T> objectType,
+                                                           BulkOptions options) {
+    verifyParameterPresence("objectType", objectType);
+
+    ObjectReader objectReader = objectMapper.readerFor(objectType);
+    return new BatchPipeline<PublishRequest, T>(this::executeBatchRequests, rateLimiter, options,
+            request -> new BatchRequest.BatchRequestBuilder(request.getConnection())
+                    .method("POST")
+                    .body(request.getParameters())
+                    .build(),
+            response -> decodeBatchResponse(response, objectReader))
+            .execute(requests);
+  }
+
+  /**
+   * Executes batch keeping {@code null} responses of not executed requests in place.
+   */
+  private Mono<List<BatchResponse>> executeBatchRequests(List<BatchRequest> batchRequests) {
+    try {
+      return makePostRequest("", BatchResponse[].class, null,
+              Parameter.with("batch", objectMapper.writeValueAsString(batchRequests)))
+              .map(Arrays::asList);
+    } catch (JsonProcessingException e){
+      return Mono.error(e);
+    }
+  }
+
+  private <T> T decodeBatchResponse(BatchResponse response, ObjectReader objectReader) {
+    Integer code = response.getCode();
+    if (code == null || code != HTTP_OK) {
+      int status = code != null ? code : 0;
+      if (stacklessErrors) {
+        GraphError error = GraphError.parse(response.getBody(), status);
+        if (error != null && error.getCategory().isExpected()) {
+          throw new GraphErrorException(error);
+        }
+      }
+      exceptionGenerator.throwFacebookResponseStatusExceptionIfNecessary(response.getBody(), status);
+      throw new FacebookNetworkException(status);
+    }
+    try {
+      return objectReader.readValue(response.getBody());
+    } catch (IOException e) {
+      throw new FacebookJsonMappingException("Unable to map batch response body", e);
+    }
+  }
+
 
 
 
@@ -325,6 +709,24 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
                                     Class<T> returnType,
                                     ObjectReader objectReader,
                                     Parameter... parameters) {
+    return makeGetRequestTraceableForUrl(createGetUrl(endpoint, parameters), returnType, objectReader);
+  }
+
+  /**
+   * Executes the API request GET on full url, e.g. url of connection page.
+   */
+  protected <T> TraceableResult<T> makeGetRequestTraceableForUrl(String url,
+                                                                 Class<T> returnType,
+                                                                 ObjectReader objectReader) {
+    Supplier<Mono<T>> request = () -> Mono.from(
+            processErrors(url, webRequestor.executeGet(url, returnType, objectReader))
+                    .flatMapMany(reactiveHttpResponse -> (Publisher<T>)reactiveHttpResponse.body()));
+
+    Mono<T> result = hedgingPolicy != null ? hedgingPolicy.hedge(request) : request.get();
+    return new TraceableResult<>(result, url);
+  }
+
+  protected String createGetUrl(String endpoint, Parameter... parameters) {
     utilityFacebookClient.verifyParameterLegality(parameters);
 
     if (!endpoint.startsWith("/")) {
@@ -333,13 +735,18 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
 
     final String fullEndpoint = utilityFacebookClient.createEndpointForApiCall(endpoint, false);
     final String parameterString = utilityFacebookClient.toParameterString(parameters);
-    String url = fullEndpoint + "?" + parameterString;
-
-    Mono<ReactiveHttpResponse> response = webRequestor.executeGet(url, returnType, objectReader);
+    return fullEndpoint + "?" + parameterString;
+  }
 
-    Mono<T> result = Mono.from(processErrors(response).flatMapMany(
-            reactiveHttpResponse -> (Publisher<T>)reactiveHttpResponse.body()));
-    return new TraceableResult<>(result, url);
+  /**
+   * Executes the API request GET passing response body through without decoding.
+   *
+   * @param url
+   *          Full url of request.
+   * @return response with not decoded {@code Flux<ByteBuffer>} body.
+   */
+  protected Mono<ReactiveHttpResponse> makeGetRequestRaw(String url) {
+    return processErrors(url, webRequestor.executeGetRaw(url));
   }
 
   /**
@@ -367,7 +774,7 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     final String parameterString = utilityFacebookClient.toParameterString(parameters);
 
     Mono<ReactiveHttpResponse> response = webRequestor.executeDelete(fullEndpoint + "?" + parameterString, returnType);
-    return processErrors(response).flatMap(reactiveHttpResponse -> (Mono<T>)reactiveHttpResponse.body());
+    return processErrors(fullEndpoint, response).flatMap(reactiveHttpResponse -> (Mono<T>)reactiveHttpResponse.body());
   }
 
   protected <T> Mono<T> makePostRequest(String endpoint,
@@ -423,7 +830,7 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
             binaryAttachments.toArray(new BinaryAttachment[0]))
             : webRequestor.executePost(fullEndpoint, returnPublisherType, returnType, parameterString);
 
-    return processErrors(response);
+    return processErrors(fullEndpoint, response);
   }
 
   public static final Set<Integer> CHECKED_ERROR_STATUSES = new HashSet<>(asList(
@@ -435,6 +842,18 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
           HTTP_NOT_MODIFIED
   ));
 
+  /**
+   * Processes errors of request to {@code url} guarding it by circuit breaker of its endpoint if enabled
+   * and tracking its body until it is consumed.
+   */
+  protected Mono<ReactiveHttpResponse> processErrors(String url, Mono<ReactiveHttpResponse> response){
+    response = recordRequest(url, response);
+    Mono<ReactiveHttpResponse> guarded = circuitBreakers != null ? circuitBreakers.guard(url, response) : response;
+    return processErrors(responseTracker != null
+            ? guarded.map(resp -> responseTracker.track(url, resp))
+            : guarded);
+  }
+
   protected Mono<ReactiveHttpResponse> processErrors(Mono<ReactiveHttpResponse> response){
     return response.map(resp -> {
       int status = resp.status();
@@ -443,6 +862,12 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
           return errorResponse(resp, bytes -> new FacebookNetworkException(status));
         } else {
           return errorResponse(resp, bytes -> {
+            if (stacklessErrors) {
+              GraphError error = GraphError.parse(bytes, status);
+              if (error != null && error.getCategory().isExpected()) {
+                return new GraphErrorException(error);
+              }
+            }
             String errorJson = StandardCharsets.UTF_8.decode(wrap(bytes)).toString();
             // If the response contained an facebook error code, throw an exception.
             exceptionGenerator.throwFacebookResponseStatusExceptionIfNecessary(errorJson, status);
@@ -455,6 +880,42 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     });
   }
 
+  /**
+   * Emits Flight Recorder event of request if it is being recorded.
+   */
+  private static Mono<ReactiveHttpResponse> recordRequest(String url, Mono<ReactiveHttpResponse> response){
+    if(GraphEvents.get() == GraphEvents.NOOP){
+      return response;
+    }
+    return Mono.defer(() -> {
+      RequestRecording recording = GraphEvents.get().requestStarted(url);
+      if(!recording.isRecording()){
+        return response;
+      }
+      return response
+              .doOnSuccess(resp -> {
+                if(resp != null){
+                  recording.responded(resp.status(), contentLength(resp));
+                }
+              })
+              .doOnError(recording::failed)
+              .doOnCancel(recording::cancelled);
+    });
+  }
+
+  private static long contentLength(ReactiveHttpResponse response){
+    for(Map.Entry<String, List<String>> header : response.headers().entrySet()){
+      if("Content-Length".equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()){
+        try {
+          return Long.parseLong(header.getValue().get(0).trim());
+        } catch (NumberFormatException e) {
+          return -1;
+        }
+      }
+    }
+    return -1;
+  }
+
   private DelegatingReactiveHttpResponse errorResponse(ReactiveHttpResponse response,
                                                        Function<byte[], Throwable> errorDecoder) {
     return new DelegatingReactiveHttpResponse(response) {
@@ -485,11 +946,10 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     verifyParameterPresence("appId", appId);
     verifyParameterPresence("appSecret", appSecret);
 
-    return getAccessTokenFromResponse(
-            makeGetRequest("oauth/access_token", String.class,
+    return makeGetRequest("oauth/access_token", AccessToken.class,
             Parameter.with("grant_type", "client_credentials"),
             Parameter.with("client_id", appId),
-            Parameter.with("client_secret", appSecret)));
+            Parameter.with("client_secret", appSecret));
   }
 
   @Override
@@ -499,12 +959,11 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     verifyParameterPresence("appSecret", appSecret);
     verifyParameterPresence("verificationCode", verificationCode);
 
-    return getAccessTokenFromResponse(
-            makeGetRequest("oauth/access_token", String.class,
+    return makeGetRequest("oauth/access_token", AccessToken.class,
             Parameter.with("client_id", appId),
             Parameter.with("client_secret", appSecret),
             Parameter.with("code", verificationCode),
-            Parameter.with("redirect_uri", redirectUri)));
+            Parameter.with("redirect_uri", redirectUri));
   }
 
   @Override
@@ -524,27 +983,15 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     verifyParameterPresence("appSecret", appSecret);
     verifyParameterPresence("accessToken", accessToken);
 
-    return getAccessTokenFromResponse(
-            makeGetRequest("/oauth/access_token", String.class,
+    return makeGetRequest("/oauth/access_token", AccessToken.class,
             Parameter.with("client_id", appId),
             Parameter.with("client_secret", appSecret),
             Parameter.with("grant_type", "fb_exchange_token"),
-            Parameter.with("fb_exchange_token", accessToken)));
+            Parameter.with("fb_exchange_token", accessToken));
   }
 
 
 
-  protected Mono<AccessToken> getAccessTokenFromResponse(Mono<String> tokenString){
-    return tokenString.map(response -> {
-      try {
-        return objectMapper.readValue(response, AccessToken.class);
-      } catch (IOException e) {
-        logger.debug("could not map response to access token class try to fetch directly from String", e);
-        return AccessToken.fromQueryString(response);
-      }
-    });
-  }
-
   @Override
   public Mono<DeviceCode> fetchDeviceCode(ScopeBuilder scope) {
     verifyParameterPresence("scope", scope);
@@ -567,10 +1014,9 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
       throw new IllegalStateException("access token is required to fetch a device access token");
     }
 
-    return getAccessTokenFromResponse(
-            makePostRequest("device/login_status", String.class, null,
+    return makePostRequest("device/login_status", AccessToken.class, null,
                     Parameter.with("type", "device_token"),
-                    Parameter.with("code", code)))
+                    Parameter.with("code", code))
             .onErrorMap(FacebookOAuthException.class, foae -> {
               try {
                 DeviceTokenExceptionFactory.createFrom(foae);
@@ -581,6 +1027,31 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
             });
   }
 
+  @Override
+  public Mono<AccessToken> awaitDeviceAccessToken(DeviceCode deviceCode) {
+    verifyParameterPresence("deviceCode", deviceCode);
+    verifyParameterPresence("code", deviceCode.getCode());
+
+    AtomicReference<Duration> interval = new AtomicReference<>(Duration.ofSeconds(
+            deviceCode.getInterval() != null && deviceCode.getInterval() > 0
+                    ? deviceCode.getInterval() : DEFAULT_DEVICE_POLLING_INTERVAL_SECONDS));
+    Duration expiresIn = Duration.ofSeconds(deviceCode.getExpiresIn() != null
+            ? deviceCode.getExpiresIn() : DEFAULT_DEVICE_CODE_EXPIRES_IN_SECONDS);
+
+    // timers of all pending logins are served by the shared parallel scheduler, no thread is held while waiting
+    return Mono.defer(() -> Mono.delay(interval.get(), Schedulers.parallel()))
+            .then(Mono.defer(() -> obtainDeviceAccessToken(deviceCode.getCode())))
+            .retryWhen(errors -> errors.flatMap(error -> {
+              if (error instanceof FacebookDeviceTokenSlowdownException) {
+                interval.updateAndGet(current -> current.plus(DEVICE_POLLING_SLOW_DOWN_INCREMENT));
+                return Mono.just(error);
+              }
+              return error instanceof FacebookDeviceTokenPendingException ? Mono.just(error) : Mono.error(error);
+            }))
+            .timeout(expiresIn, Mono.defer(() -> Mono.error(new FacebookDeviceTokenCodeExpiredException(
+                    "Device code expired before authorization was confirmed", null))), Schedulers.parallel());
+  }
+
   @Override
   public Mono<DebugTokenInfo> debugToken(String inputToken) {
     verifyParameterPresence("inputToken", inputToken);
@@ -588,6 +1059,14 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
             Parameter.with("input_token", inputToken));
   }
 
+  /**
+   * @return completes once connections opened by {@link Builder#setConnectionWarmup} are ready, or right away
+   * if warm-up is not configured; errors if some Graph API host could not be reached
+   */
+  public Mono<Void> ready() {
+    return readiness;
+  }
+
   public static Builder builder(Version version){
     return new Builder(version);
   }
@@ -599,6 +1078,19 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
     private String appSecret;
     private ObjectMapper objectMapper;
     private JsonFactory jsonFactory = new JsonFactory();
+    private boolean afterburnerEnabled;
+    private RateLimiter rateLimiter = RateLimiter.UNLIMITED;
+    private boolean stacklessErrors;
+    private AccessTokenManager accessTokenManager;
+    private TokenPool tokenPool;
+    private HedgingPolicy hedgingPolicy;
+    private CircuitBreakers circuitBreakers;
+    private Duration requestTimeout;
+    private DecodeOffload decodeOffload;
+    private SlowRequestLog slowRequestLog;
+    private Compression compression = Compression.builder().build();
+    private ResponseTracker responseTracker = ResponseTracker.builder().build();
+    private ConnectionWarmup connectionWarmup;
 
     private ReactiveWebRequestor webRequestor;
 
@@ -644,7 +1136,130 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
       return this;
     }
 
+    /**
+     * Enables bytecode generated accessors for deserialization of restfb types.
+     * Requires optional {@code jackson-module-afterburner} dependency.
+     * Module is registered on the default object mapper as well as on the one set via {@link #setObjectMapper}.
+     */
+    public Builder setAfterburnerEnabled(boolean afterburnerEnabled) {
+      this.afterburnerEnabled = afterburnerEnabled;
+      return this;
+    }
+
+    /**
+     * Budget of Graph API calls bulk operations acquire permits from, unlimited by default.
+     */
+    public Builder setRateLimiter(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    /**
+     * Signals rate limit, transient, not found and permission errors with stackless {@link GraphErrorException}
+     * built straight from response bytes, bypassing {@link FacebookExceptionGenerator}.
+     * Other errors are still generated by it.
+     */
+    public Builder setStacklessErrors(boolean stacklessErrors) {
+      this.stacklessErrors = stacklessErrors;
+      return this;
+    }
+
+    /**
+     * Makes every request wait for valid token of {@code accessTokenManager} and carry it,
+     * so that refreshed tokens are picked up by running client.
+     */
+    public Builder setAccessTokenManager(AccessTokenManager accessTokenManager) {
+      this.accessTokenManager = accessTokenManager;
+      return this;
+    }
+
+    /**
+     * Sends every request with the least loaded token of {@code tokenPool} instead of a single access token.
+     */
+    public Builder setTokenPool(TokenPool tokenPool) {
+      this.tokenPool = tokenPool;
+      return this;
+    }
+
+    /**
+     * Enables hedging of idempotent GET requests, see {@link HedgingPolicy}.
+     */
+    public Builder setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+      this.hedgingPolicy = hedgingPolicy;
+      return this;
+    }
+
+    /**
+     * Enables per endpoint circuit breakers, see {@link CircuitBreakers}.
+     */
+    public Builder setCircuitBreakers(CircuitBreakers circuitBreakers) {
+      this.circuitBreakers = circuitBreakers;
+      return this;
+    }
+
+    /**
+     * Tracker releasing responses which bodies are never consumed, {@code null} disables tracking.
+     */
+    public Builder setResponseTracker(ResponseTracker responseTracker) {
+      this.responseTracker = responseTracker;
+      return this;
+    }
+
+    /**
+     * Moves decoding of JSON responses off Jetty I/O threads, applies only to default web requestor.
+     */
+    public Builder setDecodeOffload(DecodeOffload decodeOffload) {
+      this.decodeOffload = decodeOffload;
+      return this;
+    }
+
+    /**
+     * Reports phase timings of slow requests, applies only to default web requestor.
+     */
+    public Builder setSlowRequestLog(SlowRequestLog slowRequestLog) {
+      this.slowRequestLog = slowRequestLog;
+      return this;
+    }
+
+    /**
+     * Negotiates compressed responses and inflates them while decoded, applies only to default web requestor.
+     * Jetty content decoders are kept for requests executed by feign client, bytes inflated by them
+     * are not counted by {@link Compression#getMetrics()}, {@code null} leaves compression to Jetty.
+     */
+    public Builder setCompression(Compression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    /**
+     * Opens connections to Graph API hosts right after client is built,
+     * {@link DefaultReactiveFacebookClient#ready()} completes once they are opened.
+     * Applies only to default web requestor, can't be combined with {@link #setWebRequestor}.
+     */
+    public Builder setConnectionWarmup(ConnectionWarmup connectionWarmup) {
+      this.connectionWarmup = connectionWarmup;
+      return this;
+    }
+
+    /**
+     * Timeout of requests executed without {@link Deadline} in context, should be positive,
+     * {@code null} for no timeout. Applies only to default web requestor.
+     */
+    public Builder setRequestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+      return this;
+    }
+
     public DefaultReactiveFacebookClient build(){
+      if(accessTokenManager != null && tokenPool != null){
+        throw new IllegalArgumentException("Access token manager and token pool are mutually exclusive.");
+      }
+      if(requestTimeout != null && (requestTimeout.isZero() || requestTimeout.isNegative())){
+        throw new IllegalArgumentException("Request timeout should be positive.");
+      }
+      if(connectionWarmup != null && webRequestor != null){
+        throw new IllegalArgumentException("Connection warm-up applies only to default web requestor.");
+      }
 
       if(httpClient == null){
         httpClient = new HttpClient(new SslContextFactory());
@@ -661,12 +1276,38 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
       }
 
+      if(afterburnerEnabled){
+        FacebookModules.registerAfterburner(objectMapper);
+      }
+
       if(webRequestor == null){
-        webRequestor = new DefaultReactiveWebRequestor(httpClient, jsonFactory, objectMapper);
+        webRequestor = new DefaultReactiveWebRequestor(httpClient, jsonFactory, objectMapper, requestTimeout,
+                decodeOffload, slowRequestLog, compression);
+      }
+
+      if(accessTokenManager != null){
+        webRequestor = accessTokenManager.decorate(webRequestor);
+        if(accessToken == null){
+          accessToken = accessTokenManager.peekAccessToken();
+        }
+      }
+
+      if(tokenPool != null){
+        webRequestor = tokenPool.decorate(webRequestor);
+        if(accessToken == null){
+          accessToken = tokenPool.getTokens().get(0).getAccessToken();
+        }
+      }
+
+      Mono<Void> readiness = Mono.empty();
+      if(connectionWarmup != null){
+        readiness = connectionWarmup.warm(httpClient).cache();
+        readiness.subscribe(ignored -> {}, error -> {});
       }
 
       return new DefaultReactiveFacebookClient(version, accessToken, appSecret,
-              webRequestor, facebookExceptionGenerator, objectMapper);
+              webRequestor, facebookExceptionGenerator, objectMapper, rateLimiter, stacklessErrors,
+              hedgingPolicy, circuitBreakers, responseTracker, readiness, slowRequestLog != null);
     }
   }
 
@@ -714,6 +1355,22 @@ public class DefaultReactiveFacebookClient implements ReactiveFacebookClient {
       this.result = result;
       this.url = url;
     }
+
+    /**
+     * Maps result together with timings of request that produced it, timings are captured only if
+     * {@code captureTimings} is set or caller requested them and are {@code null} otherwise
+     * or if web requestor doesn't record them.
+     */
+    <R> Mono<R> mapTimed(boolean captureTimings, BiFunction<T, RequestTimings, R> mapper) {
+      return Mono.subscriberContext().flatMap(context -> {
+        if (!captureTimings && !RequestTimings.isRequested(context)) {
+          return result.map(value -> mapper.apply(value, null));
+        }
+        AtomicReference<RequestTimings> timings = new AtomicReference<>();
+        return result.map(value -> mapper.apply(value, timings.get()))
+                .subscriberContext(RequestTimings.captureInto(timings));
+      });
+    }
   }
 
 }
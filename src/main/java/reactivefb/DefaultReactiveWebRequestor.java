@@ -4,19 +4,37 @@ import com.fasterxml.jackson.core.async_.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.eclipse.jetty.reactive.client.ReactiveRequest;
 import org.reactivestreams.Publisher;
+import reactivefb.compression.Compression;
+import reactivefb.error.DeadlineExceededException;
+import reactivefb.json.DecodeOffload;
+import reactivefb.timing.RequestTimings;
+import reactivefb.timing.SlowRequestLog;
 import reactivefeign.client.ReactiveHttpRequest;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactivefeign.jetty.client.JettyReactiveHttpClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
@@ -25,10 +43,21 @@ import static java.util.Collections.singletonList;
 import static org.apache.commons.httpclient.params.HttpMethodParams.MULTIPART_BOUNDARY;
 
 /**
+ * Executes requests with Jetty {@link HttpClient}.
+ * <p>
+ * Every request is bounded by {@link Deadline} found in Reactor {@link Context} of a call,
+ * or by default request timeout if there is none. Jetty exchange is aborted once deadline passes
+ * or subscriber cancels, so that connection is returned to the pool instead of reading abandoned response.
+ * <p>
+ * Phases of such requests are timed by Jetty listeners if {@link SlowRequestLog} is set
+ * or caller asked for {@link RequestTimings} in context.
+ * <p>
+ * If {@link Compression} is set such requests advertise its encodings and responses compressed with them
+ * are inflated while streamed instead of by Jetty content decoder, which still inflates responses of
+ * requests executed by feign client.
+ *
  * @author Sergii Karpenko
  */
-
-
 public class DefaultReactiveWebRequestor implements ReactiveWebRequestor{
 
     /**
@@ -44,35 +73,193 @@ public class DefaultReactiveWebRequestor implements ReactiveWebRequestor{
     private final HttpClient httpClient;
     private final JsonFactory jsonFactory;
     private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final DecodeOffload decodeOffload;
+    private final SlowRequestLog slowRequestLog;
+    private final Compression compression;
 
     public DefaultReactiveWebRequestor(HttpClient httpClient, JsonFactory jsonFactory, ObjectMapper objectMapper) {
+        this(httpClient, jsonFactory, objectMapper, null, null, null, null);
+    }
+
+    /**
+     * @param requestTimeout applied to calls without {@link Deadline} in context, {@code null} for no timeout
+     * @param decodeOffload moves decoding of JSON responses off Jetty I/O threads, {@code null} to decode in place
+     * @param slowRequestLog receives timings of completed requests, {@code null} to time only requests
+     *                       which caller asked for them
+     * @param compression negotiates and inflates compressed responses, {@code null} to leave it to Jetty
+     */
+    public DefaultReactiveWebRequestor(HttpClient httpClient, JsonFactory jsonFactory, ObjectMapper objectMapper,
+                                       Duration requestTimeout, DecodeOffload decodeOffload,
+                                       SlowRequestLog slowRequestLog, Compression compression) {
         this.httpClient = httpClient;
         this.jsonFactory = jsonFactory;
         this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.decodeOffload = decodeOffload;
+        this.slowRequestLog = slowRequestLog;
+        this.compression = compression;
     }
 
+    /**
+     * JSON responses are decoded straight from content chunks by {@link ChunkedJsonReactiveHttpResponse},
+     * {@code String} ones are read as text.
+     */
     @Override
     public Mono<ReactiveHttpResponse> executeGet(String url, Class responseBodyType, ObjectReader objectReader) {
-        try {
-            return new JettyReactiveHttpClient(httpClient, null, Mono.class, responseBodyType,
-                    jsonFactory, null, objectReader)
-                    .executeRequest(new ReactiveHttpRequest("get", new URI(url), emptyMap(), null));
-        } catch (URISyntaxException e) {
-            return Mono.error(e);
-        }
+        return executeDecoded(HttpMethod.GET, url, responseBodyType, objectReader);
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeGetRaw(String url) {
+        return exchange(HttpMethod.GET, url, (response, content) -> new RawReactiveHttpResponse(
+                response, content, compressionFor(response)));
     }
 
     @Override
     public Mono<ReactiveHttpResponse> executeDelete(String url, Class responseBodyType) {
+        return executeDecoded(HttpMethod.DELETE, url, responseBodyType, objectMapper.readerFor(responseBodyType));
+    }
+
+    private Mono<ReactiveHttpResponse> executeDecoded(HttpMethod method, String url,
+                                                      Class responseBodyType, ObjectReader objectReader) {
+        if (responseBodyType != String.class) {
+            return exchange(method, url, (response, content) -> new ChunkedJsonReactiveHttpResponse(
+                    response, content, objectReader, responseBodyType, httpClient.getByteBufferPool(), decodeOffload,
+                    compressionFor(response)));
+        }
+
         try {
-            return new JettyReactiveHttpClient(httpClient, null, Mono.class, responseBodyType,
-                    jsonFactory, null, objectMapper.readerFor(responseBodyType))
-                    .executeRequest(new ReactiveHttpRequest("delete", new URI(url), emptyMap(), null));
+            return withDeadline(url, new JettyReactiveHttpClient(httpClient, null, Mono.class, responseBodyType,
+                    jsonFactory, null, objectReader)
+                    .executeRequest(new ReactiveHttpRequest(method.asString().toLowerCase(), new URI(url),
+                            emptyMap(), null)));
         } catch (URISyntaxException e) {
             return Mono.error(e);
         }
     }
 
+    /**
+     * Executes request built directly on Jetty client, so that exchange itself is bounded by deadline
+     * and aborted on cancel.
+     */
+    private Mono<ReactiveHttpResponse> exchange(
+            HttpMethod method, String url,
+            BiFunction<Response, Publisher<ContentChunk>, ReactiveHttpResponse> responseFactory) {
+        return Mono.subscriberContext().flatMap(context -> {
+            Request request;
+            try {
+                request = httpClient.newRequest(new URI(url)).method(method);
+            } catch (URISyntaxException e) {
+                return Mono.error(e);
+            }
+
+            long timeoutMillis = timeoutMillis(context);
+            if (timeoutMillis == 0) {
+                return Mono.error(deadlineExceeded(url, null));
+            }
+            if (timeoutMillis > 0) {
+                request.timeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            if (compression != null) {
+                request.header(HttpHeader.ACCEPT_ENCODING, compression.getAcceptEncoding())
+                        .onResponseHeaders(this::takeOverContentEncoding);
+            }
+
+            RequestTimings timings = timingsOf(context, request, url);
+            return Mono.from(ReactiveRequest.newBuilder(request).build()
+                    .response((response, content) -> Mono.just(
+                            timed(responseFactory.apply(response.getResponse(), content), context, timings))))
+                    .doOnCancel(() -> request.abort(new CancellationException("Request cancelled: " + url)))
+                    .onErrorMap(TimeoutException.class, e -> deadlineExceeded(url, e));
+        });
+    }
+
+    /**
+     * Moves supported {@code Content-Encoding} of {@code response} into request attribute before Jetty
+     * picks content decoder, so that body reaches {@link RawReactiveHttpResponse} compressed.
+     */
+    private void takeOverContentEncoding(Response response) {
+        String contentEncoding = response.getHeaders().get(HttpHeader.CONTENT_ENCODING);
+        if (compression.supports(contentEncoding)) {
+            response.getHeaders().remove(HttpHeader.CONTENT_ENCODING);
+            response.getRequest().attribute(RawReactiveHttpResponse.CONTENT_ENCODING_ATTRIBUTE, contentEncoding);
+        }
+    }
+
+    /**
+     * @return compression inflating body of {@code response} or {@code null} if it is not compressed
+     * or was inflated by Jetty content decoder
+     */
+    private Compression compressionFor(Response response) {
+        return response.getRequest().getAttributes().containsKey(RawReactiveHttpResponse.CONTENT_ENCODING_ATTRIBUTE)
+                ? compression : null;
+    }
+
+    /**
+     * @return timings recorded by listeners of {@code request} or {@code null} if nobody needs them
+     */
+    private RequestTimings timingsOf(Context context, Request request, String url) {
+        if (slowRequestLog == null && RequestTimings.captureOf(context) == null) {
+            return null;
+        }
+        RequestTimings timings = new RequestTimings(url);
+        request.onRequestBegin(begun -> timings.requestBegun())
+                .onRequestSuccess(sent -> timings.requestSent())
+                .onResponseBegin(response -> timings.responseBegun(response.getStatus()))
+                .onResponseSuccess(response -> timings.responseReceived());
+        return timings;
+    }
+
+    private ReactiveHttpResponse timed(ReactiveHttpResponse response, Context context, RequestTimings timings) {
+        if (timings == null) {
+            return response;
+        }
+        AtomicReference<RequestTimings> capture = RequestTimings.captureOf(context);
+        return new TimedReactiveHttpResponse(response, () -> {
+            timings.completed();
+            if (capture != null) {
+                capture.set(timings);
+            }
+            if (slowRequestLog != null) {
+                slowRequestLog.record(timings);
+            }
+        });
+    }
+
+    /**
+     * Bounds request executed by feign client, its exchange is not accessible, so deadline
+     * is enforced by cancelling subscription to it.
+     */
+    private Mono<ReactiveHttpResponse> withDeadline(String url, Mono<ReactiveHttpResponse> response) {
+        return Mono.subscriberContext().flatMap(context -> {
+            long timeoutMillis = timeoutMillis(context);
+            if (timeoutMillis == 0) {
+                return Mono.error(deadlineExceeded(url, null));
+            }
+            if (timeoutMillis < 0) {
+                return response;
+            }
+            return response.timeout(Duration.ofMillis(timeoutMillis))
+                    .onErrorMap(TimeoutException.class, e -> deadlineExceeded(url, e));
+        });
+    }
+
+    /**
+     * @return milliseconds left until deadline, {@code 0} if it already passed, {@code -1} if there is no deadline
+     */
+    private long timeoutMillis(Context context) {
+        Deadline deadline = context.getOrDefault(Deadline.class, null);
+        if (deadline != null) {
+            return deadline.isExpired() ? 0 : Math.max(1, deadline.remainingMillis());
+        }
+        return requestTimeout != null ? requestTimeout.toMillis() : -1;
+    }
+
+    private static DeadlineExceededException deadlineExceeded(String url, Throwable cause) {
+        return new DeadlineExceededException("Deadline exceeded for request to " + url, cause);
+    }
+
     @Override
     public Mono<ReactiveHttpResponse> executePost(String url, Class responsePublisherType, Class responseBodyType, String parameters) {
 
@@ -80,9 +267,9 @@ public class DefaultReactiveWebRequestor implements ReactiveWebRequestor{
             ReactiveHttpRequest postRequest = new ReactiveHttpRequest("post", new URI(url), emptyMap(),
                     Mono.just(parameters));
 
-            return new JettyReactiveHttpClient(httpClient, String.class, responsePublisherType, responseBodyType,
-                    jsonFactory, null, objectMapper.readerFor(responseBodyType))
-                    .executeRequest(postRequest);
+            return withDeadline(url, new JettyReactiveHttpClient(httpClient, String.class, responsePublisherType,
+                    responseBodyType, jsonFactory, null, objectMapper.readerFor(responseBodyType))
+                    .executeRequest(postRequest));
         } catch (URISyntaxException e) {
             return Mono.error(e);
         }
@@ -113,9 +300,9 @@ public class DefaultReactiveWebRequestor implements ReactiveWebRequestor{
 
             ReactiveHttpRequest postRequest = new ReactiveHttpRequest("post", new URI(url), headers, body);
 
-            return new JettyReactiveHttpClient(httpClient, ByteBuffer.class, responsePublisherType, responseBodyType,
-                    jsonFactory, null, objectMapper.readerFor(responseBodyType))
-                    .executeRequest(postRequest);
+            return withDeadline(url, new JettyReactiveHttpClient(httpClient, ByteBuffer.class, responsePublisherType,
+                    responseBodyType, jsonFactory, null, objectMapper.readerFor(responseBodyType))
+                    .executeRequest(postRequest));
         } catch (URISyntaxException e) {
             return Mono.error(e);
         }
@@ -4,4 +4,6 @@ public class Parameters {
 
     public static final String APP_SECRET_PROOF_PARAM_NAME = "appsecret_proof";
 
+    public static final String ACCESS_TOKEN_PARAM_NAME = "access_token";
+
 }
@@ -0,0 +1,85 @@
+package reactivefb;
+
+import com.restfb.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of fields requested from Graph API and decoded into {@link reactivefb.json.types.ProjectedObject}.
+ * Only listed fields are kept, all other tokens of the response are skipped.
+ *
+ * @author Sergii Karpenko
+ */
+public final class Projection {
+
+    public static final String FIELDS_PARAM_NAME = "fields";
+
+    private final String[] fields;
+    private final Map<String, Integer> indexes;
+    private final String fieldsParameter;
+
+    private Projection(String[] fields) {
+        this.fields = fields;
+        this.indexes = new HashMap<>(fields.length * 2);
+        for (int i = 0; i < fields.length; i++) {
+            if (indexes.put(fields[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate field in projection: " + fields[i]);
+            }
+        }
+        this.fieldsParameter = String.join(",", fields);
+    }
+
+    /**
+     * @param fields Graph API field names, e.g. {@code "id", "created_time", "message"}
+     * @return projection on given fields
+     */
+    public static Projection of(String... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Projection should contain at least one field.");
+        }
+        String[] interned = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (StringUtils.isBlank(fields[i])) {
+                throw new IllegalArgumentException("Projection cannot contain blank fields.");
+            }
+            interned[i] = fields[i].trim().intern();
+        }
+        return new Projection(interned);
+    }
+
+    /**
+     * @return index of field in projection or -1 if field is not projected
+     */
+    public int indexOf(String field) {
+        Integer index = indexes.get(field);
+        return index != null ? index : -1;
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    public String getField(int index) {
+        return fields[index];
+    }
+
+    public List<String> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * @return value of Graph API {@code fields} parameter
+     */
+    public String toFieldsParameter() {
+        return fieldsParameter;
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" + fieldsParameter + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package reactivefb;
+
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Not decoded page of Graph API {@code Connection}: response chunks as they were received
+ * and paging extracted from them.
+ *
+ * @author Sergii Karpenko
+ */
+public class RawConnectionPage {
+
+    private final List<ByteBuffer> content;
+    private final Connection<?> pagingHolder;
+
+    public RawConnectionPage(List<ByteBuffer> content, Connection.Paging paging, String url) {
+        this.content = Collections.unmodifiableList(content);
+        this.pagingHolder = new Connection<>();
+        this.pagingHolder.setPaging(paging);
+        this.pagingHolder.setUrl(url);
+    }
+
+    /**
+     * @return response chunks, each buffer is positioned at its first byte
+     */
+    public List<ByteBuffer> getContent() {
+        return content;
+    }
+
+    public Flux<ByteBuffer> content() {
+        return Flux.fromIterable(content).map(ByteBuffer::duplicate);
+    }
+
+    public long getContentLength() {
+        long length = 0;
+        for (ByteBuffer buffer : content) {
+            length += buffer.remaining();
+        }
+        return length;
+    }
+
+    public Connection.Paging getPaging() {
+        return pagingHolder.getPaging();
+    }
+
+    /**
+     * @see Connection#getNextPageUrl()
+     */
+    public String getNextPageUrl() {
+        return getPaging() != null ? pagingHolder.getNextPageUrl() : null;
+    }
+
+    /**
+     * @see Connection#getPreviousPageUrl()
+     */
+    public String getPreviousPageUrl() {
+        return getPaging() != null ? pagingHolder.getPreviousPageUrl() : null;
+    }
+}
@@ -0,0 +1,145 @@
+package reactivefb;
+
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.reactivestreams.Publisher;
+import reactivefb.compression.Compression;
+import reactivefb.compression.StreamingInflater;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Response which body is passed through as {@link ByteBuffer}s without any decoding.
+ * Each Jetty content chunk is copied once and released back to Jetty immediately,
+ * cancelling the body aborts the exchange. Body compressed with encoding supported by {@link Compression}
+ * is inflated on the fly.
+ *
+ * @author Sergii Karpenko
+ */
+public class RawReactiveHttpResponse implements ReactiveHttpResponse {
+
+    /**
+     * Request attribute holding {@code Content-Encoding} of response left for {@link Compression} to inflate.
+     */
+    static final String CONTENT_ENCODING_ATTRIBUTE = "reactivefb.contentEncoding";
+
+    private final Response response;
+    private final Publisher<ContentChunk> content;
+    private final Compression compression;
+    private final String contentEncoding;
+
+    public RawReactiveHttpResponse(Response response, Publisher<ContentChunk> content) {
+        this(response, content, null);
+    }
+
+    /**
+     * @param compression inflates body, {@code null} if body is left as received
+     */
+    public RawReactiveHttpResponse(Response response, Publisher<ContentChunk> content, Compression compression) {
+        this.response = response;
+        this.content = content;
+        this.compression = compression;
+        Object contentEncoding = response.getRequest().getAttributes().get(CONTENT_ENCODING_ATTRIBUTE);
+        this.contentEncoding = contentEncoding != null
+                ? contentEncoding.toString()
+                : response.getHeaders().get(HttpHeader.CONTENT_ENCODING);
+    }
+
+    @Override
+    public int status() {
+        return response.getStatus();
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (HttpField field : response.getHeaders()) {
+            headers.computeIfAbsent(field.getName(), name -> new ArrayList<>()).add(field.getValue());
+        }
+        return headers;
+    }
+
+    @Override
+    public Flux<ByteBuffer> body() {
+        if (!isCompressed()) {
+            return Flux.from(content).map(RawReactiveHttpResponse::copyAndRelease)
+                    .doOnCancel(this::abort);
+        }
+        return Flux.defer(() -> {
+            StreamingInflater inflater = newInflater();
+            return Flux.from(content)
+                    .concatMapIterable(chunk -> inflateAndRelease(inflater, chunk))
+                    .concatWith(Mono.fromRunnable(() -> {
+                        try {
+                            inflater.finish();
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    }))
+                    .doFinally(signal -> inflater.close());
+        }).doOnCancel(this::abort);
+    }
+
+    boolean isCompressed() {
+        return compression != null && compression.supports(contentEncoding);
+    }
+
+    /**
+     * @return inflater of body or {@code null} if body is not compressed
+     */
+    StreamingInflater newInflater() {
+        return compression != null ? compression.newInflater(contentEncoding) : null;
+    }
+
+    void abort() {
+        response.getRequest().abort(new CancellationException("Response body cancelled: "
+                + response.getRequest().getURI()));
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+        return body().collect(ByteArrayOutputStream::new,
+                (out, buffer) -> out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()))
+                .map(ByteArrayOutputStream::toByteArray);
+    }
+
+    private static List<ByteBuffer> inflateAndRelease(StreamingInflater inflater, ContentChunk chunk) {
+        List<ByteBuffer> inflated = new ArrayList<>();
+        try {
+            inflater.inflate(chunk.buffer, buffer -> inflated.add(copy(buffer)));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        } finally {
+            chunk.callback.succeeded();
+        }
+        return inflated;
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer);
+        copy.flip();
+        return copy;
+    }
+
+    private static ByteBuffer copyAndRelease(ContentChunk chunk) {
+        ByteBuffer copy = ByteBuffer.allocate(chunk.buffer.remaining());
+        copy.put(chunk.buffer);
+        copy.flip();
+        chunk.callback.succeeded();
+        return copy;
+    }
+}
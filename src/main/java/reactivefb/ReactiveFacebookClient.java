@@ -7,10 +7,20 @@ import com.restfb.exception.FacebookException;
 import com.restfb.exception.FacebookOAuthException;
 import com.restfb.scope.ScopeBuilder;
 import com.restfb.types.DeviceCode;
+import reactivefb.bulk.BatchGraph;
+import reactivefb.bulk.BatchGraphResult;
+import reactivefb.bulk.BulkOptions;
+import reactivefb.bulk.BulkResult;
+import reactivefb.bulk.PublishRequest;
+import reactivefb.expansion.ExpandedObject;
+import reactivefb.expansion.GraphQuery;
 import reactivefb.json.types.Connection;
+import reactivefb.pagination.CursorStore;
+import reactivefb.json.types.ProjectedObject;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import static com.restfb.FacebookClient.AccessToken;
@@ -28,7 +38,7 @@ import static com.restfb.FacebookClient.DebugTokenInfo;
  * <li>Execute operations in batch: use {@link #executeBatch(List, List)}</li>
  * <li>Publish data: use {@link #publish(String, Class, Parameter...)} or
  * {@link #publish(String, Class, List, Parameter...)}</li>
- * <li>Delete an object: use {@link #deleteObject(String, Parameter...)}</li>
+ * <li>Delete an object: use {@link #deleteObject(String, Parameter...)} or {@link #deleteObjects(Flux)}</li>
  * </ul>
  *
  * <p>
@@ -98,6 +108,25 @@ public interface ReactiveFacebookClient {
    */
   Mono<Boolean> deleteObject(String object, Parameter... parameters);
 
+  /**
+   * Deletes stream of objects packing deletes into batch calls.
+   * <p>
+   * Ids are requested from {@code ids} only as batches complete, deletes failed with transient errors are retried,
+   * results are emitted in input order.
+   *
+   * @param ids
+   *          The IDs of objects to delete.
+   * @return Outcome of every delete, {@code true} result if Facebook indicated that the object was deleted.
+   */
+  Flux<BulkResult<String, Boolean>> deleteObjects(Flux<String> ids);
+
+  /**
+   * Deletes stream of objects with custom batching, concurrency and retry settings.
+   *
+   * @see #deleteObjects(Flux)
+   */
+  Flux<BulkResult<String, Boolean>> deleteObjects(Flux<String> ids, BulkOptions options);
+
   /**
    * Fetches a Graph API {@code Connection} type, mapping the result to an instance of {@code connectionType}.
    *
@@ -132,6 +161,128 @@ public interface ReactiveFacebookClient {
    */
   <T> Mono<Connection<T>> fetchConnectionPage(String connectionPageUrl, Class<T> connectionType);
 
+  /**
+   * Fetches a Graph API {@code Connection} type requesting only fields of {@code projection} and decoding them into
+   * compact {@link ProjectedObject}s. All other response tokens are skipped.
+   *
+   * @param connection
+   *          The name of the connection, e.g. {@code "me/feed"}.
+   * @param projection
+   *          Fields to request and decode, sent as {@code fields} URL parameter.
+   * @param parameters
+   *          URL parameters to include in the API call (optional), must not contain {@code fields}.
+   * @return Connection of projected objects.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<Connection<ProjectedObject>> fetchConnection(String connection, Projection projection, Parameter... parameters);
+
+  /**
+   * Fetches a previous/next page of a Graph API {@code Connection} decoding only fields of {@code projection}.
+   *
+   * @param connectionPageUrl
+   *          The URL of the connection page to fetch, usually retrieved via {@link Connection#getNextPageUrl()}.
+   * @param projection
+   *          Fields to decode, should be the same that were used to fetch first page.
+   * @return Connection of projected objects.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<Connection<ProjectedObject>> fetchConnectionPage(String connectionPageUrl, Projection projection);
+
+  /**
+   * Fetches a single Graph API object requesting and decoding only fields of {@code projection}.
+   *
+   * @param object
+   *          ID of the object to fetch, e.g. {@code "me"}.
+   * @param projection
+   *          Fields to request and decode, sent as {@code fields} URL parameter.
+   * @param parameters
+   *          URL parameters to include in the API call (optional), must not contain {@code fields}.
+   * @return Projected object.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<ProjectedObject> fetchObject(String object, Projection projection, Parameter... parameters);
+
+  /**
+   * Fetches all pages of a Graph API {@code Connection} saving a checkpoint to {@code cursorStore} after each page
+   * is processed by subscriber. If stream has a stored checkpoint pagination resumes from it instead of first page.
+   * Checkpoint is removed once the last page is processed.
+   *
+   * @param <T>
+   *          Java type to map to.
+   * @param streamId
+   *          Id of logical stream checkpoints are stored under.
+   * @param cursorStore
+   *          Store of checkpoints.
+   * @param connection
+   *          The name of the connection, e.g. {@code "me/feed"}.
+   * @param connectionType
+   *          Connection type token.
+   * @param parameters
+   *          URL parameters to include in the API call (optional).
+   * @return Pages of connection starting from stored checkpoint.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  <T> Flux<Connection<T>> fetchConnectionResumable(String streamId, CursorStore cursorStore,
+                                                   String connection, Class<T> connectionType, Parameter... parameters);
+
+  /**
+   * Fetches object with nested edges described by {@code query} in a single
+   * <a href="https://developers.facebook.com/docs/graph-api/using-graph-api/#fieldexpansion">field expansion</a>
+   * request. Response is read into a tree, items of nested edges are mapped to Java types when edge is subscribed
+   * and only truncated edges are paginated with additional requests.
+   *
+   * @param query
+   *          Object, fields and nested edges to fetch.
+   * @param parameters
+   *          URL parameters to include in the API call (optional), must not contain {@code fields}.
+   * @return Expanded object.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<ExpandedObject> fetchExpanded(GraphQuery query, Parameter... parameters);
+
+  /**
+   * Fetches a single Graph API object without decoding it, e.g. to forward it as is.
+   *
+   * @param object
+   *          ID of the object to fetch, e.g. {@code "me"}.
+   * @param parameters
+   *          URL parameters to include in the API call (optional).
+   * @return Response body chunks as they were received.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Flux<ByteBuffer> fetchRaw(String object, Parameter... parameters);
+
+  /**
+   * Fetches a Graph API {@code Connection} page without decoding it. Only {@code paging} is extracted with a
+   * streaming scan of the response.
+   *
+   * @param connection
+   *          The name of the connection, e.g. {@code "me/feed"}.
+   * @param parameters
+   *          URL parameters to include in the API call (optional).
+   * @return Raw page with its paging.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<RawConnectionPage> fetchConnectionRaw(String connection, Parameter... parameters);
+
+  /**
+   * Fetches a previous/next page of a Graph API {@code Connection} without decoding it.
+   *
+   * @param connectionPageUrl
+   *          The URL of the connection page to fetch, usually retrieved via {@link RawConnectionPage#getNextPageUrl()}.
+   * @return Raw page with its paging.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   */
+  Mono<RawConnectionPage> fetchConnectionPageRaw(String connectionPageUrl);
+
 
   /**
    * Performs a <a href="http://developers.facebook.com/docs/api#publishing">Graph API publish</a> operation on the
@@ -173,6 +324,31 @@ public interface ReactiveFacebookClient {
   <T> Mono<T> publish(String connection, Class<T> objectType, List<BinaryAttachment> binaryAttachments,
                 Parameter... parameters);
 
+  /**
+   * Publishes stream of requests packing them into batch calls.
+   * <p>
+   * Requests are requested from {@code requests} only as batches complete, items failed with transient errors
+   * are retried, results are emitted in input order. Items of failed results may be published again
+   * without re-sending succeeded ones.
+   *
+   * @param <T>
+   *          Java type to map to.
+   * @param requests
+   *          Publish operations, e.g. comments to add.
+   * @param objectType
+   *          Object type token.
+   * @return Outcome of every request.
+   */
+  <T> Flux<BulkResult<PublishRequest, T>> publishAll(Flux<PublishRequest> requests, Class<T> objectType);
+
+  /**
+   * Publishes stream of requests with custom batching, concurrency and retry settings.
+   *
+   * @see #publishAll(Flux, Class)
+   */
+  <T> Flux<BulkResult<PublishRequest, T>> publishAll(Flux<PublishRequest> requests, Class<T> objectType,
+                                                    BulkOptions options);
+
   /**
    * Executes operations as a batch using the <a href="https://developers.facebook.com/docs/reference/api/batch/">Batch
    * API</a>.
@@ -196,6 +372,15 @@ public interface ReactiveFacebookClient {
    */
   Flux<BatchResponse> executeBatch(List<BatchRequest> batchRequests, List<BinaryAttachment> binaryAttachments);
 
+  /**
+   * Executes steps which use results of each other as a single batch call and decodes response of every step.
+   *
+   * @param batchGraph
+   *          Named steps with {@code depends_on} and JSONPath references between them.
+   * @return Decoded responses or errors of the steps.
+   */
+  Mono<BatchGraphResult> executeBatch(BatchGraph batchGraph);
+
   /**
    * Converts an arbitrary number of {@code sessionKeys} to OAuth access tokens.
    * <p>
@@ -321,6 +506,20 @@ public interface ReactiveFacebookClient {
    */
   Mono<AccessToken> obtainDeviceAccessToken(String code);
 
+  /**
+   * Polls Facebook until the user confirms the authorization of {@code deviceCode}.
+   *
+   * Polling is done every {@link DeviceCode#getInterval()} seconds without blocking, the interval is increased
+   * each time Facebook asks to slow down. All pending logins share one timer scheduler.
+   *
+   * @param deviceCode
+   *          Device code returned by {@link #fetchDeviceCode(ScopeBuilder)}.
+   * @return Device access token, errors with {@code FacebookDeviceTokenCodeExpiredException} if the user didn't
+   *         confirm the authorization within {@link DeviceCode#getExpiresIn()} seconds or with
+   *         {@code FacebookDeviceTokenDeclinedException} if the user declined it.
+   */
+  Mono<AccessToken> awaitDeviceAccessToken(DeviceCode deviceCode);
+
   /**
    * <p>
    * When working with access tokens, you may need to check what information is associated with them, such as its user
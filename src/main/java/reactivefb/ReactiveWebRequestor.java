@@ -1,13 +1,40 @@
 package reactivefb;
 
 import com.fasterxml.jackson.databind.ObjectReader;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public interface ReactiveWebRequestor {
 
     Mono<ReactiveHttpResponse> executeGet(String url, Class responseBodyType, ObjectReader objectReader);
 
+    /**
+     * Executes GET request without decoding of response,
+     * body of returned response is {@code Flux<ByteBuffer>} of content as it was received.
+     * By default reads response as text with {@link #executeGet} and passes it on as single UTF-8 buffer.
+     */
+    default Mono<ReactiveHttpResponse> executeGetRaw(String url) {
+        return executeGet(url, String.class, null).map(response -> new DelegatingReactiveHttpResponse(response) {
+            @Override
+            public Publisher<?> body() {
+                return Mono.from((Publisher<String>) response.body())
+                        .map(text -> ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)))
+                        .flux();
+            }
+
+            @Override
+            public Mono<byte[]> bodyData() {
+                return Mono.from((Publisher<String>) response.body())
+                        .map(text -> text.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
     Mono<ReactiveHttpResponse> executeDelete(String url, Class responseBodyType);
 
     Mono<ReactiveHttpResponse> executePost(String url, Class responsePublisherType, Class responseBodyType, String parameters);
@@ -0,0 +1,41 @@
+package reactivefb;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response notifying once its body was completely read and decoded.
+ *
+ * @author Sergii Karpenko
+ */
+class TimedReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final ReactiveHttpResponse response;
+    private final Runnable onCompleted;
+
+    TimedReactiveHttpResponse(ReactiveHttpResponse response, Runnable onCompleted) {
+        super(response);
+        this.response = response;
+        this.onCompleted = onCompleted;
+    }
+
+    /**
+     * Keeps {@link Mono} body a {@link Mono} as callers cast it to publisher type they requested.
+     */
+    @Override
+    public Publisher<?> body() {
+        Publisher<?> body = response.body();
+        if (body instanceof Mono) {
+            return ((Mono<?>) body).doOnSuccess(value -> onCompleted.run());
+        }
+        return Flux.from(body).doOnComplete(onCompleted);
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+        return response.bodyData().doOnSuccess(value -> onCompleted.run());
+    }
+}
@@ -0,0 +1,231 @@
+package reactivefb.bulk;
+
+import com.restfb.Parameter;
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookNetworkException;
+import com.restfb.util.StringUtils;
+import reactivefb.json.types.Connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static com.restfb.util.UrlUtils.urlEncode;
+import static reactivefb.bulk.BulkOptions.MAX_BATCH_SIZE;
+
+/**
+ * Graph API batch which steps use results of each other, executed as a single call.
+ * <pre>
+ * BatchGraph.Builder batch = BatchGraph.builder();
+ * BatchStep&lt;Connection&lt;Post&gt;&gt; feed = batch.getConnection("feed", "me/feed", Post.class,
+ *     Parameter.with("limit", 10));
+ * BatchStep&lt;JsonNode&gt; comments = batch.get("comments", "comments", JsonNode.class,
+ *     Parameter.with("ids", feed.ref("$.data.*.id")));
+ * </pre>
+ * References are validated when graph is built: they may point only to steps declared earlier,
+ * a step referencing others {@code depends_on} the latest of them unless its dependency is set explicitly.
+ * Parameters are sent in relative URL with references left unencoded, so that Graph API resolves them.
+ *
+ * @author Sergii Karpenko
+ */
+public class BatchGraph {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_\\-]+");
+    private static final Pattern REFERENCE = Pattern.compile("\\{result=([^:{}]*):([^{}]*)}");
+    private static final String REFERENCE_START = "{result=";
+
+    private final List<BatchStep<?>> steps;
+    private final List<BatchRequest> requests;
+
+    private BatchGraph(List<BatchStep<?>> steps, List<BatchRequest> requests) {
+        this.steps = Collections.unmodifiableList(steps);
+        this.requests = Collections.unmodifiableList(requests);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<BatchStep<?>> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return requests of steps in order of declaration
+     */
+    public List<BatchRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Decodes response of every step independently, failure of one step doesn't hide results of others.
+     *
+     * @param responses batch responses in order of steps, {@code null} for not returned ones
+     * @param decoder decodes successful response or throws error of failed one
+     */
+    public BatchGraphResult decode(List<BatchResponse> responses,
+                                   BiFunction<BatchStep<?>, BatchResponse, Object> decoder) {
+        Map<BatchStep<?>, Object> values = new HashMap<>();
+        Map<BatchStep<?>, RuntimeException> errors = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            BatchStep<?> step = steps.get(i);
+            BatchResponse response = i < responses.size() ? responses.get(i) : null;
+            if (response == null) {
+                if (!step.isResponseOmitted()) {
+                    errors.put(step, new FacebookNetworkException("Batch step '" + step.getName()
+                            + "' was not executed"));
+                }
+                continue;
+            }
+            try {
+                values.put(step, decoder.apply(step, response));
+            } catch (RuntimeException e) {
+                errors.put(step, e);
+            }
+        }
+        return new BatchGraphResult(steps, values, errors);
+    }
+
+    public static class Builder {
+        private final List<BatchStep<?>> steps = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param relativeUrl object or connection, may contain references to earlier steps
+         */
+        public <T> BatchStep<T> get(String name, String relativeUrl, Class<T> type, Parameter... parameters) {
+            return add(name, "GET", relativeUrl, type, false, parameters);
+        }
+
+        /**
+         * @return step which response is decoded as connection of {@code itemType}
+         */
+        public <T> BatchStep<Connection<T>> getConnection(String name, String relativeUrl, Class<T> itemType,
+                                                          Parameter... parameters) {
+            return add(name, "GET", relativeUrl, itemType, true, parameters);
+        }
+
+        public <T> BatchStep<T> post(String name, String relativeUrl, Class<T> type, Parameter... parameters) {
+            return add(name, "POST", relativeUrl, type, false, parameters);
+        }
+
+        public BatchGraph build() {
+            if (steps.isEmpty() || steps.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch should have from 1 to " + MAX_BATCH_SIZE + " steps.");
+            }
+
+            Map<String, BatchStep<?>> declared = new HashMap<>();
+            List<BatchRequest> requests = new ArrayList<>(steps.size());
+            for (BatchStep<?> step : steps) {
+                BatchStep<?> dependency = step.getDependency();
+                if (dependency != null && declared.get(dependency.getName()) != dependency) {
+                    throw new IllegalArgumentException("Step '" + step.getName() + "' depends on '"
+                            + dependency.getName() + "' which is not declared before it in this batch.");
+                }
+                BatchStep<?> referenced = referencedStep(step, declared);
+                BatchStep<?> dependsOn = dependency != null ? dependency : referenced;
+
+                BatchRequest.BatchRequestBuilder request = new BatchRequest.BatchRequestBuilder(step.getRelativeUrl())
+                        .method(step.getMethod())
+                        .name(step.getName())
+                        .omitResponseOnSuccess(step.isResponseOmitted());
+                if (dependsOn != null) {
+                    request.dependsOn(dependsOn.getName());
+                }
+                requests.add(request.build());
+                declared.put(step.getName(), step);
+            }
+            return new BatchGraph(new ArrayList<>(steps), requests);
+        }
+
+        private <T> BatchStep<T> add(String name, String method, String relativeUrl, Class<?> type,
+                                     boolean connection, Parameter... parameters) {
+            if (StringUtils.isBlank(name) || !NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Step name should consist of letters, digits, '_' and '-'.");
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Step '" + name + "' is already declared.");
+            }
+            verifyParameterPresence("relativeUrl", relativeUrl);
+            verifyParameterPresence("type", type);
+            verifyReferences(name, relativeUrl);
+            for (Parameter parameter : parameters) {
+                verifyReferences(name, parameter.value);
+            }
+            BatchStep<T> step = new BatchStep<>(name, method, withParameters(relativeUrl, parameters), type,
+                    connection);
+            steps.add(step);
+            return step;
+        }
+
+        /**
+         * @return the latest declared step referenced by {@code step}
+         */
+        private BatchStep<?> referencedStep(BatchStep<?> step, Map<String, BatchStep<?>> declared) {
+            Matcher matcher = REFERENCE.matcher(step.getRelativeUrl());
+            BatchStep<?> latest = null;
+            while (matcher.find()) {
+                BatchStep<?> referenced = declared.get(matcher.group(1));
+                if (referenced == null) {
+                    throw new IllegalArgumentException("Step '" + step.getName() + "' references '"
+                            + matcher.group(1) + "' which is not declared before it.");
+                }
+                if (latest == null || steps.indexOf(referenced) > steps.indexOf(latest)) {
+                    latest = referenced;
+                }
+            }
+            return latest;
+        }
+
+        private static void verifyReferences(String name, String text) {
+            if (text == null) {
+                return;
+            }
+            int references = 0;
+            Matcher matcher = REFERENCE.matcher(text);
+            while (matcher.find()) {
+                references++;
+            }
+            int starts = 0;
+            for (int i = text.indexOf(REFERENCE_START); i >= 0; i = text.indexOf(REFERENCE_START, i + 1)) {
+                starts++;
+            }
+            if (starts != references) {
+                throw new IllegalArgumentException("Step '" + name + "' has malformed reference: " + text);
+            }
+        }
+
+        private static String withParameters(String relativeUrl, Parameter... parameters) {
+            StringBuilder url = new StringBuilder(relativeUrl);
+            char separator = relativeUrl.indexOf('?') >= 0 ? '&' : '?';
+            for (Parameter parameter : parameters) {
+                url.append(separator).append(urlEncode(parameter.name)).append('=');
+                encodeKeepingReferences(parameter.value, url);
+                separator = '&';
+            }
+            return url.toString();
+        }
+
+        private static void encodeKeepingReferences(String value, StringBuilder url) {
+            Matcher matcher = REFERENCE.matcher(value);
+            int literalStart = 0;
+            while (matcher.find()) {
+                url.append(urlEncode(value.substring(literalStart, matcher.start()))).append(matcher.group());
+                literalStart = matcher.end();
+            }
+            url.append(urlEncode(value.substring(literalStart)));
+        }
+    }
+}
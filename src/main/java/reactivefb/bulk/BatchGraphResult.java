@@ -0,0 +1,55 @@
+package reactivefb.bulk;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoded responses of {@link BatchGraph} steps.
+ *
+ * @author Sergii Karpenko
+ */
+public class BatchGraphResult {
+
+    private final List<BatchStep<?>> steps;
+    private final Map<BatchStep<?>, Object> values;
+    private final Map<BatchStep<?>, RuntimeException> errors;
+
+    BatchGraphResult(List<BatchStep<?>> steps, Map<BatchStep<?>, Object> values,
+                     Map<BatchStep<?>, RuntimeException> errors) {
+        this.steps = steps;
+        this.values = values;
+        this.errors = errors;
+    }
+
+    /**
+     * @return decoded response of step, {@code null} if it was {@link BatchStep#omitResponse() omitted}
+     * @throws RuntimeException error of failed step, e.g. {@link com.restfb.exception.FacebookOAuthException}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(BatchStep<T> step) {
+        RuntimeException error = getError(step);
+        if (error != null) {
+            throw error;
+        }
+        return (T) values.get(step);
+    }
+
+    /**
+     * @return error of failed step or {@code null} if it succeeded
+     */
+    public RuntimeException getError(BatchStep<?> step) {
+        if (!steps.contains(step)) {
+            throw new IllegalArgumentException("Step '" + step.getName() + "' is not part of this batch.");
+        }
+        return errors.get(step);
+    }
+
+    public boolean isSuccess(BatchStep<?> step) {
+        return getError(step) == null;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGraphResult{" + values.size() + " decoded, " + errors.size() + " failed}";
+    }
+}
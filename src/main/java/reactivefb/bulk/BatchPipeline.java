@@ -0,0 +1,173 @@
+package reactivefb.bulk;
+
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookNetworkException;
+import reactivefb.error.GraphError;
+import reactivefb.jfr.GraphEvents;
+import reactivefb.ratelimit.RateLimiter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Executes stream of items as Graph API batch calls.
+ * <p>
+ * Items are packed into batches of up to {@link BulkOptions#getBatchSize()} requests, a batch is sent once it is full
+ * or {@link BulkOptions#getMaxBatchDelay()} passed. Each batch acquires one {@link RateLimiter} permit per request,
+ * at most {@link BulkOptions#getConcurrency()} batches are in flight and upstream is requested only as they complete.
+ * Items Graph API did not execute and ones failed with retryable {@link GraphError} (e.g. throttling) are sent again
+ * in a smaller batch, results are emitted in input order. Items of a batch call failed on network level may have been
+ * executed, they are sent again only if {@link BulkOptions#isRetryFailedBatches()} allows it.
+ *
+ * @param <I> item type
+ * @param <R> result type
+ * @author Sergii Karpenko
+ */
+public class BatchPipeline<I, R> {
+
+    private final Function<List<BatchRequest>, Mono<List<BatchResponse>>> executor;
+    private final RateLimiter rateLimiter;
+    private final BulkOptions options;
+    private final Function<I, BatchRequest> requestFactory;
+    private final Function<BatchResponse, R> responseDecoder;
+
+    /**
+     * @param executor executes batch call, returned list contains {@code null} for not executed requests
+     * @param requestFactory converts item to request of batch
+     * @param responseDecoder decodes response of item, throws {@link com.restfb.exception.FacebookException} on error
+     */
+    public BatchPipeline(Function<List<BatchRequest>, Mono<List<BatchResponse>>> executor,
+                         RateLimiter rateLimiter,
+                         BulkOptions options,
+                         Function<I, BatchRequest> requestFactory,
+                         Function<BatchResponse, R> responseDecoder) {
+        verifyParameterPresence("executor", executor);
+        verifyParameterPresence("rateLimiter", rateLimiter);
+        verifyParameterPresence("options", options);
+        verifyParameterPresence("requestFactory", requestFactory);
+        verifyParameterPresence("responseDecoder", responseDecoder);
+        this.executor = executor;
+        this.rateLimiter = rateLimiter;
+        this.options = options;
+        this.requestFactory = requestFactory;
+        this.responseDecoder = responseDecoder;
+    }
+
+    public Flux<BulkResult<I, R>> execute(Flux<I> items) {
+        return items
+                .bufferTimeout(options.getBatchSize(), options.getMaxBatchDelay())
+                .flatMapSequential(batch -> executeBatch(batch, 1), options.getConcurrency())
+                .flatMapIterable(Function.identity());
+    }
+
+    private Mono<List<BulkResult<I, R>>> executeBatch(List<I> batch, int attempt) {
+        return Mono.defer(() -> {
+            List<BatchRequest> requests = new ArrayList<>(batch.size());
+            for (I item : batch) {
+                requests.add(requestFactory.apply(item));
+            }
+            Runnable throttled = GraphEvents.get().throttleStarted("rate limiter", requests.size());
+            return rateLimiter.acquire(requests.size())
+                    .doFinally(signal -> throttled.run())
+                    .then(Mono.defer(() -> {
+                        GraphEvents.get().batchSent(requests.size(), attempt);
+                        return executor.apply(requests);
+                    }));
+        })
+                .map(responses -> decode(batch, responses, attempt))
+                .map(results -> retryTransient(results, attempt, BatchPipeline::isTransient))
+                .onErrorResume(error -> Mono.just(retryTransient(failAll(batch, error, attempt), attempt,
+                        this::isTransientBatchFailure)))
+                .flatMap(Function.identity());
+    }
+
+    private List<BulkResult<I, R>> decode(List<I> batch, List<BatchResponse> responses, int attempt) {
+        List<BulkResult<I, R>> results = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            BatchResponse response = i < responses.size() ? responses.get(i) : null;
+            if (response == null) {
+                results.add(BulkResult.failure(batch.get(i),
+                        new NotExecutedException(), attempt));
+                continue;
+            }
+            try {
+                results.add(BulkResult.success(batch.get(i), responseDecoder.apply(response), attempt));
+            } catch (RuntimeException e) {
+                results.add(BulkResult.failure(batch.get(i), e, attempt));
+            }
+        }
+        return results;
+    }
+
+    private List<BulkResult<I, R>> failAll(List<I> batch, Throwable error, int attempt) {
+        List<BulkResult<I, R>> results = new ArrayList<>(batch.size());
+        for (I item : batch) {
+            results.add(BulkResult.failure(item, error, attempt));
+        }
+        return results;
+    }
+
+    private Mono<List<BulkResult<I, R>>> retryTransient(List<BulkResult<I, R>> results, int attempt,
+                                                        Predicate<Throwable> isTransient) {
+        if (attempt >= options.getMaxAttempts()) {
+            return Mono.just(results);
+        }
+
+        List<Integer> retryIndexes = new ArrayList<>();
+        List<I> retryItems = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            BulkResult<I, R> result = results.get(i);
+            if (!result.isSuccess() && isTransient.test(result.getError())) {
+                retryIndexes.add(i);
+                retryItems.add(result.getItem());
+            }
+        }
+        if (retryItems.isEmpty()) {
+            return Mono.just(results);
+        }
+        GraphEvents.get().retried("batch", attempt + 1, retryItems.size(),
+                results.get(retryIndexes.get(0)).getError());
+
+        return Mono.delay(options.getRetryBackoff().multipliedBy(attempt))
+                .then(executeBatch(retryItems, attempt + 1))
+                .map(retried -> {
+                    List<BulkResult<I, R>> merged = new ArrayList<>(results);
+                    for (int i = 0; i < retryIndexes.size(); i++) {
+                        merged.set(retryIndexes.get(i), retried.get(i));
+                    }
+                    return merged;
+                });
+    }
+
+    /**
+     * @return {@code true} if item was not executed by Graph API or was rejected with retryable error
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof NotExecutedException) {
+            return true;
+        }
+        GraphError graphError = GraphError.from(error);
+        return graphError != null && graphError.getCategory().isRetryable();
+    }
+
+    private boolean isTransientBatchFailure(Throwable error) {
+        return isTransient(error)
+                || options.isRetryFailedBatches() && error instanceof FacebookNetworkException;
+    }
+
+    /**
+     * Batch response contained no result for request, Graph API did not execute it.
+     */
+    static class NotExecutedException extends FacebookNetworkException {
+        NotExecutedException() {
+            super("Batch request was not executed");
+        }
+    }
+}
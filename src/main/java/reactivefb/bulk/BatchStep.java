@@ -0,0 +1,99 @@
+package reactivefb.bulk;
+
+import com.restfb.util.StringUtils;
+
+/**
+ * Named operation of {@link BatchGraph} which response is decoded as {@code T}.
+ * <p>
+ * Later steps may use results of this one by embedding its {@link #ref(String) JSONPath references}
+ * into their URL or parameters, Graph API then executes them after this step in the same call.
+ *
+ * @param <T> decoded response type
+ * @author Sergii Karpenko
+ */
+public class BatchStep<T> {
+
+    private final String name;
+    private final String method;
+    private final String relativeUrl;
+    private final Class<?> type;
+    private final boolean connection;
+    private BatchStep<?> dependency;
+    private boolean omitResponse;
+
+    BatchStep(String name, String method, String relativeUrl, Class<?> type, boolean connection) {
+        this.name = name;
+        this.method = method;
+        this.relativeUrl = relativeUrl;
+        this.type = type;
+        this.connection = connection;
+    }
+
+    /**
+     * @param jsonPath path in response of this step, e.g. {@code $.data.*.id}
+     * @return reference replaced by Graph API with values found by {@code jsonPath}, joined by comma
+     */
+    public String ref(String jsonPath) {
+        if (StringUtils.isBlank(jsonPath) || !jsonPath.startsWith("$")
+                || jsonPath.indexOf('{') >= 0 || jsonPath.indexOf('}') >= 0) {
+            throw new IllegalArgumentException("JSONPath should start with '$' and cannot contain braces.");
+        }
+        return "{result=" + name + ":" + jsonPath + "}";
+    }
+
+    /**
+     * Executes this step only after {@code dependency} succeeded. Steps referencing results of another one
+     * depend on it without being told so.
+     */
+    public BatchStep<T> dependsOn(BatchStep<?> dependency) {
+        this.dependency = dependency;
+        return this;
+    }
+
+    /**
+     * Asks Graph API not to return response of this step if it succeeds, e.g. if only its references are needed.
+     */
+    public BatchStep<T> omitResponse() {
+        this.omitResponse = true;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return URL relative to Graph API version with parameters of step
+     */
+    public String getRelativeUrl() {
+        return relativeUrl;
+    }
+
+    /**
+     * @return decoded type, or type of connection items if {@link #isConnection()}
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isConnection() {
+        return connection;
+    }
+
+    public BatchStep<?> getDependency() {
+        return dependency;
+    }
+
+    public boolean isResponseOmitted() {
+        return omitResponse;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStep{" + name + " " + method + " " + relativeUrl + "}";
+    }
+}
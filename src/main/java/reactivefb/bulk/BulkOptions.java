@@ -0,0 +1,130 @@
+package reactivefb.bulk;
+
+import java.time.Duration;
+
+/**
+ * Batching, concurrency and retry settings of bulk operations.
+ *
+ * @author Sergii Karpenko
+ */
+public class BulkOptions {
+
+    /**
+     * Maximum number of requests Graph API accepts in one batch.
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    public static final BulkOptions DEFAULT = builder().build();
+
+    private final int batchSize;
+    private final Duration maxBatchDelay;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final boolean retryFailedBatches;
+
+    private BulkOptions(Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.maxBatchDelay = builder.maxBatchDelay;
+        this.concurrency = builder.concurrency;
+        this.maxAttempts = builder.maxAttempts;
+        this.retryBackoff = builder.retryBackoff;
+        this.retryFailedBatches = builder.retryFailedBatches;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getMaxBatchDelay() {
+        return maxBatchDelay;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public boolean isRetryFailedBatches() {
+        return retryFailedBatches;
+    }
+
+    public static class Builder {
+        private int batchSize = MAX_BATCH_SIZE;
+        private Duration maxBatchDelay = Duration.ofMillis(100);
+        private int concurrency = 4;
+        private int maxAttempts = 3;
+        private Duration retryBackoff = Duration.ofSeconds(1);
+        private boolean retryFailedBatches;
+
+        private Builder() {
+        }
+
+        public Builder setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Maximum time to wait for a batch to fill up before it is sent.
+         */
+        public Builder setMaxBatchDelay(Duration maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * Maximum number of batch calls in flight.
+         */
+        public Builder setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Maximum number of times item is sent if it fails with transient error.
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Delay before retry, multiplied by number of the attempt.
+         */
+        public Builder setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        /**
+         * Sends again items of batch call failed on network level, e.g. with 502 or timeout.
+         * Graph API may have executed them already, so enable it only for idempotent requests.
+         */
+        public Builder setRetryFailedBatches(boolean retryFailedBatches) {
+            this.retryFailedBatches = retryFailedBatches;
+            return this;
+        }
+
+        public BulkOptions build() {
+            if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch size should be in [1, " + MAX_BATCH_SIZE + "].");
+            }
+            if (concurrency < 1 || maxAttempts < 1) {
+                throw new IllegalArgumentException("Concurrency and max attempts should be positive.");
+            }
+            return new BulkOptions(this);
+        }
+    }
+}
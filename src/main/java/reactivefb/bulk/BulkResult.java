@@ -0,0 +1,62 @@
+package reactivefb.bulk;
+
+/**
+ * Outcome of a single item of bulk operation.
+ *
+ * @param <I> item type, e.g. {@link PublishRequest}
+ * @param <R> result type
+ * @author Sergii Karpenko
+ */
+public class BulkResult<I, R> {
+
+    private final I item;
+    private final R result;
+    private final Throwable error;
+    private final int attempts;
+
+    private BulkResult(I item, R result, Throwable error, int attempts) {
+        this.item = item;
+        this.result = result;
+        this.error = error;
+        this.attempts = attempts;
+    }
+
+    public static <I, R> BulkResult<I, R> success(I item, R result, int attempts) {
+        return new BulkResult<>(item, result, null, attempts);
+    }
+
+    public static <I, R> BulkResult<I, R> failure(I item, Throwable error, int attempts) {
+        return new BulkResult<>(item, null, error, attempts);
+    }
+
+    /**
+     * @return submitted item, failed ones may be submitted again without re-sending succeeded ones
+     */
+    public I getItem() {
+        return item;
+    }
+
+    public R getResult() {
+        return result;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return number of batch calls the item was sent in
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{" + item + (isSuccess() ? " -> " + result : " failed: " + error) + "}";
+    }
+}
@@ -0,0 +1,45 @@
+package reactivefb.bulk;
+
+import com.restfb.Parameter;
+
+import java.util.Arrays;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Single publish operation of bulk publish, e.g. comment to post.
+ *
+ * @author Sergii Karpenko
+ */
+public class PublishRequest {
+
+    private final String connection;
+    private final Parameter[] parameters;
+
+    private PublishRequest(String connection, Parameter[] parameters) {
+        verifyParameterPresence("connection", connection);
+        this.connection = connection;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @param connection The Connection to publish to, e.g. {@code "1_2/comments"}.
+     * @param parameters Published data.
+     */
+    public static PublishRequest of(String connection, Parameter... parameters) {
+        return new PublishRequest(connection, parameters);
+    }
+
+    public String getConnection() {
+        return connection;
+    }
+
+    public Parameter[] getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishRequest{" + connection + " " + Arrays.toString(parameters) + "}";
+    }
+}
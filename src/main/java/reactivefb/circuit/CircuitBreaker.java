@@ -0,0 +1,149 @@
+package reactivefb.circuit;
+
+/**
+ * Circuit breaker of a single endpoint.
+ * <p>
+ * Outcomes of the latest {@code windowSize} calls are kept. Once at least {@code minimumCalls} were recorded and
+ * failure rate or slow call rate reaches its threshold, the breaker opens and rejects calls for
+ * {@code openDuration}. Then it is half-open: {@code halfOpenProbes} calls are let through,
+ * if all of them succeed the breaker closes, otherwise it opens again.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final CircuitBreakers.Config config;
+
+    private final byte[] outcomes;
+    private int next;
+    private int size;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    CircuitBreaker(String endpoint, CircuitBreakers.Config config) {
+        this.endpoint = endpoint;
+        this.config = config;
+        this.outcomes = new byte[config.windowSize];
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return {@code true} if call may be made, it must be followed by {@link #onResult} or {@link #onCancel()}
+     */
+    synchronized boolean tryAcquire(long nowNanos) {
+        switch (state) {
+            case OPEN:
+                if (nowNanos - openUntilNanos < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+                probesSucceeded = 0;
+                // fall through
+            case HALF_OPEN:
+                if (probesInFlight + probesSucceeded >= config.halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    synchronized void onResult(boolean success, long durationNanos, long nowNanos) {
+        boolean slow = durationNanos >= config.slowCallDurationNanos;
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (success && !slow) {
+                if (++probesSucceeded >= config.halfOpenProbes) {
+                    close();
+                }
+            } else {
+                open(nowNanos);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        record((byte) ((success ? SUCCESS : FAILURE) | (slow ? SLOW : SUCCESS)));
+        if (size >= config.minimumCalls
+                && (failures * 100 >= config.failureRateThreshold * size
+                || slowCalls * 100 >= config.slowCallRateThreshold * size)) {
+            open(nowNanos);
+        }
+    }
+
+    synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(byte outcome) {
+        if (size == outcomes.length) {
+            forget(outcomes[next]);
+        } else {
+            size++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if ((outcome & FAILURE) != 0) {
+            failures++;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls++;
+        }
+    }
+
+    private void forget(byte outcome) {
+        if ((outcome & FAILURE) != 0) {
+            failures--;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls--;
+        }
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openUntilNanos = nowNanos + config.openDurationNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        size = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker{" + endpoint + " " + state + ", failures=" + failures + ", slow=" + slowCalls
+                + " of " + size + "}";
+    }
+}
@@ -0,0 +1,31 @@
+package reactivefb.circuit;
+
+import com.restfb.exception.FacebookException;
+
+/**
+ * Signals that request was not sent because circuit breaker of its endpoint is open.
+ * Stack trace is not captured as the exception is raised on every rejected request.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreakerOpenException extends FacebookException {
+
+    private final String endpoint;
+
+    public CircuitBreakerOpenException(String endpoint) {
+        super("Circuit breaker of " + endpoint + " is open");
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return endpoint template, see {@link EndpointTemplates}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,177 @@
+package reactivefb.circuit;
+
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+
+/**
+ * Circuit breakers keyed by endpoint template, see {@link EndpointTemplates}.
+ * <p>
+ * Responses with status 500 and above and failures to get response count as failed calls,
+ * Graph API errors like missing permissions don't, as they say nothing about health of the endpoint.
+ * Calls of endpoint with open breaker fail fast with {@link CircuitBreakerOpenException}.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreakers {
+
+    private final Config config;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private CircuitBreakers(Builder builder) {
+        this.config = new Config(builder);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Guards request to {@code url}.
+     */
+    public Mono<ReactiveHttpResponse> guard(String url, Mono<ReactiveHttpResponse> response) {
+        return Mono.defer(() -> {
+            CircuitBreaker breaker = forUrl(url);
+            long start = System.nanoTime();
+            if (!breaker.tryAcquire(start)) {
+                return Mono.error(new CircuitBreakerOpenException(breaker.getEndpoint()));
+            }
+            // cancel may follow the response, it releases the call only if its outcome was not recorded
+            AtomicBoolean completed = new AtomicBoolean();
+            return response
+                    .doOnNext(resp -> {
+                        if (completed.compareAndSet(false, true)) {
+                            breaker.onResult(resp.status() < HTTP_INTERNAL_ERROR,
+                                    System.nanoTime() - start, System.nanoTime());
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (completed.compareAndSet(false, true)) {
+                            breaker.onResult(false, System.nanoTime() - start, System.nanoTime());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (completed.compareAndSet(false, true)) {
+                            breaker.onCancel();
+                        }
+                    });
+        });
+    }
+
+    public CircuitBreaker forUrl(String url) {
+        return breakers.computeIfAbsent(EndpointTemplates.of(url), endpoint -> new CircuitBreaker(endpoint, config));
+    }
+
+    public Collection<CircuitBreaker> getBreakers() {
+        return Collections.unmodifiableCollection(breakers.values());
+    }
+
+    /**
+     * Settings shared by breakers of all endpoints.
+     */
+    static final class Config {
+        final int windowSize;
+        final int minimumCalls;
+        final int failureRateThreshold;
+        final int slowCallRateThreshold;
+        final long slowCallDurationNanos;
+        final long openDurationNanos;
+        final int halfOpenProbes;
+
+        private Config(Builder builder) {
+            this.windowSize = builder.windowSize;
+            this.minimumCalls = builder.minimumCalls;
+            this.failureRateThreshold = builder.failureRateThreshold;
+            this.slowCallRateThreshold = builder.slowCallRateThreshold;
+            this.slowCallDurationNanos = builder.slowCallDuration.toNanos();
+            this.openDurationNanos = builder.openDuration.toNanos();
+            this.halfOpenProbes = builder.halfOpenProbes;
+        }
+    }
+
+    public static class Builder {
+        private int windowSize = 100;
+        private int minimumCalls = 20;
+        private int failureRateThreshold = 50;
+        private int slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of latest calls failure and slow call rates are computed over.
+         */
+        public Builder setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Number of calls to record before breaker may open.
+         */
+        public Builder setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Percent of failed calls that opens breaker.
+         */
+        public Builder setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Percent of slow calls that opens breaker.
+         */
+        public Builder setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        public Builder setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        /**
+         * How long open breaker rejects calls before it lets probes through.
+         */
+        public Builder setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Number of successful probes that close half-open breaker.
+         */
+        public Builder setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        public CircuitBreakers build() {
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenProbes < 1) {
+                throw new IllegalArgumentException("Window size, minimum calls and half-open probes should be " +
+                        "positive, minimum calls should fit into window.");
+            }
+            if (failureRateThreshold < 1 || failureRateThreshold > 100
+                    || slowCallRateThreshold < 1 || slowCallRateThreshold > 100) {
+                throw new IllegalArgumentException("Rate thresholds should be in [1, 100] percent.");
+            }
+            return new CircuitBreakers(this);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package reactivefb.circuit;
+
+/**
+ * Normalizes Graph API urls to endpoint templates, e.g.
+ * {@code https://graph.facebook.com/v3.1/1234_5678/insights?metric=x} to {@code /{id}/insights}.
+ *
+ * @author Sergii Karpenko
+ */
+public final class EndpointTemplates {
+
+    public static final String ID_PLACEHOLDER = "{id}";
+
+    private EndpointTemplates() {
+    }
+
+    public static String of(String url) {
+        int start = url.indexOf("://");
+        start = start >= 0 ? url.indexOf('/', start + 3) : url.indexOf('/');
+        if (start < 0) {
+            return "/";
+        }
+        int end = url.indexOf('?', start);
+        String path = url.substring(start, end >= 0 ? end : url.length());
+
+        StringBuilder template = new StringBuilder(path.length());
+        boolean first = true;
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (first && isVersion(segment)) {
+                first = false;
+                continue;
+            }
+            first = false;
+            template.append('/').append(isId(segment) ? ID_PLACEHOLDER : segment);
+        }
+        return template.length() > 0 ? template.toString() : "/";
+    }
+
+    private static boolean isVersion(String segment) {
+        if (segment.length() < 2 || segment.charAt(0) != 'v') {
+            return false;
+        }
+        for (int i = 1; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (!Character.isDigit(c) && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Numeric ids, composite ids like {@code 123_456} and ad account ids like {@code act_123}.
+     */
+    private static boolean isId(String segment) {
+        String id = segment.startsWith("act_") ? segment.substring(4) : segment;
+        if (id.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!Character.isDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package reactivefb.compression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Negotiates compressed responses with Graph API and inflates them while they are streamed.
+ * <p>
+ * Requests advertise configured encodings in {@code Accept-Encoding}, response body chunks are inflated
+ * by {@link StreamingInflater} straight into the JSON parser, so the body is never buffered as a whole
+ * either compressed or inflated.
+ *
+ * @author Sergii Karpenko
+ */
+public class Compression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final List<String> encodings;
+    private final String acceptEncoding;
+    private final int outputBufferSize;
+    private final CompressionMetrics metrics = new CompressionMetrics();
+
+    private Compression(Builder builder) {
+        this.encodings = Collections.unmodifiableList(new ArrayList<>(builder.encodings));
+        this.acceptEncoding = String.join(", ", encodings);
+        this.outputBufferSize = builder.outputBufferSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return value of {@code Accept-Encoding} header of requests
+     */
+    public String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+
+    public boolean supports(String contentEncoding) {
+        return contentEncoding != null && encodings.contains(contentEncoding.trim().toLowerCase());
+    }
+
+    /**
+     * @return inflater of a single response body or {@code null} if its encoding is not supported
+     */
+    public StreamingInflater newInflater(String contentEncoding) {
+        if (!supports(contentEncoding)) {
+            return null;
+        }
+        metrics.onResponse();
+        return new StreamingInflater(GZIP.equals(contentEncoding.trim().toLowerCase()),
+                outputBufferSize, metrics);
+    }
+
+    public CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public static class Builder {
+        private final List<String> encodings = new ArrayList<>();
+        private int outputBufferSize = 8 * 1024;
+
+        private Builder() {
+            encodings.add(GZIP);
+            encodings.add(DEFLATE);
+        }
+
+        /**
+         * Accepted encodings in order of preference, {@value #GZIP} and {@value #DEFLATE} by default.
+         */
+        public Builder setEncodings(String... encodings) {
+            this.encodings.clear();
+            for (String encoding : encodings) {
+                String normalized = encoding.trim().toLowerCase();
+                if (!GZIP.equals(normalized) && !DEFLATE.equals(normalized)) {
+                    throw new IllegalArgumentException("Unsupported content encoding '" + encoding + "'.");
+                }
+                this.encodings.add(normalized);
+            }
+            return this;
+        }
+
+        /**
+         * Size of buffer inflated bytes are passed to parser in.
+         */
+        public Builder setOutputBufferSize(int outputBufferSize) {
+            this.outputBufferSize = outputBufferSize;
+            return this;
+        }
+
+        public Compression build() {
+            if (encodings.isEmpty()) {
+                throw new IllegalArgumentException("At least one encoding is required.");
+            }
+            if (outputBufferSize < 512) {
+                throw new IllegalArgumentException("Output buffer should be at least 512 bytes.");
+            }
+            return new Compression(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package reactivefb.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes of compressed responses as received and after inflation.
+ *
+ * @author Sergii Karpenko
+ */
+public class CompressionMetrics {
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder decompressedBytes = new LongAdder();
+
+    void onResponse() {
+        responses.increment();
+    }
+
+    void onInflated(long compressed, long decompressed) {
+        compressedBytes.add(compressed);
+        decompressedBytes.add(decompressed);
+    }
+
+    public long getCompressedResponses() {
+        return responses.sum();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    public long getDecompressedBytes() {
+        return decompressedBytes.sum();
+    }
+
+    /**
+     * @return decompressed to compressed bytes ratio, {@code 0} if nothing was inflated yet
+     */
+    public double getRatio() {
+        long compressed = getCompressedBytes();
+        return compressed == 0 ? 0 : (double) getDecompressedBytes() / compressed;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionMetrics{responses=" + getCompressedResponses()
+                + ", compressedBytes=" + getCompressedBytes()
+                + ", decompressedBytes=" + getDecompressedBytes() + "}";
+    }
+}
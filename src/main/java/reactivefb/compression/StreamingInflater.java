@@ -0,0 +1,283 @@
+package reactivefb.compression;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Inflates {@code gzip} or {@code deflate} encoded body chunk by chunk.
+ * <p>
+ * Chunks may split headers and trailers at any byte. Inflated bytes are passed to {@link Sink} in a reused
+ * buffer which is valid only until the sink returns, so no more than {@code outputBufferSize} inflated bytes
+ * are held at a time. Gzip members are verified by their CRC and size, {@code deflate} body is accepted
+ * both zlib wrapped as specified and raw as some servers send it.
+ *
+ * @author Sergii Karpenko
+ */
+public class StreamingInflater implements Closeable {
+
+    /**
+     * Receives inflated bytes.
+     */
+    public interface Sink {
+        void accept(ByteBuffer inflated) throws IOException;
+    }
+
+    private enum State {
+        GZIP_HEADER, GZIP_EXTRA_LENGTH, GZIP_EXTRA, GZIP_NAME, GZIP_COMMENT, GZIP_HEADER_CRC,
+        DEFLATE_HEADER, BODY, GZIP_TRAILER, GZIP_NEXT_MEMBER, DONE
+    }
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_HEADER_LENGTH = 10;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final boolean gzip;
+    private final byte[] output;
+    private final CompressionMetrics metrics;
+    private final CRC32 crc = new CRC32();
+    private final byte[] header = new byte[GZIP_HEADER_LENGTH];
+
+    private Inflater inflater;
+    private State state;
+    private int flags;
+    private int collected;
+    private int skip;
+    private long memberSize;
+    /**
+     * Bytes of {@code header} peeked to tell zlib from raw deflate, still to be passed to inflater.
+     */
+    private int replay;
+    private byte[] input = new byte[0];
+
+    StreamingInflater(boolean gzip, int outputBufferSize, CompressionMetrics metrics) {
+        this.gzip = gzip;
+        this.output = new byte[outputBufferSize];
+        this.metrics = metrics;
+        this.state = gzip ? State.GZIP_HEADER : State.DEFLATE_HEADER;
+    }
+
+    /**
+     * Inflates next chunk, position of {@code compressed} is left unchanged.
+     */
+    public void inflate(ByteBuffer compressed, Sink sink) throws IOException {
+        int length = compressed.remaining();
+        byte[] array;
+        int offset;
+        if (compressed.hasArray()) {
+            array = compressed.array();
+            offset = compressed.arrayOffset() + compressed.position();
+        } else {
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            compressed.duplicate().get(input, 0, length);
+            array = input;
+            offset = 0;
+        }
+
+        long inflated = 0;
+        int end = offset + length;
+        while (offset < end) {
+            switch (state) {
+                case BODY:
+                    inflater.setInput(array, offset, end - offset);
+                    inflated += inflateBody(sink);
+                    offset = end - (state == State.BODY ? 0 : inflater.getRemaining());
+                    break;
+                case DONE:
+                    offset = end;
+                    break;
+                default:
+                    offset = readHeader(array, offset, end);
+                    if (replay > 0) {
+                        inflater.setInput(header, 0, replay);
+                        replay = 0;
+                        inflated += inflateBody(sink);
+                    }
+            }
+        }
+        metrics.onInflated(length, inflated);
+    }
+
+    /**
+     * Verifies that the whole body was received and releases native resources.
+     * Empty body is accepted as some servers label responses without content as compressed.
+     */
+    public void finish() throws IOException {
+        try {
+            if (state != State.DONE && state != State.GZIP_NEXT_MEMBER && !isEmpty()) {
+                throw new IOException("Compressed response is truncated");
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private boolean isEmpty() {
+        return (state == State.GZIP_HEADER || state == State.DEFLATE_HEADER) && collected == 0;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private long inflateBody(Sink sink) throws IOException {
+        long inflated = 0;
+        while (true) {
+            int count;
+            try {
+                count = inflater.inflate(output);
+            } catch (DataFormatException e) {
+                throw new IOException("Malformed compressed response", e);
+            }
+            if (count > 0) {
+                inflated += count;
+                if (gzip) {
+                    crc.update(output, 0, count);
+                    memberSize += count;
+                }
+                sink.accept(ByteBuffer.wrap(output, 0, count));
+            }
+            if (inflater.finished()) {
+                state = gzip ? State.GZIP_TRAILER : State.DONE;
+                collected = 0;
+                return inflated;
+            }
+            if (inflater.needsDictionary()) {
+                throw new IOException("Compressed response requires preset dictionary");
+            }
+            if (inflater.needsInput()) {
+                return inflated;
+            }
+        }
+    }
+
+    /**
+     * @return offset of the first byte not consumed
+     */
+    private int readHeader(byte[] array, int offset, int end) throws IOException {
+        switch (state) {
+            case GZIP_NEXT_MEMBER:
+                state = State.GZIP_HEADER;
+                collected = 0;
+                return offset;
+            case GZIP_HEADER:
+                offset = collect(array, offset, end, GZIP_HEADER_LENGTH);
+                if (collected == GZIP_HEADER_LENGTH) {
+                    if (readShort(header, 0) != GZIP_MAGIC || header[2] != 8) {
+                        throw new IOException("Response is not in gzip format");
+                    }
+                    flags = header[3] & 0xff;
+                    collected = 0;
+                    state = State.GZIP_EXTRA_LENGTH;
+                    if ((flags & FEXTRA) == 0) {
+                        nextGzipHeaderField(State.GZIP_EXTRA);
+                    }
+                }
+                return offset;
+            case GZIP_EXTRA_LENGTH:
+                offset = collect(array, offset, end, 2);
+                if (collected == 2) {
+                    skip = readShort(header, 0);
+                    state = State.GZIP_EXTRA;
+                }
+                return offset;
+            case GZIP_EXTRA:
+                int skipped = Math.min(skip, end - offset);
+                skip -= skipped;
+                if (skip == 0) {
+                    nextGzipHeaderField(State.GZIP_EXTRA);
+                }
+                return offset + skipped;
+            case GZIP_NAME:
+            case GZIP_COMMENT:
+                while (offset < end) {
+                    if (array[offset++] == 0) {
+                        nextGzipHeaderField(state);
+                        break;
+                    }
+                }
+                return offset;
+            case GZIP_HEADER_CRC:
+                offset = collect(array, offset, end, 2);
+                if (collected == 2) {
+                    startBody(true);
+                }
+                return offset;
+            case DEFLATE_HEADER:
+                offset = collect(array, offset, end, 2);
+                if (collected == 2) {
+                    int cmf = header[0] & 0xff;
+                    boolean zlib = (cmf & 0x0f) == 8 && (cmf >> 4) <= 7 && ((cmf << 8) | (header[1] & 0xff)) % 31 == 0;
+                    startBody(!zlib);
+                    replay = 2;
+                }
+                return offset;
+            case GZIP_TRAILER:
+                offset = collect(array, offset, end, GZIP_TRAILER_LENGTH);
+                if (collected == GZIP_TRAILER_LENGTH) {
+                    if (readInt(header, 0) != crc.getValue() || readInt(header, 4) != (memberSize & 0xffffffffL)) {
+                        throw new IOException("Compressed response is corrupted");
+                    }
+                    state = State.GZIP_NEXT_MEMBER;
+                }
+                return offset;
+            default:
+                throw new IllegalStateException("Unexpected state " + state);
+        }
+    }
+
+    /**
+     * Moves to the next present optional field of gzip header after {@code current} one.
+     */
+    private void nextGzipHeaderField(State current) {
+        collected = 0;
+        if (current.compareTo(State.GZIP_NAME) < 0 && (flags & FNAME) != 0) {
+            state = State.GZIP_NAME;
+        } else if (current.compareTo(State.GZIP_COMMENT) < 0 && (flags & FCOMMENT) != 0) {
+            state = State.GZIP_COMMENT;
+        } else if ((flags & FHCRC) != 0) {
+            state = State.GZIP_HEADER_CRC;
+        } else {
+            startBody(true);
+        }
+    }
+
+    private void startBody(boolean nowrap) {
+        if (inflater == null) {
+            inflater = new Inflater(nowrap);
+        } else {
+            inflater.reset();
+        }
+        crc.reset();
+        memberSize = 0;
+        collected = 0;
+        state = State.BODY;
+    }
+
+    private int collect(byte[] array, int offset, int end, int count) {
+        int length = Math.min(count - collected, end - offset);
+        System.arraycopy(array, offset, header, collected, length);
+        collected += length;
+        return offset + length;
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | ((bytes[offset + 1] & 0xff) << 8);
+    }
+
+    private static long readInt(byte[] bytes, int offset) {
+        return ((long) readShort(bytes, offset + 2) << 16) | readShort(bytes, offset);
+    }
+}
@@ -0,0 +1,20 @@
+package reactivefb.error;
+
+import com.restfb.exception.FacebookException;
+
+/**
+ * Signals that request was aborted or not sent because deadline of the call passed.
+ * Unlike network errors it is not retried as nobody waits for the response anymore.
+ *
+ * @author Sergii Karpenko
+ */
+public class DeadlineExceededException extends FacebookException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,235 @@
+package reactivefb.error;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.restfb.exception.FacebookGraphException;
+
+import java.io.IOException;
+
+/**
+ * Graph API error as a value.
+ * <p>
+ * Parsed with streaming parser reading only fields of {@code error} object and classified by error code
+ * into {@link Category} once, so that expected errors may be handled without inspecting codes
+ * or catching exceptions.
+ *
+ * @author Sergii Karpenko
+ */
+public final class GraphError {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public enum Category {
+        /**
+         * Application, user, page or business use case request limit reached.
+         */
+        RATE_LIMIT(true, true),
+        /**
+         * Temporary issue on Facebook side.
+         */
+        TRANSIENT(true, true),
+        NOT_FOUND(true, false),
+        PERMISSION(true, false),
+        /**
+         * Access token is invalid or expired.
+         */
+        OAUTH(false, false),
+        OTHER(false, false);
+
+        private final boolean expected;
+        private final boolean retryable;
+
+        Category(boolean expected, boolean retryable) {
+            this.expected = expected;
+            this.retryable = retryable;
+        }
+
+        /**
+         * @return {@code true} if error is a regular outcome of a call rather than a failure of application
+         */
+        public boolean isExpected() {
+            return expected;
+        }
+
+        /**
+         * @return {@code true} if the same call may succeed later
+         */
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    private final int httpStatus;
+    private final Integer code;
+    private final Integer subcode;
+    private final String type;
+    private final String message;
+    private final String fbtraceId;
+    private final Category category;
+
+    public GraphError(int httpStatus, Integer code, Integer subcode, String type, String message, String fbtraceId) {
+        this.httpStatus = httpStatus;
+        this.code = code;
+        this.subcode = subcode;
+        this.type = type;
+        this.message = message;
+        this.fbtraceId = fbtraceId;
+        this.category = classify(httpStatus, code, subcode);
+    }
+
+    /**
+     * @return error of response body or {@code null} if body contains no {@code error} object
+     */
+    public static GraphError parse(byte[] body, int httpStatus) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser, httpStatus);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return error of batch response body or {@code null} if body contains no {@code error} object
+     */
+    public static GraphError parse(String body, int httpStatus) {
+        if (body == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser, httpStatus);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return error carried by {@code throwable} or {@code null} if it is not a Graph API error
+     */
+    public static GraphError from(Throwable throwable) {
+        if (throwable instanceof GraphErrorException) {
+            return ((GraphErrorException) throwable).getError();
+        }
+        if (throwable instanceof FacebookGraphException) {
+            FacebookGraphException exception = (FacebookGraphException) throwable;
+            return new GraphError(exception.getHttpStatusCode() != null ? exception.getHttpStatusCode() : 0,
+                    exception.getErrorCode(), exception.getErrorSubcode(),
+                    exception.getErrorType(), exception.getErrorMessage(), exception.getFbtraceId());
+        }
+        return null;
+    }
+
+    private static GraphError parse(JsonParser parser, int httpStatus) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && "error".equals(field)) {
+                return parseError(parser, httpStatus);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static GraphError parseError(JsonParser parser, int httpStatus) throws IOException {
+        Integer code = null;
+        Integer subcode = null;
+        String type = null;
+        String message = null;
+        String fbtraceId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "code":
+                    code = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                    break;
+                case "error_subcode":
+                    subcode = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                    break;
+                case "type":
+                    type = parser.getValueAsString();
+                    break;
+                case "message":
+                    message = parser.getValueAsString();
+                    break;
+                case "fbtrace_id":
+                    fbtraceId = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new GraphError(httpStatus, code, subcode, type, message, fbtraceId);
+    }
+
+    static Category classify(int httpStatus, Integer code, Integer subcode) {
+        if (code == null) {
+            return httpStatus == 404 ? Category.NOT_FOUND : Category.OTHER;
+        }
+        switch (code) {
+            case 4:
+            case 17:
+            case 32:
+            case 341:
+            case 613:
+                return Category.RATE_LIMIT;
+            case 1:
+            case 2:
+                return Category.TRANSIENT;
+            case 803:
+                return Category.NOT_FOUND;
+            case 100:
+                return subcode != null && subcode == 33 ? Category.NOT_FOUND : Category.OTHER;
+            case 10:
+                return Category.PERMISSION;
+            case 102:
+            case 190:
+                return Category.OAUTH;
+            default:
+        }
+        if (code >= 80000 && code <= 80014) {
+            return Category.RATE_LIMIT;
+        }
+        if (code >= 200 && code <= 299) {
+            return Category.PERMISSION;
+        }
+        return Category.OTHER;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+    public Integer getSubcode() {
+        return subcode;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getFbtraceId() {
+        return fbtraceId;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphError{" + category + ", code=" + code + ", subcode=" + subcode
+                + ", type=" + type + ", message=" + message + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package reactivefb.error;
+
+import com.restfb.exception.FacebookException;
+
+/**
+ * Signals expected Graph API error, see {@link GraphError.Category#isExpected()}.
+ * <p>
+ * Stack trace is not captured: the error is fully described by {@link #getError()} and
+ * is usually handled as a value with {@code onErrorResume(GraphErrorException.class, ...)}.
+ *
+ * @author Sergii Karpenko
+ */
+public class GraphErrorException extends FacebookException {
+
+    private final GraphError error;
+
+    public GraphErrorException(GraphError error) {
+        super(error.toString());
+        this.error = error;
+    }
+
+    public GraphError getError() {
+        return error;
+    }
+
+    public GraphError.Category getCategory() {
+        return error.getCategory();
+    }
+
+    public boolean is(GraphError.Category category) {
+        return error.getCategory() == category;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
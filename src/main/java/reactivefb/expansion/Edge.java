@@ -0,0 +1,89 @@
+package reactivefb.expansion;
+
+import com.restfb.Parameter;
+import com.restfb.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static reactivefb.Projection.FIELDS_PARAM_NAME;
+
+/**
+ * Nested connection of {@link GraphQuery}, e.g. {@code comments.limit(50){id,message}}.
+ *
+ * @author Sergii Karpenko
+ */
+public class Edge extends Selection<Edge> {
+
+    static final String LIMIT_MODIFIER = "limit";
+    static final String AFTER_PARAMETER = "after";
+
+    private final String name;
+    private final Map<String, String> modifiers = new LinkedHashMap<>();
+
+    private Edge(String name) {
+        if (StringUtils.isBlank(name)) {
+            throw new IllegalArgumentException("Edge name cannot be blank.");
+        }
+        this.name = name.trim();
+    }
+
+    public static Edge of(String name) {
+        return new Edge(name);
+    }
+
+    /**
+     * Page size of edge, both for expanded and for subsequently fetched pages.
+     */
+    public Edge limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative.");
+        }
+        return modifier(LIMIT_MODIFIER, Integer.toString(limit));
+    }
+
+    /**
+     * Arbitrary edge modifier, e.g. {@code summary(true)} or {@code filter(stream)}.
+     */
+    public Edge modifier(String name, String value) {
+        if (StringUtils.isBlank(name) || StringUtils.isBlank(value)) {
+            throw new IllegalArgumentException("Modifier name and value cannot be blank.");
+        }
+        modifiers.put(name, value);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void appendExpansion(StringBuilder builder) {
+        builder.append(name);
+        for (Map.Entry<String, String> modifier : modifiers.entrySet()) {
+            builder.append('.').append(modifier.getKey()).append('(').append(modifier.getValue()).append(')');
+        }
+        builder.append('{');
+        appendFields(builder);
+        builder.append('}');
+    }
+
+    /**
+     * @return parameters to fetch edge page directly from {@code {parent-id}/{edge}}
+     */
+    Parameter[] toPageParameters(String afterCursor) {
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(Parameter.with(FIELDS_PARAM_NAME, toFieldsParameter()));
+        modifiers.forEach((name, value) -> parameters.add(Parameter.with(name, value)));
+        if (afterCursor != null) {
+            parameters.add(Parameter.with(AFTER_PARAMETER, afterCursor));
+        }
+        return parameters.toArray(new Parameter[0]);
+    }
+
+    @Override
+    Edge self() {
+        return this;
+    }
+}
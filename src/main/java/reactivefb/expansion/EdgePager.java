@@ -0,0 +1,20 @@
+package reactivefb.expansion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import reactor.core.publisher.Flux;
+
+/**
+ * Fetches the rest of nested edge that was truncated in field expansion response.
+ *
+ * @author Sergii Karpenko
+ */
+public interface EdgePager {
+
+    /**
+     * @param parentId id of object owning the edge
+     * @param edge selection of edge
+     * @param afterCursor cursor after last expanded item
+     * @return all remaining items of edge
+     */
+    Flux<JsonNode> fetchRemaining(String parentId, Edge edge, String afterCursor);
+}
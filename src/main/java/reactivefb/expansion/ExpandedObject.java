@@ -0,0 +1,111 @@
+package reactivefb.expansion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+
+/**
+ * Graph API object fetched with {@link GraphQuery}.
+ * <p>
+ * The whole response, including expanded pages of nested edges, is read into a {@link JsonNode} tree up front.
+ * Only mapping of the tree to Java types is deferred: fields are mapped on access and items of nested edge
+ * when it is subscribed. Remaining pages of edges truncated by Graph API are requested only when
+ * the edge is subscribed and are read page by page.
+ *
+ * @author Sergii Karpenko
+ */
+public class ExpandedObject {
+
+    private static final String DATA = "data";
+    private static final String PAGING = "paging";
+    private static final String NEXT = "next";
+    private static final String CURSORS = "cursors";
+
+    private final JsonNode node;
+    private final Selection<?> selection;
+    private final ObjectMapper objectMapper;
+    private final EdgePager edgePager;
+
+    public ExpandedObject(JsonNode node, Selection<?> selection, ObjectMapper objectMapper, EdgePager edgePager) {
+        this.node = node;
+        this.selection = selection;
+        this.objectMapper = objectMapper;
+        this.edgePager = edgePager;
+    }
+
+    public String getId() {
+        JsonNode id = node.get(Selection.ID_FIELD);
+        return id != null ? id.asText() : null;
+    }
+
+    public JsonNode getNode() {
+        return node;
+    }
+
+    /**
+     * @return value of field decoded to {@code type} or {@code null} if field is absent
+     */
+    public <T> T get(String field, Class<T> type) throws JsonProcessingException {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? objectMapper.treeToValue(value, type) : null;
+    }
+
+    /**
+     * @return whole object decoded to {@code type}
+     */
+    public <T> T as(Class<T> type) throws JsonProcessingException {
+        return objectMapper.treeToValue(node, type);
+    }
+
+    /**
+     * @return {@code true} if Graph API returned only first page of nested edge
+     */
+    public boolean isTruncated(String edgeName) {
+        selection.getEdge(edgeName);
+        return node.path(edgeName).path(PAGING).hasNonNull(NEXT);
+    }
+
+    /**
+     * Items of nested edge: expanded ones followed by remaining pages if edge was truncated.
+     */
+    public Flux<ExpandedObject> edge(String edgeName) {
+        Edge edge = selection.getEdge(edgeName);
+        return edgeNodes(edge).map(item -> new ExpandedObject(item, edge, objectMapper, edgePager));
+    }
+
+    /**
+     * Items of nested edge decoded to {@code type}.
+     */
+    public <T> Flux<T> edge(String edgeName, Class<T> type) {
+        return edgeNodes(selection.getEdge(edgeName)).handle((item, sink) -> {
+            try {
+                sink.next(objectMapper.treeToValue(item, type));
+            } catch (JsonProcessingException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    private Flux<JsonNode> edgeNodes(Edge edge) {
+        return Flux.defer(() -> {
+            JsonNode connection = node.path(edge.getName());
+            Flux<JsonNode> expanded = Flux.fromIterable(connection.path(DATA));
+            if (!isTruncated(edge.getName())) {
+                return expanded;
+            }
+
+            String afterCursor = connection.path(PAGING).path(CURSORS).path(Edge.AFTER_PARAMETER).asText(null);
+            String parentId = getId();
+            if (afterCursor == null || parentId == null) {
+                return expanded;
+            }
+            return expanded.concatWith(edgePager.fetchRemaining(parentId, edge, afterCursor));
+        });
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package reactivefb.expansion;
+
+import com.restfb.util.StringUtils;
+
+/**
+ * Declarative query on a Graph API object with nested edges, compiled into a single field expansion request.
+ * <pre>
+ * GraphQuery.of("pageId").fields("name")
+ *     .edge(Edge.of("posts").limit(100).fields("message")
+ *         .edge(Edge.of("comments").limit(50).fields("message")));
+ * </pre>
+ *
+ * @author Sergii Karpenko
+ */
+public class GraphQuery extends Selection<GraphQuery> {
+
+    private final String object;
+
+    private GraphQuery(String object) {
+        if (StringUtils.isBlank(object)) {
+            throw new IllegalArgumentException("Object cannot be blank.");
+        }
+        this.object = object;
+    }
+
+    public static GraphQuery of(String object) {
+        return new GraphQuery(object);
+    }
+
+    public String getObject() {
+        return object;
+    }
+
+    @Override
+    GraphQuery self() {
+        return this;
+    }
+}
@@ -0,0 +1,95 @@
+package reactivefb.expansion;
+
+import com.restfb.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fields and nested edges selected on a Graph API object.
+ * Compiles into value of <a href="https://developers.facebook.com/docs/graph-api/using-graph-api/#fieldexpansion">field
+ * expansion</a> {@code fields} parameter.
+ *
+ * @author Sergii Karpenko
+ */
+public abstract class Selection<S extends Selection<S>> {
+
+    static final String ID_FIELD = "id";
+
+    private final Set<String> fields = new LinkedHashSet<>();
+    private final Map<String, Edge> edges = new LinkedHashMap<>();
+
+    Selection() {
+        fields.add(ID_FIELD);
+    }
+
+    /**
+     * Selects plain fields. {@code id} is always selected as it is needed to paginate nested edges.
+     */
+    public S fields(String... fields) {
+        for (String field : fields) {
+            if (StringUtils.isBlank(field)) {
+                throw new IllegalArgumentException("Field name cannot be blank.");
+            }
+            this.fields.add(field.trim());
+        }
+        return self();
+    }
+
+    /**
+     * Selects nested edge (connection) that will be fetched within the same request.
+     */
+    public S edge(Edge edge) {
+        if (fields.contains(edge.getName()) || edges.put(edge.getName(), edge) != null) {
+            throw new IllegalArgumentException("Field [" + edge.getName() + "] is selected twice.");
+        }
+        return self();
+    }
+
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public List<Edge> getEdges() {
+        return Collections.unmodifiableList(new ArrayList<>(edges.values()));
+    }
+
+    Edge getEdge(String name) {
+        Edge edge = edges.get(name);
+        if (edge == null) {
+            throw new IllegalArgumentException("Edge [" + name + "] was not selected.");
+        }
+        return edge;
+    }
+
+    /**
+     * @return value of {@code fields} parameter, e.g. {@code id,name,posts.limit(100){id,message}}
+     */
+    public String toFieldsParameter() {
+        StringBuilder builder = new StringBuilder();
+        appendFields(builder);
+        return builder.toString();
+    }
+
+    void appendFields(StringBuilder builder) {
+        boolean first = true;
+        for (String field : fields) {
+            if (!first) {
+                builder.append(',');
+            }
+            builder.append(field);
+            first = false;
+        }
+        for (Edge edge : edges.values()) {
+            builder.append(',');
+            edge.appendExpansion(builder);
+        }
+    }
+
+    abstract S self();
+}
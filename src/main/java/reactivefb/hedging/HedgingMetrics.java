@@ -0,0 +1,53 @@
+package reactivefb.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of {@link HedgingPolicy}.
+ *
+ * @author Sergii Karpenko
+ */
+public class HedgingMetrics {
+
+    final AtomicLong requests = new AtomicLong();
+    final AtomicLong hedgesFired = new AtomicLong();
+    final AtomicLong hedgesWon = new AtomicLong();
+    final AtomicLong hedgesDenied = new AtomicLong();
+
+    HedgingMetrics() {
+    }
+
+    /**
+     * @return number of hedged calls
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return number of duplicate requests sent
+     */
+    public long getHedgesFired() {
+        return hedgesFired.get();
+    }
+
+    /**
+     * @return number of calls answered by duplicate request
+     */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    /**
+     * @return number of duplicate requests not sent because hedge budget was exhausted
+     */
+    public long getHedgesDenied() {
+        return hedgesDenied.get();
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingMetrics{requests=" + requests + ", fired=" + hedgesFired + ", won=" + hedgesWon
+                + ", denied=" + hedgesDenied + "}";
+    }
+}
@@ -0,0 +1,192 @@
+package reactivefb.hedging;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Sends duplicate of idempotent request if it isn't answered within the given percentile of recent latencies.
+ * <p>
+ * The first successful response wins and the other request is cancelled. Failure of duplicate request is ignored,
+ * failure of original one fails the call. Duplicates are limited by budget: each call earns
+ * {@code budgetPercent / 100} of a duplicate, so that extra load never exceeds {@code budgetPercent}
+ * of calls in the long run.
+ *
+ * @author Sergii Karpenko
+ */
+public class HedgingPolicy {
+
+    private static final int PERCENTILE_RECOMPUTE_INTERVAL = 50;
+
+    private final LatencyTracker latencies;
+    private final Duration initialDelay;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetPerRequest;
+    private final double maxBudget;
+    private final Scheduler scheduler;
+    private final HedgingMetrics metrics = new HedgingMetrics();
+
+    private double budget;
+
+    private HedgingPolicy(Builder builder) {
+        this.latencies = new LatencyTracker(builder.windowSize, builder.percentile, builder.minSamples,
+                PERCENTILE_RECOMPUTE_INTERVAL);
+        this.initialDelay = builder.initialDelay;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.budgetPerRequest = builder.budgetPercent / 100;
+        this.maxBudget = builder.maxBurst;
+        this.scheduler = builder.scheduler;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param request creates new request on every call
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            metrics.requests.incrementAndGet();
+            earnBudget();
+            long start = System.nanoTime();
+
+            Mono<T> primary = request.get()
+                    .doOnNext(value -> latencies.record(System.nanoTime() - start));
+            Mono<T> hedge = Mono.delay(hedgeDelay(), scheduler)
+                    .filter(tick -> spendBudget())
+                    .flatMap(tick -> {
+                        metrics.hedgesFired.incrementAndGet();
+                        return request.get();
+                    })
+                    .doOnNext(value -> {
+                        metrics.hedgesWon.incrementAndGet();
+                        latencies.record(System.nanoTime() - start);
+                    })
+                    .onErrorResume(error -> Mono.never())
+                    .switchIfEmpty(Mono.never());
+
+            return Mono.first(primary, hedge);
+        });
+    }
+
+    public HedgingMetrics getMetrics() {
+        return metrics;
+    }
+
+    Duration hedgeDelay() {
+        long percentile = latencies.percentileNanos();
+        if (percentile < 0) {
+            return initialDelay;
+        }
+        return Duration.ofNanos(Math.max(minDelayNanos, Math.min(maxDelayNanos, percentile)));
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(maxBudget, budget + budgetPerRequest);
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget >= 1) {
+            budget -= 1;
+            return true;
+        }
+        metrics.hedgesDenied.incrementAndGet();
+        return false;
+    }
+
+    public static class Builder {
+        private double percentile = 95;
+        private int windowSize = 1000;
+        private int minSamples = 50;
+        private Duration initialDelay = Duration.ofSeconds(1);
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(5);
+        private double budgetPercent = 5;
+        private double maxBurst = 10;
+        private Scheduler scheduler = Schedulers.parallel();
+
+        private Builder() {
+        }
+
+        /**
+         * Percentile of recent latencies after which duplicate is sent.
+         */
+        public Builder setPercentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Number of recent latencies percentile is estimated from.
+         */
+        public Builder setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Number of latencies required to estimate percentile, {@code initialDelay} is used until then.
+         */
+        public Builder setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        public Builder setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * Bounds of hedge delay.
+         */
+        public Builder setDelayBounds(Duration minDelay, Duration maxDelay) {
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Maximum percent of duplicate requests.
+         */
+        public Builder setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        /**
+         * Maximum number of duplicates that may be saved up during calm periods.
+         */
+        public Builder setMaxBurst(double maxBurst) {
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        public Builder setScheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public HedgingPolicy build() {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile should be in (0, 100].");
+            }
+            if (windowSize < 1 || minSamples < 1 || minSamples > windowSize) {
+                throw new IllegalArgumentException("Min samples should be positive and fit into window.");
+            }
+            if (budgetPercent < 0 || budgetPercent > 100 || maxBurst < 1) {
+                throw new IllegalArgumentException("Budget should be in [0, 100] percent, max burst at least 1.");
+            }
+            if (minDelay.compareTo(maxDelay) > 0) {
+                throw new IllegalArgumentException("Min delay should not exceed max delay.");
+            }
+            return new HedgingPolicy(this);
+        }
+    }
+}
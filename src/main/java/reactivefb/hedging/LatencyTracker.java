@@ -0,0 +1,56 @@
+package reactivefb.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Keeps latencies of the latest requests and estimates their percentile.
+ * Percentile is first computed once {@code minSamples} samples are recorded, then recomputed once
+ * per {@code recomputeEvery} samples, so that sorting cost is amortized.
+ *
+ * @author Sergii Karpenko
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeEvery;
+
+    private int next;
+    private int size;
+    private int sinceRecompute;
+    private long percentileNanos = -1;
+
+    LatencyTracker(int windowSize, double percentile, int minSamples, int recomputeEvery) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.recomputeEvery = recomputeEvery;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+        sinceRecompute++;
+        if (size < minSamples) {
+            return;
+        }
+        if (sinceRecompute >= recomputeEvery || percentileNanos < 0) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+
+    /**
+     * @return estimated percentile or {@code -1} until {@code minSamples} samples are recorded
+     */
+    synchronized long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,58 @@
+package reactivefb.jfr;
+
+/**
+ * Custom JDK Flight Recorder events of Graph API calls, decoding and throttling.
+ * <p>
+ * Events are emitted only if JFR is present in the running JDK, otherwise {@link #NOOP} is used.
+ * Each method checks whether its event type is enabled in the active recording before doing anything else,
+ * so with no recording running instrumentation costs a single flag check.
+ * Recording of events may be switched off with {@code -Dreactivefb.jfr.disabled=true}.
+ *
+ * @author Sergii Karpenko
+ */
+public interface GraphEvents {
+
+    String DISABLED_PROPERTY = "reactivefb.jfr.disabled";
+
+    GraphEvents NOOP = new GraphEvents() {
+    };
+
+    /**
+     * @return events of Flight Recorder if it is available, {@link #NOOP} otherwise
+     */
+    static GraphEvents get() {
+        return GraphEventsLoader.INSTANCE;
+    }
+
+    /**
+     * Starts timing of request to {@code url}, recorded with endpoint template of the url.
+     */
+    default RequestRecording requestStarted(String url) {
+        return RequestRecording.NOOP;
+    }
+
+    /**
+     * @return {@code true} if decoding should be timed for {@link #decoded}
+     */
+    default boolean isDecodeEnabled() {
+        return false;
+    }
+
+    default void decoded(Class<?> type, long bytes, long durationNanos) {
+    }
+
+    /**
+     * Starts timing of wait for permits of {@code source}, e.g. rate limiter or token pool.
+     *
+     * @return ends the wait
+     */
+    default Runnable throttleStarted(String source, int permits) {
+        return RequestRecording.NOTHING;
+    }
+
+    default void retried(String operation, int attempt, int requests, Throwable cause) {
+    }
+
+    default void batchSent(int size, int attempt) {
+    }
+}
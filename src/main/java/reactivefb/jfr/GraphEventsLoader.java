@@ -0,0 +1,30 @@
+package reactivefb.jfr;
+
+/**
+ * Loads Flight Recorder backed events only if {@code jdk.jfr} is present,
+ * so that classes referencing it are never linked on JDKs without it.
+ * Those classes live in {@code src/main/java11} and are compiled only by JDK 11 or newer,
+ * jar built by JDK 8 always falls back to {@link GraphEvents#NOOP}.
+ *
+ * @author Sergii Karpenko
+ */
+final class GraphEventsLoader {
+
+    static final GraphEvents INSTANCE = load();
+
+    private GraphEventsLoader() {
+    }
+
+    private static GraphEvents load() {
+        if (Boolean.getBoolean(GraphEvents.DISABLED_PROPERTY)) {
+            return GraphEvents.NOOP;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, GraphEventsLoader.class.getClassLoader());
+            return (GraphEvents) Class.forName("reactivefb.jfr.FlightRecorderGraphEvents")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return GraphEvents.NOOP;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package reactivefb.jfr;
+
+/**
+ * Timing of a single request started by {@link GraphEvents#requestStarted(String)}.
+ *
+ * @author Sergii Karpenko
+ */
+public interface RequestRecording {
+
+    Runnable NOTHING = () -> {
+    };
+
+    RequestRecording NOOP = new RequestRecording() {
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
+        @Override
+        public void responded(int status, long bytes) {
+        }
+
+        @Override
+        public void failed(Throwable error) {
+        }
+
+        @Override
+        public void cancelled() {
+        }
+    };
+
+    /**
+     * @return {@code false} if request is not recorded and details of its response need not be computed
+     */
+    boolean isRecording();
+
+    /**
+     * @param bytes content length of response or {@code -1} if unknown
+     */
+    void responded(int status, long bytes);
+
+    void failed(Throwable error);
+
+    void cancelled();
+}
@@ -0,0 +1,208 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.reactivestreams.Publisher;
+import reactivefb.compression.StreamingInflater;
+import reactivefb.jfr.GraphEvents;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * Decodes JSON response from its chunks as they arrive.
+ * <p>
+ * Chunks are tokenized by non-blocking parser right away, so a chunk may be released as soon as it was fed.
+ * Heap buffers are fed in place, direct ones are copied into heap buffer borrowed from {@link ByteBufferPool}.
+ * The whole body is never materialized as {@code String} or {@code byte[]}, only its tokens are kept
+ * until the value is bound by {@link ObjectReader}. Compressed body is inflated by {@link StreamingInflater}
+ * into the parser chunk by chunk.
+ *
+ * @author Sergii Karpenko
+ */
+public class ChunkedJsonDecoder<T> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ObjectReader objectReader;
+    private final ByteBufferPool bufferPool;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer tokens;
+    private final StreamingInflater inflater;
+
+    private final boolean timed = GraphEvents.get().isDecodeEnabled();
+    private long bytes;
+    private long decodeNanos;
+
+    private boolean empty = true;
+
+    public ChunkedJsonDecoder(ObjectReader objectReader, ByteBufferPool bufferPool) throws IOException {
+        this(objectReader, bufferPool, null);
+    }
+
+    /**
+     * @param inflater inflates fed chunks before they are tokenized, {@code null} if body is not compressed
+     */
+    public ChunkedJsonDecoder(ObjectReader objectReader, ByteBufferPool bufferPool, StreamingInflater inflater)
+            throws IOException {
+        this.objectReader = objectReader;
+        this.bufferPool = bufferPool;
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(parser);
+        this.inflater = inflater;
+    }
+
+    /**
+     * Decodes value from Jetty content chunks releasing each of them as soon as it is tokenized.
+     * Decoding runs on the thread chunks are published on.
+     */
+    public static <T> Mono<T> decode(Publisher<ContentChunk> content, ObjectReader objectReader,
+                                     ByteBufferPool bufferPool) {
+        return decode(content, objectReader, null, bufferPool);
+    }
+
+    /**
+     * @param type decoded type reported with {@link GraphEvents#decoded} if decoding is recorded
+     */
+    public static <T> Mono<T> decode(Publisher<ContentChunk> content, ObjectReader objectReader, Class<?> type,
+                                     ByteBufferPool bufferPool) {
+        return decode(content, objectReader, type, bufferPool, null);
+    }
+
+    /**
+     * @param inflaters supplies inflater of each subscription, {@code null} if body is not compressed
+     */
+    public static <T> Mono<T> decode(Publisher<ContentChunk> content, ObjectReader objectReader, Class<?> type,
+                                     ByteBufferPool bufferPool, Supplier<StreamingInflater> inflaters) {
+        return Mono.defer(() -> {
+            StreamingInflater inflater = inflaters != null ? inflaters.get() : null;
+            ChunkedJsonDecoder<T> decoder;
+            try {
+                decoder = new ChunkedJsonDecoder<>(objectReader, bufferPool, inflater);
+            } catch (Exception e) {
+                if (inflater != null) {
+                    inflater.close();
+                }
+                return Mono.error(e);
+            }
+            return Flux.from(content)
+                    .doOnNext(chunk -> {
+                        try {
+                            decoder.feed(chunk.buffer);
+                        } catch (Exception e) {
+                            throw Exceptions.propagate(e);
+                        } finally {
+                            chunk.callback.succeeded();
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        T value = decoder.finish();
+                        if (decoder.timed) {
+                            GraphEvents.get().decoded(type, decoder.bytes, decoder.decodeNanos);
+                        }
+                        return value;
+                    }))
+                    .doFinally(signal -> {
+                        if (inflater != null) {
+                            inflater.close();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Tokenizes next chunk of response. Buffer is not referenced after the method returns.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        if (!timed) {
+            inflateAndTokenize(buffer);
+            return;
+        }
+        long start = System.nanoTime();
+        bytes += buffer.remaining();
+        try {
+            inflateAndTokenize(buffer);
+        } finally {
+            decodeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return decoded value or {@code null} if response is empty
+     */
+    public T finish() throws IOException {
+        if (!timed) {
+            return bind();
+        }
+        long start = System.nanoTime();
+        try {
+            return bind();
+        } finally {
+            decodeNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void inflateAndTokenize(ByteBuffer buffer) throws IOException {
+        if (inflater != null) {
+            inflater.inflate(buffer, this::tokenize);
+        } else {
+            tokenize(buffer);
+        }
+    }
+
+    private void tokenize(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            feeder.feedInput(buffer.array(), start, start + buffer.remaining());
+            drain();
+            return;
+        }
+
+        ByteBuffer heapBuffer = bufferPool.acquire(buffer.remaining(), false);
+        try {
+            heapBuffer.clear();
+            heapBuffer.put(buffer.duplicate());
+            feeder.feedInput(heapBuffer.array(), heapBuffer.arrayOffset(),
+                    heapBuffer.arrayOffset() + heapBuffer.position());
+            drain();
+        } finally {
+            bufferPool.release(heapBuffer);
+        }
+    }
+
+    private T bind() throws IOException {
+        if (inflater != null) {
+            inflater.finish();
+        }
+        feeder.endOfInput();
+        drain();
+        parser.close();
+        if (empty) {
+            return null;
+        }
+        return objectReader.readValue(tokens.asParser());
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+            empty = false;
+        }
+    }
+}
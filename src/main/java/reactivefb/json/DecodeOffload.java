@@ -0,0 +1,96 @@
+package reactivefb.json;
+
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Moves decoding of response chunks from Jetty I/O threads to a bounded decode scheduler.
+ * <p>
+ * Chunks are handed over with small {@code prefetch}, each chunk is released back to Jetty only after
+ * it was decoded, so a slow decode stage stops reading from the socket instead of buffering the body.
+ * Bodies with known length below {@code minContentLength} are decoded in place
+ * as thread hop costs more than decoding them.
+ *
+ * @author Sergii Karpenko
+ */
+public class DecodeOffload {
+
+    private final Scheduler scheduler;
+    private final long minContentLength;
+    private final int prefetch;
+
+    private DecodeOffload(Builder builder) {
+        this.scheduler = builder.scheduler != null ? builder.scheduler : DefaultScheduler.INSTANCE;
+        this.minContentLength = builder.minContentLength;
+        this.prefetch = builder.prefetch;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param contentLength length of body or {@code -1} if unknown
+     * @return chunks published on decode scheduler if body is big enough
+     */
+    public Flux<ContentChunk> apply(Flux<ContentChunk> content, long contentLength) {
+        if (contentLength >= 0 && contentLength < minContentLength) {
+            return content;
+        }
+        return content.publishOn(scheduler, prefetch);
+    }
+
+    /**
+     * Shared daemon scheduler with one thread per core, created on first use.
+     */
+    private static class DefaultScheduler {
+        static final Scheduler INSTANCE = Schedulers.newParallel("facebook-decode",
+                Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    public static class Builder {
+        private Scheduler scheduler;
+        private long minContentLength = 16 * 1024;
+        private int prefetch = 4;
+
+        private Builder() {
+        }
+
+        /**
+         * Scheduler decoding runs on, by default a shared parallel one sized to number of cores.
+         */
+        public Builder setScheduler(Scheduler scheduler) {
+            verifyParameterPresence("scheduler", scheduler);
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Bodies shorter than this are decoded on I/O thread, {@code 0} offloads all of them.
+         */
+        public Builder setMinContentLength(long minContentLength) {
+            this.minContentLength = minContentLength;
+            return this;
+        }
+
+        /**
+         * Number of chunks read ahead of decoding.
+         */
+        public Builder setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        public DecodeOffload build() {
+            if (minContentLength < 0 || prefetch < 1) {
+                throw new IllegalArgumentException("Min content length should not be negative " +
+                        "and prefetch should be positive.");
+            }
+            return new DecodeOffload(this);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Registers optional Jackson modules.
+ * Kept apart from the client so that optional dependencies are only loaded when requested.
+ *
+ * @author Sergii Karpenko
+ */
+public class FacebookModules {
+
+    private FacebookModules() {
+    }
+
+    /**
+     * Registers Afterburner module that replaces reflection based property access of bean deserializers
+     * with generated bytecode. Requires {@code jackson-module-afterburner} on the classpath.
+     *
+     * @param objectMapper mapper to register module on
+     * @return the same mapper
+     */
+    public static ObjectMapper registerAfterburner(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new AfterburnerModule());
+    }
+}
@@ -0,0 +1,132 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import reactivefb.json.types.Connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Extracts {@code paging} of Graph API connection page from raw response chunks.
+ * Tokens are only counted to track nesting, field names are read at {@code paging} levels only
+ * and no values except paging urls and cursors are materialized.
+ *
+ * @author Sergii Karpenko
+ */
+public class PagingScanner {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String PAGING = "paging";
+    private static final String CURSORS = "cursors";
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private int depth;
+    private String rootField;
+    private String pagingField;
+    private String cursorsField;
+
+    private Connection.Paging paging;
+
+    public PagingScanner() throws IOException {
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Scans next chunk of response. Buffer position is not changed.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            feeder.feedInput(buffer.array(), start, start + buffer.remaining());
+        } else {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            feeder.feedInput(bytes, 0, bytes.length);
+        }
+        drain();
+    }
+
+    /**
+     * @return paging found in response or {@code null}
+     */
+    public Connection.Paging finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        parser.close();
+        return paging;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token);
+        }
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                if (token == JsonToken.START_OBJECT && isInPaging(depth) && paging == null) {
+                    paging = new Connection.Paging();
+                }
+                if (token == JsonToken.START_OBJECT && isInCursors(depth) && paging.getCursors() == null) {
+                    paging.setCursors(new Connection.Cursors());
+                }
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            case FIELD_NAME:
+                if (depth == 1) {
+                    rootField = parser.getCurrentName();
+                } else if (isInPaging(depth)) {
+                    pagingField = parser.getCurrentName();
+                } else if (isInCursors(depth)) {
+                    cursorsField = parser.getCurrentName();
+                }
+                break;
+            case VALUE_STRING:
+                if (isInPaging(depth)) {
+                    onPagingValue(pagingField, parser.getText());
+                } else if (isInCursors(depth)) {
+                    onCursorValue(cursorsField, parser.getText());
+                }
+                break;
+            default:
+        }
+    }
+
+    private boolean isInPaging(int depth) {
+        return depth == 2 && PAGING.equals(rootField);
+    }
+
+    private boolean isInCursors(int depth) {
+        return depth == 3 && PAGING.equals(rootField) && CURSORS.equals(pagingField);
+    }
+
+    private void onPagingValue(String field, String value) {
+        if ("next".equals(field)) {
+            paging.setNext(value);
+        } else if ("previous".equals(field)) {
+            paging.setPrevious(value);
+        }
+    }
+
+    private void onCursorValue(String field, String value) {
+        if (Connection.AFTER_PARAMETER.equals(field)) {
+            paging.getCursors().setAfter(value);
+        } else if (Connection.BEFORE_PARAMETER.equals(field)) {
+            paging.getCursors().setBefore(value);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import reactivefb.Projection;
+import reactivefb.json.types.ProjectedObject;
+
+import java.io.IOException;
+
+/**
+ * Streams object tokens into {@link ProjectedObject}, skipping all fields that are not projected
+ * without building intermediate trees.
+ * Projection is taken from {@link com.fasterxml.jackson.databind.ObjectReader} attribute keyed by {@link Projection} class.
+ *
+ * @author Sergii Karpenko
+ */
+public class ProjectedObjectDeserializer extends StdDeserializer<ProjectedObject> {
+
+    public ProjectedObjectDeserializer() {
+        super(ProjectedObject.class);
+    }
+
+    @Override
+    public ProjectedObject deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        Projection projection = (Projection) ctxt.getAttribute(Projection.class);
+        if (projection == null) {
+            throw JsonMappingException.from(parser, "No projection specified for reader");
+        }
+
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            return (ProjectedObject) ctxt.handleUnexpectedToken(ProjectedObject.class, parser);
+        }
+
+        Object[] values = new Object[projection.size()];
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            int index = projection.indexOf(parser.getCurrentName());
+            JsonToken valueToken = parser.nextToken();
+            if (index < 0) {
+                parser.skipChildren();
+            } else {
+                values[index] = readValue(parser, valueToken, ctxt);
+            }
+        }
+        return new ProjectedObject(projection, values);
+    }
+
+    private Object readValue(JsonParser parser, JsonToken valueToken, DeserializationContext ctxt) throws IOException {
+        switch (valueToken) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return ctxt.readValue(parser, Object.class);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package reactivefb.json.types;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.restfb.util.UrlUtils;
+import reactivefb.timing.RequestTimings;
 
 import java.util.List;
 
@@ -24,6 +26,8 @@ public class Connection<T>  {
 
   private transient String url;
 
+  private transient RequestTimings timings;
+
   /**
    * Data for this connection.
    * 
@@ -49,6 +53,21 @@ public class Connection<T>  {
     this.url = url;
   }
 
+  /**
+   * @return phase timings of request that fetched this page, {@code null} unless client has
+   * {@link reactivefb.timing.SlowRequestLog} or timings were asked for with
+   * {@link RequestTimings#requested()} in subscriber context, or if web requestor doesn't record them
+   */
+  @JsonIgnore
+  public RequestTimings getTimings() {
+    return timings;
+  }
+
+  @JsonIgnore
+  public void setTimings(RequestTimings timings) {
+    this.timings = timings;
+  }
+
   public String getNextPageUrl(){
     String pagingNext = paging.getNext();
     if(pagingNext != null){
@@ -1,11 +1,27 @@
 package reactivefb.json.types;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class DeleteResponse {
 
     private String success;
 
     private String result;
 
+    public DeleteResponse() {
+    }
+
+    /**
+     * Plain {@code true}/{@code false} returned by older Graph API versions.
+     */
+    @JsonCreator
+    public static DeleteResponse fromBoolean(boolean success) {
+        DeleteResponse deleteResponse = new DeleteResponse();
+        deleteResponse.setSuccess(String.valueOf(success));
+        return deleteResponse;
+    }
+
     public String getSuccess() {
         return success;
     }
@@ -21,4 +37,12 @@ public class DeleteResponse {
     public void setResult(String result) {
         this.result = result;
     }
+
+    @JsonIgnore
+    public boolean isDeleted() {
+        if (success != null) {
+            return Boolean.valueOf(success);
+        }
+        return result != null && result.contains("Successfully deleted");
+    }
 }
@@ -0,0 +1,129 @@
+package reactivefb.json.types;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import reactivefb.Projection;
+import reactivefb.json.ProjectedObjectDeserializer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact immutable record holding only fields of {@link Projection}.
+ * Field names are shared with projection, values are stored in a single array.
+ *
+ * @author Sergii Karpenko
+ */
+@JsonDeserialize(using = ProjectedObjectDeserializer.class)
+public final class ProjectedObject {
+
+    private final Projection projection;
+    private final Object[] values;
+
+    public ProjectedObject(Projection projection, Object[] values) {
+        if (values.length != projection.size()) {
+            throw new IllegalArgumentException("Values don't match projection " + projection);
+        }
+        this.projection = projection;
+        this.values = values;
+    }
+
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * @return value of projected field: {@link String}, {@link Number}, {@link Boolean},
+     * {@link java.util.List} or {@link Map} for nested values, {@code null} if field was absent
+     */
+    public Object get(String field) {
+        int index = projection.indexOf(field);
+        if (index < 0) {
+            throw new IllegalArgumentException("Field [" + field + "] is not part of " + projection);
+        }
+        return values[index];
+    }
+
+    public String getString(String field) {
+        Object value = get(field);
+        return value != null ? value.toString() : null;
+    }
+
+    public String getId() {
+        return getString("id");
+    }
+
+    /**
+     * @return read-only map view of present fields
+     */
+    public Map<String, Object> asMap() {
+        return new AbstractMap<String, Object>() {
+            @Override
+            public Object get(Object key) {
+                int index = key instanceof String ? projection.indexOf((String) key) : -1;
+                return index >= 0 ? values[index] : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                return new AbstractSet<Entry<String, Object>>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new PresentValuesIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        int size = 0;
+                        for (Object value : values) {
+                            if (value != null) {
+                                size++;
+                            }
+                        }
+                        return size;
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    private class PresentValuesIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = advance(0);
+
+        private int advance(int from) {
+            while (from < values.length && values[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<>(
+                    projection.getField(next), values[next]);
+            next = advance(next + 1);
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package reactivefb.leak;
+
+import java.time.Duration;
+
+/**
+ * Response which body was neither consumed nor released by its receiver.
+ *
+ * @author Sergii Karpenko
+ */
+public class ResponseLeak {
+
+    private final String url;
+    private final Duration age;
+    private final Throwable creationStack;
+
+    ResponseLeak(String url, Duration age, Throwable creationStack) {
+        this.url = url;
+        this.age = age;
+        this.creationStack = creationStack;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return time since response was received until leak was detected
+     */
+    public Duration getAge() {
+        return age;
+    }
+
+    /**
+     * @return stack of the call that created the response, {@code null} unless tracker is in debug mode
+     */
+    public Throwable getCreationStack() {
+        return creationStack;
+    }
+
+    @Override
+    public String toString() {
+        return "Response body of " + url + " was not consumed within " + age.toMillis() + " ms"
+                + (creationStack == null ? ", enable debug mode of ResponseTracker to see where it was created" : "");
+    }
+}
@@ -0,0 +1,233 @@
+package reactivefb.leak;
+
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Makes sure that body of every response is either consumed or released, so that Jetty connection
+ * is not held by a response nobody reads.
+ * <p>
+ * Each response passed through {@link #track(String, ReactiveHttpResponse)} is registered until its body
+ * is subscribed. Response is considered leaked if it becomes unreachable while still registered
+ * (detected the same way as Netty does it, with weak references polled on every new response)
+ * or if it is not consumed within {@code maxUnconsumedAge}. Leaked response is reported to the leak
+ * listener and released by subscribing to its body and cancelling it right away, which aborts
+ * the underlying exchange.
+ * <p>
+ * In debug mode stack of the call creating each response is captured and reported with the leak,
+ * it is expensive and meant only for hunting down leaks.
+ *
+ * @author Sergii Karpenko
+ */
+public class ResponseTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseTracker.class);
+
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final boolean debug;
+    private final long maxUnconsumedAgeNanos;
+    private final Consumer<ResponseLeak> leakListener;
+
+    private final ReferenceQueue<TrackedReactiveHttpResponse> collected = new ReferenceQueue<>();
+    private final Set<Exchange> open = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong leaked = new AtomicLong();
+
+    private ResponseTracker(Builder builder) {
+        this.debug = builder.debug;
+        this.maxUnconsumedAgeNanos = builder.maxUnconsumedAge != null ? builder.maxUnconsumedAge.toNanos() : -1;
+        this.leakListener = builder.leakListener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return response which body is tracked until it is subscribed
+     */
+    public ReactiveHttpResponse track(String url, ReactiveHttpResponse response) {
+        if (response instanceof TrackedReactiveHttpResponse) {
+            return response;
+        }
+        detectLeaks();
+
+        Throwable creationStack = debug ? new Throwable("Response to " + url + " created here") : null;
+        TrackedReactiveHttpResponse tracked = new TrackedReactiveHttpResponse(response);
+        tracked.exchange = new Exchange(tracked, url, response, creationStack);
+        open.add(tracked.exchange);
+        return tracked;
+    }
+
+    /**
+     * Releases response without reading its body, does nothing if body was already subscribed.
+     */
+    public static void release(ReactiveHttpResponse response) {
+        if (response instanceof TrackedReactiveHttpResponse) {
+            ((TrackedReactiveHttpResponse) response).exchange.release();
+        } else {
+            releaseBody(response);
+        }
+    }
+
+    /**
+     * Reports and releases leaked responses, called on every tracked response
+     * but may be also called periodically if responses are rare.
+     */
+    public void detectLeaks() {
+        Reference<? extends TrackedReactiveHttpResponse> reference;
+        while ((reference = collected.poll()) != null) {
+            leak((Exchange) reference);
+        }
+
+        long now = System.nanoTime();
+        long lastSweep = lastSweepNanos.get();
+        if (maxUnconsumedAgeNanos >= 0
+                && now - lastSweep >= Math.min(SWEEP_INTERVAL_NANOS, maxUnconsumedAgeNanos)
+                && lastSweepNanos.compareAndSet(lastSweep, now)) {
+            List<Exchange> stale = new ArrayList<>();
+            for (Exchange exchange : open) {
+                if (now - exchange.createdNanos > maxUnconsumedAgeNanos) {
+                    stale.add(exchange);
+                }
+            }
+            stale.forEach(this::leak);
+        }
+    }
+
+    /**
+     * @return number of responses which bodies are not subscribed yet
+     */
+    public int getOpen() {
+        return open.size();
+    }
+
+    /**
+     * @return number of responses detected as leaked so far
+     */
+    public long getLeaked() {
+        return leaked.get();
+    }
+
+    private void leak(Exchange exchange) {
+        if (exchange.release()) {
+            leaked.incrementAndGet();
+            leakListener.accept(new ResponseLeak(exchange.url,
+                    Duration.ofNanos(System.nanoTime() - exchange.createdNanos), exchange.creationStack));
+        }
+    }
+
+    private static void releaseBody(ReactiveHttpResponse response) {
+        Flux.from(response.body()).subscribe(new BaseSubscriber<Object>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                cancel();
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                // released body has no receiver for its errors
+            }
+        });
+    }
+
+    /**
+     * Registration of a single response, enqueued once its tracked wrapper becomes unreachable.
+     * Holds the response itself strongly, so it can be released after the wrapper is collected.
+     */
+    class Exchange extends WeakReference<TrackedReactiveHttpResponse> {
+        final String url;
+        final Throwable creationStack;
+        final long createdNanos = System.nanoTime();
+        private final ReactiveHttpResponse response;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Exchange(TrackedReactiveHttpResponse tracked, String url, ReactiveHttpResponse response,
+                 Throwable creationStack) {
+            super(tracked, collected);
+            this.url = url;
+            this.response = response;
+            this.creationStack = creationStack;
+        }
+
+        /**
+         * @return {@code true} if body may be subscribed, i.e. it was neither consumed nor released before
+         */
+        boolean consume() {
+            if (done.compareAndSet(false, true)) {
+                open.remove(this);
+                return true;
+            }
+            return false;
+        }
+
+        boolean release() {
+            if (consume()) {
+                releaseBody(response);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public static class Builder {
+        private boolean debug;
+        private Duration maxUnconsumedAge;
+        private Consumer<ResponseLeak> leakListener = leak -> logger.error(leak.toString(), leak.getCreationStack());
+
+        private Builder() {
+        }
+
+        /**
+         * Captures stack of the call that created each response, see {@link ResponseLeak#getCreationStack()}.
+         */
+        public Builder setDebug(boolean debug) {
+            this.debug = debug;
+            return this;
+        }
+
+        /**
+         * Responses not consumed within this time are released as leaked, by default only
+         * unreachable responses are.
+         */
+        public Builder setMaxUnconsumedAge(Duration maxUnconsumedAge) {
+            this.maxUnconsumedAge = maxUnconsumedAge;
+            return this;
+        }
+
+        /**
+         * Receives detected leaks, by default they are logged as errors with slf4j.
+         */
+        public Builder setLeakListener(Consumer<ResponseLeak> leakListener) {
+            this.leakListener = leakListener;
+            return this;
+        }
+
+        public ResponseTracker build() {
+            verifyParameterPresence("leakListener", leakListener);
+            if (maxUnconsumedAge != null && maxUnconsumedAge.isNegative()) {
+                throw new IllegalArgumentException("Max unconsumed age should not be negative.");
+            }
+            return new ResponseTracker(this);
+        }
+    }
+}
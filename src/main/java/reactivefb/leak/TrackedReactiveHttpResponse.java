@@ -0,0 +1,46 @@
+package reactivefb.leak;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response registered in {@link ResponseTracker}, marked consumed once its body is subscribed.
+ *
+ * @author Sergii Karpenko
+ */
+class TrackedReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final ReactiveHttpResponse response;
+    ResponseTracker.Exchange exchange;
+
+    TrackedReactiveHttpResponse(ReactiveHttpResponse response) {
+        super(response);
+        this.response = response;
+    }
+
+    /**
+     * Keeps {@link Mono} body a {@link Mono} as callers cast it to publisher type they requested.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Publisher<?> body() {
+        Publisher<Object> body = (Publisher<Object>) response.body();
+        if (body instanceof Mono) {
+            return Mono.defer(() -> exchange.consume() ? (Mono<Object>) body : this.<Object>alreadyConsumed());
+        }
+        return Flux.defer(() -> exchange.consume() ? body : this.<Object>alreadyConsumed());
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+        return Mono.defer(() -> exchange.consume() ? response.bodyData() : this.<byte[]>alreadyConsumed());
+    }
+
+    private <T> Mono<T> alreadyConsumed() {
+        return Mono.error(new IllegalStateException("Body of response to " + exchange.url
+                + " was already consumed or released"));
+    }
+}
@@ -0,0 +1,135 @@
+package reactivefb.pagination;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only key-value file shared by file backed stores.
+ * <p>
+ * Every change is appended as {@code key<TAB>value} line and flushed, latest line of key wins on load.
+ * Incomplete last line left by a crash is dropped.
+ * File is compacted to live entries once it grows {@code compactionFactor} times bigger than them.
+ *
+ * @author Sergii Karpenko
+ */
+class AppendOnlyLog implements Closeable {
+
+    static final String SEPARATOR = "\t";
+    private static final String REMOVED = "REMOVED" + SEPARATOR;
+    private static final int MIN_LINES_TO_COMPACT = 1000;
+
+    private final Path file;
+    private final int compactionFactor;
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+    private BufferedWriter writer;
+    private int lines;
+
+    AppendOnlyLog(Path file, int compactionFactor) throws IOException {
+        this.file = file;
+        this.compactionFactor = compactionFactor;
+        if (Files.exists(file)) {
+            readEntries();
+        }
+        this.writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND, WRITE);
+    }
+
+    String get(String key) {
+        return entries.get(key);
+    }
+
+    Map<String, String> entries() {
+        return entries;
+    }
+
+    synchronized void put(String key, String value) throws IOException {
+        validate(key, value);
+        append(key, value);
+        entries.put(key, value);
+    }
+
+    synchronized void remove(String key) throws IOException {
+        validate(key, "");
+        append(key, REMOVED);
+        entries.remove(key);
+    }
+
+    synchronized void compact() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compacted");
+        try (BufferedWriter compactedWriter = Files.newBufferedWriter(compacted, UTF_8, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                compactedWriter.write(entry.getKey() + SEPARATOR + entry.getValue() + "\n");
+            }
+        }
+        writer.close();
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND, WRITE);
+        lines = entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void append(String key, String value) throws IOException {
+        writer.write(key + SEPARATOR + value + "\n");
+        writer.flush();
+        lines++;
+        if (lines >= MIN_LINES_TO_COMPACT && lines > entries.size() * compactionFactor) {
+            compact();
+        }
+    }
+
+    private void readEntries() throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        int completeLength = content.length;
+        while (completeLength > 0 && content[completeLength - 1] != '\n') {
+            completeLength--;
+        }
+        if (completeLength < content.length) {
+            //drop incomplete line left by interrupted write, so next append starts on a new line
+            try (FileChannel channel = FileChannel.open(file, WRITE)) {
+                channel.truncate(completeLength);
+            }
+        }
+
+        for (String line : new String(content, 0, completeLength, UTF_8).split("\n")) {
+            int separator = line.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            String key = line.substring(0, separator);
+            String value = line.substring(separator + 1);
+            if (REMOVED.equals(value)) {
+                entries.remove(key);
+            } else {
+                entries.put(key, value);
+            }
+            lines++;
+        }
+    }
+
+    private static void validate(String key, String value) {
+        if (key.contains(SEPARATOR) || containsLineBreak(key) || containsLineBreak(value)) {
+            throw new IllegalArgumentException("Keys cannot contain tabs, keys and values cannot contain line breaks.");
+        }
+    }
+
+    private static boolean containsLineBreak(String value) {
+        return value.contains("\n") || value.contains("\r");
+    }
+}
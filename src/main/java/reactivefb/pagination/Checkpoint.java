@@ -0,0 +1,65 @@
+package reactivefb.pagination;
+
+import com.restfb.util.StringUtils;
+
+/**
+ * Position in connection to resume pagination from: {@code after} cursor of the last completed page
+ * or, for connections paged without cursors, url of the next page without access token.
+ *
+ * @author Sergii Karpenko
+ */
+public final class Checkpoint {
+
+    public enum Kind {
+        AFTER_CURSOR, PAGE_URL
+    }
+
+    private final Kind kind;
+    private final String value;
+
+    private Checkpoint(Kind kind, String value) {
+        if (StringUtils.isBlank(value)) {
+            throw new IllegalArgumentException("Checkpoint value cannot be blank.");
+        }
+        this.kind = kind;
+        this.value = value;
+    }
+
+    public static Checkpoint afterCursor(String cursor) {
+        return new Checkpoint(Kind.AFTER_CURSOR, cursor);
+    }
+
+    public static Checkpoint pageUrl(String url) {
+        return new Checkpoint(Kind.PAGE_URL, url);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Checkpoint)) {
+            return false;
+        }
+        Checkpoint that = (Checkpoint) o;
+        return kind == that.kind && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * kind.hashCode() + value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + value;
+    }
+}
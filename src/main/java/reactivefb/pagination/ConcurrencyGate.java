@@ -0,0 +1,111 @@
+package reactivefb.pagination;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits number of concurrently executing {@link Mono}s regardless of how they are nested.
+ * Waiting subscriptions are served in arrival order.
+ *
+ * @author Sergii Karpenko
+ */
+public class ConcurrencyGate {
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+
+    public ConcurrencyGate(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Permits should be positive.");
+        }
+        this.available = permits;
+    }
+
+    /**
+     * @return {@code source} that is subscribed only after permit is acquired and releases it on termination
+     */
+    public <T> Mono<T> limit(Mono<T> source) {
+        return Mono.<Permit>create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            if (acquire(waiter)) {
+                sink.success(waiter.permit);
+            }
+        }).flatMap(permit -> source.doFinally(signal -> permit.release()));
+    }
+
+    public synchronized int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return {@code true} if permit is granted right away, otherwise waiter is queued unless it is cancelled
+     */
+    private synchronized boolean acquire(Waiter waiter) {
+        if (waiter.cancelled) {
+            return false;
+        }
+        if (available > 0) {
+            available--;
+            waiter.granted = true;
+            return true;
+        }
+        waiters.addLast(waiter);
+        return false;
+    }
+
+    /**
+     * Dequeues waiter which is still waiting, releases permit only if it was granted.
+     */
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            waiter.cancelled = true;
+            if (!waiter.granted) {
+                waiters.remove(waiter);
+                return;
+            }
+        }
+        waiter.permit.release();
+    }
+
+    private void releaseOne() {
+        Waiter next;
+        synchronized (this) {
+            next = waiters.pollFirst();
+            if (next == null) {
+                available++;
+                return;
+            }
+            next.granted = true;
+        }
+        next.sink.success(next.permit);
+    }
+
+    private class Waiter {
+        final MonoSink<Permit> sink;
+        final Permit permit = new Permit();
+        /**
+         * Guarded by the gate.
+         */
+        boolean granted;
+        boolean cancelled;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseOne();
+            }
+        }
+    }
+}
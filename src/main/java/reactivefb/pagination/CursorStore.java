@@ -0,0 +1,27 @@
+package reactivefb.pagination;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Persists pagination checkpoints of logical streams, e.g. one per crawled connection,
+ * so that pagination can be resumed after restart.
+ *
+ * @author Sergii Karpenko
+ */
+public interface CursorStore {
+
+    /**
+     * @return last saved checkpoint of stream or empty if stream was never saved or was completed
+     */
+    Mono<Checkpoint> load(String streamId);
+
+    /**
+     * Saves checkpoint after page was completely processed.
+     */
+    Mono<Void> save(String streamId, Checkpoint checkpoint);
+
+    /**
+     * Forgets stream, e.g. after its last page was processed.
+     */
+    Mono<Void> remove(String streamId);
+}
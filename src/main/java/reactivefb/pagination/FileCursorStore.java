@@ -0,0 +1,88 @@
+package reactivefb.pagination;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static reactivefb.pagination.AppendOnlyLog.SEPARATOR;
+
+/**
+ * Append-only file backed {@link CursorStore}.
+ * <p>
+ * Every change is appended as {@code streamId<TAB>kind<TAB>value} line and flushed,
+ * latest line of stream wins on load. Incomplete last line left by a crash is dropped.
+ * File is compacted to live entries once it grows {@code compactionFactor} times bigger than them.
+ * Blocking file writes are executed on {@link Schedulers#elastic()}.
+ *
+ * @author Sergii Karpenko
+ */
+public class FileCursorStore implements CursorStore, Closeable {
+
+    private final AppendOnlyLog log;
+    private final Scheduler scheduler = Schedulers.elastic();
+
+    public FileCursorStore(Path file) throws IOException {
+        this(file, 10);
+    }
+
+    public FileCursorStore(Path file, int compactionFactor) throws IOException {
+        this.log = new AppendOnlyLog(file, compactionFactor);
+    }
+
+    @Override
+    public Mono<Checkpoint> load(String streamId) {
+        return Mono.justOrEmpty(log.get(streamId)).map(FileCursorStore::toCheckpoint);
+    }
+
+    @Override
+    public Mono<Void> save(String streamId, Checkpoint checkpoint) {
+        if (checkpoint.getValue().contains(SEPARATOR)) {
+            throw new IllegalArgumentException("Checkpoint cannot contain tabs.");
+        }
+        String value = checkpoint.getKind() + SEPARATOR + checkpoint.getValue();
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                log.put(streamId, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> remove(String streamId) {
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                log.remove(streamId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    /**
+     * Rewrites file leaving only the latest checkpoint of each stream.
+     */
+    public void compact() throws IOException {
+        log.compact();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private static Checkpoint toCheckpoint(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        Checkpoint.Kind kind = Checkpoint.Kind.valueOf(value.substring(0, separator));
+        String checkpoint = value.substring(separator + 1);
+        return kind == Checkpoint.Kind.AFTER_CURSOR
+                ? Checkpoint.afterCursor(checkpoint)
+                : Checkpoint.pageUrl(checkpoint);
+    }
+}
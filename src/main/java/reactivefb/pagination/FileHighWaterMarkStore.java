@@ -0,0 +1,67 @@
+package reactivefb.pagination;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static reactivefb.pagination.AppendOnlyLog.SEPARATOR;
+
+/**
+ * Append-only file backed {@link HighWaterMarkStore}, lines are {@code syncId<TAB>epochSecond<TAB>id,id}.
+ * Blocking file writes are executed on {@link Schedulers#elastic()}.
+ *
+ * @author Sergii Karpenko
+ */
+public class FileHighWaterMarkStore implements HighWaterMarkStore, Closeable {
+
+    private static final String ID_SEPARATOR = ",";
+
+    private final AppendOnlyLog log;
+    private final Scheduler scheduler = Schedulers.elastic();
+
+    public FileHighWaterMarkStore(Path file) throws IOException {
+        this.log = new AppendOnlyLog(file, 10);
+    }
+
+    @Override
+    public Mono<HighWaterMark> load(String syncId) {
+        return Mono.justOrEmpty(log.get(syncId)).map(FileHighWaterMarkStore::toHighWaterMark);
+    }
+
+    @Override
+    public Mono<Void> save(String syncId, HighWaterMark highWaterMark) {
+        for (String id : highWaterMark.getIdsAtSecond()) {
+            if (id.contains(ID_SEPARATOR) || id.contains(SEPARATOR)) {
+                throw new IllegalArgumentException("Id cannot contain commas or tabs: " + id);
+            }
+        }
+        String value = highWaterMark.getEpochSecond() + SEPARATOR
+                + String.join(ID_SEPARATOR, highWaterMark.getIdsAtSecond());
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                log.put(syncId, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private static HighWaterMark toHighWaterMark(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        String ids = value.substring(separator + 1);
+        return new HighWaterMark(Long.parseLong(value.substring(0, separator)),
+                ids.isEmpty() ? new HashSet<>() : new HashSet<>(Arrays.asList(ids.split(ID_SEPARATOR))));
+    }
+}
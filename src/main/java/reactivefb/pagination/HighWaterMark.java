@@ -0,0 +1,74 @@
+package reactivefb.pagination;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Newest item time (in epoch seconds) seen by {@link IncrementalSync} and ids of items seen at that second,
+ * as Graph API time granularity lets several items share it.
+ *
+ * @author Sergii Karpenko
+ */
+public final class HighWaterMark {
+
+    private final long epochSecond;
+    private final Set<String> idsAtSecond;
+
+    public HighWaterMark(long epochSecond, Set<String> idsAtSecond) {
+        this.epochSecond = epochSecond;
+        this.idsAtSecond = Collections.unmodifiableSet(new HashSet<>(idsAtSecond));
+    }
+
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    public Set<String> getIdsAtSecond() {
+        return idsAtSecond;
+    }
+
+    /**
+     * @return {@code true} if item with given time and id was emitted by one of previous syncs
+     */
+    public boolean isSeen(long second, String id) {
+        return second < epochSecond || second == epochSecond && idsAtSecond.contains(id);
+    }
+
+    /**
+     * @return mark moved forward to include item
+     */
+    public HighWaterMark advance(long second, String id) {
+        if (second < epochSecond) {
+            return this;
+        }
+        Set<String> ids = new HashSet<>();
+        if (second == epochSecond) {
+            ids.addAll(idsAtSecond);
+        }
+        ids.add(id);
+        return new HighWaterMark(second, ids);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HighWaterMark)) {
+            return false;
+        }
+        HighWaterMark that = (HighWaterMark) o;
+        return epochSecond == that.epochSecond && idsAtSecond.equals(that.idsAtSecond);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(epochSecond) + idsAtSecond.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return epochSecond + ":" + idsAtSecond;
+    }
+}
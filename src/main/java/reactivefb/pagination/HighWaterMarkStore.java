@@ -0,0 +1,18 @@
+package reactivefb.pagination;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Persists {@link HighWaterMark}s of {@link IncrementalSync} between runs.
+ *
+ * @author Sergii Karpenko
+ */
+public interface HighWaterMarkStore {
+
+    /**
+     * @return mark of sync or empty if it was never completed
+     */
+    Mono<HighWaterMark> load(String syncId);
+
+    Mono<Void> save(String syncId, HighWaterMark highWaterMark);
+}
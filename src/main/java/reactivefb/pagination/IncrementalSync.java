@@ -0,0 +1,216 @@
+package reactivefb.pagination;
+
+import com.restfb.Parameter;
+import reactivefb.ReactiveFacebookClient;
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static reactivefb.pagination.TimeSlicedBackfill.SINCE_PARAM_NAME;
+
+/**
+ * Fetches only items of object's edge that appeared since the previous sync.
+ * <p>
+ * Per object {@link HighWaterMark} (newest item time and ids seen at that second) is loaded from
+ * {@link HighWaterMarkStore}, the edge is queried with {@code since} bounded by it and pagination stops
+ * as soon as an item older than the mark is reached. Items are expected in reverse chronological order
+ * of the time returned by {@code timeExtractor}, e.g. {@code created_time} of a feed.
+ * Items without time can't be placed against the mark and are skipped.
+ * The mark is advanced and saved only after all delta items were delivered to subscriber.
+ *
+ * @author Sergii Karpenko
+ */
+public class IncrementalSync<T> {
+
+    private final ReactiveFacebookClient client;
+    private final String edge;
+    private final Class<T> connectionType;
+    private final Parameter[] parameters;
+    private final Function<T, Date> timeExtractor;
+    private final Function<T, String> idExtractor;
+    private final HighWaterMarkStore store;
+    private final Instant initialSince;
+    private final int concurrency;
+
+    private IncrementalSync(Builder<T> builder) {
+        this.client = builder.client;
+        this.edge = builder.edge;
+        this.connectionType = builder.connectionType;
+        this.parameters = builder.parameters;
+        this.timeExtractor = builder.timeExtractor;
+        this.idExtractor = builder.idExtractor;
+        this.store = builder.store;
+        this.initialSince = builder.initialSince;
+        this.concurrency = builder.concurrency;
+    }
+
+    /**
+     * @param edge edge to sync, e.g. {@code "feed"}
+     */
+    public static <T> Builder<T> builder(ReactiveFacebookClient client, String edge, Class<T> connectionType) {
+        return new Builder<>(client, edge, connectionType);
+    }
+
+    /**
+     * @return items of {@code objectId/edge} that were not emitted by previous syncs
+     */
+    public Flux<T> sync(String objectId) {
+        verifyParameterPresence("objectId", objectId);
+        String connection = objectId + "/" + edge;
+        return store.load(connection)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(previous -> sync(connection, previous.orElse(null)));
+    }
+
+    /**
+     * Syncs several objects concurrently.
+     */
+    public Flux<T> syncAll(Flux<String> objectIds) {
+        return objectIds.flatMap(this::sync, concurrency);
+    }
+
+    private Flux<T> sync(String connection, HighWaterMark previous) {
+        HighWaterMark initial = previous != null ? previous : new HighWaterMark(
+                initialSince != null ? initialSince.getEpochSecond() : Long.MIN_VALUE, Collections.emptySet());
+        AtomicReference<HighWaterMark> mark = new AtomicReference<>(initial);
+
+        return client.fetchConnection(connection, connectionType, withSince(initial))
+                .flatMapMany(page -> walk(page, initial))
+                .doOnNext(item -> mark.updateAndGet(
+                        current -> current.advance(secondOf(item), idExtractor.apply(item))))
+                .concatWith(Mono.defer(() -> mark.get().equals(initial)
+                        ? Mono.<Void>empty()
+                        : store.save(connection, mark.get())).then(Mono.<T>empty()));
+    }
+
+    private Flux<T> walk(Connection<T> page, HighWaterMark previous) {
+        List<T> data = page.getData() != null ? page.getData() : Collections.emptyList();
+        List<T> fresh = new ArrayList<>(data.size());
+        boolean reachedSeen = false;
+        for (T item : data) {
+            Long second = secondOf(item);
+            if (second == null) {
+                continue;
+            }
+            if (second < previous.getEpochSecond()) {
+                reachedSeen = true;
+                break;
+            } else if (!previous.isSeen(second, idExtractor.apply(item))) {
+                fresh.add(item);
+            }
+        }
+
+        if (reachedSeen || data.isEmpty() || page.getPaging() == null || page.getNextPageUrl() == null) {
+            return Flux.fromIterable(fresh);
+        }
+        return Flux.fromIterable(fresh)
+                .concatWith(client.fetchConnectionPage(page.getNextPageUrl(), connectionType)
+                        .flatMapMany(next -> walk(next, previous)));
+    }
+
+    private Parameter[] withSince(HighWaterMark mark) {
+        if (mark.getEpochSecond() == Long.MIN_VALUE) {
+            return parameters;
+        }
+        Parameter[] withSince = new Parameter[parameters.length + 1];
+        System.arraycopy(parameters, 0, withSince, 0, parameters.length);
+        withSince[parameters.length] = Parameter.with(SINCE_PARAM_NAME, mark.getEpochSecond());
+        return withSince;
+    }
+
+    private Long secondOf(T item) {
+        Date time = timeExtractor.apply(item);
+        return time != null ? time.getTime() / 1000 : null;
+    }
+
+    public static class Builder<T> {
+        private final ReactiveFacebookClient client;
+        private final String edge;
+        private final Class<T> connectionType;
+        private Parameter[] parameters = new Parameter[0];
+        private Function<T, Date> timeExtractor;
+        private Function<T, String> idExtractor;
+        private HighWaterMarkStore store;
+        private Instant initialSince;
+        private int concurrency = 4;
+
+        private Builder(ReactiveFacebookClient client, String edge, Class<T> connectionType) {
+            verifyParameterPresence("client", client);
+            verifyParameterPresence("edge", edge);
+            verifyParameterPresence("connectionType", connectionType);
+            this.client = client;
+            this.edge = edge;
+            this.connectionType = connectionType;
+        }
+
+        /**
+         * URL parameters added to every sync request, must not contain {@code since}.
+         */
+        public Builder<T> setParameters(Parameter... parameters) {
+            for (Parameter parameter : parameters) {
+                if (SINCE_PARAM_NAME.equals(parameter.name)) {
+                    throw new IllegalArgumentException("You cannot specify the '" + SINCE_PARAM_NAME
+                            + "' URL parameter yourself - it is populated from high-water mark.");
+                }
+            }
+            this.parameters = parameters;
+            return this;
+        }
+
+        /**
+         * Time tracked by high-water mark, {@code created_time} or {@code updated_time}.
+         * Items for which it returns {@code null} are never emitted.
+         */
+        public Builder<T> setTimeExtractor(Function<T, Date> timeExtractor) {
+            this.timeExtractor = timeExtractor;
+            return this;
+        }
+
+        public Builder<T> setIdExtractor(Function<T, String> idExtractor) {
+            this.idExtractor = idExtractor;
+            return this;
+        }
+
+        public Builder<T> setStore(HighWaterMarkStore store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * Lower bound of the first sync of object, by default the whole edge is fetched.
+         */
+        public Builder<T> setInitialSince(Instant initialSince) {
+            this.initialSince = initialSince;
+            return this;
+        }
+
+        /**
+         * Number of objects synced concurrently by {@link IncrementalSync#syncAll(Flux)}.
+         */
+        public Builder<T> setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public IncrementalSync<T> build() {
+            verifyParameterPresence("timeExtractor", timeExtractor);
+            verifyParameterPresence("idExtractor", idExtractor);
+            verifyParameterPresence("store", store);
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency should be positive.");
+            }
+            return new IncrementalSync<>(this);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package reactivefb.pagination;
+
+import com.restfb.Parameter;
+import reactivefb.ReactiveFacebookClient;
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Backfills Graph API connection over a time range splitting it into {@code since}/{@code until} windows
+ * that are walked concurrently.
+ * <p>
+ * Connection items are expected in reverse chronological order, as Graph API returns feeds.
+ * If a window still has more pages after {@code densePageThreshold} pages, the rest of it
+ * (from window start up to the oldest item seen) is subdivided and walked concurrently too.
+ * <p>
+ * Windows share boundary seconds, so items exactly on a boundary may be returned twice by Graph API,
+ * such items are de-duplicated by id. Total number of requests in flight is bounded by {@code parallelism}.
+ *
+ * @author Sergii Karpenko
+ */
+public class TimeSlicedBackfill<T> {
+
+    static final String SINCE_PARAM_NAME = "since";
+    static final String UNTIL_PARAM_NAME = "until";
+
+    private final ReactiveFacebookClient client;
+    private final String connection;
+    private final Class<T> connectionType;
+    private final Parameter[] parameters;
+    private final Function<T, Date> timeExtractor;
+    private final Function<T, String> idExtractor;
+    private final Instant since;
+    private final Instant until;
+    private final Duration window;
+    private final Duration minWindow;
+    private final int densePageThreshold;
+    private final int subdivisions;
+    private final int parallelism;
+    private final boolean ordered;
+
+    private TimeSlicedBackfill(Builder<T> builder) {
+        this.client = builder.client;
+        this.connection = builder.connection;
+        this.connectionType = builder.connectionType;
+        this.parameters = builder.parameters;
+        this.timeExtractor = builder.timeExtractor;
+        this.idExtractor = builder.idExtractor;
+        this.since = builder.since;
+        this.until = builder.until;
+        this.window = builder.window;
+        this.minWindow = builder.minWindow;
+        this.densePageThreshold = builder.densePageThreshold;
+        this.subdivisions = builder.subdivisions;
+        this.parallelism = builder.parallelism;
+        this.ordered = builder.ordered;
+    }
+
+    public static <T> Builder<T> builder(ReactiveFacebookClient client, String connection, Class<T> connectionType) {
+        return new Builder<>(client, connection, connectionType);
+    }
+
+    /**
+     * @return items of the whole range, newest windows first if ordered
+     */
+    public Flux<T> fetch() {
+        return Flux.defer(() -> {
+            Run run = new Run();
+            return run.fetchWindows(new Window(since.getEpochSecond(), until.getEpochSecond())
+                    .splitBy(window.getSeconds()));
+        });
+    }
+
+    /**
+     * State of a single backfill execution.
+     */
+    private class Run {
+        private final ConcurrencyGate gate = new ConcurrencyGate(parallelism);
+        private final Set<String> boundaryIds = ConcurrentHashMap.newKeySet();
+
+        Flux<T> fetchWindows(List<Window> windows) {
+            Flux<Window> source = Flux.fromIterable(windows);
+            return ordered
+                    ? source.flatMapSequential(this::fetchWindow, parallelism)
+                    : source.flatMap(this::fetchWindow, parallelism);
+        }
+
+        Flux<T> fetchWindow(Window window) {
+            return gate.limit(client.fetchConnection(connection, connectionType, window.withBounds(parameters)))
+                    .flatMapMany(page -> walk(window, page, 1));
+        }
+
+        Flux<T> walk(Window window, Connection<T> page, int pageNumber) {
+            List<T> data = page.getData() != null ? page.getData() : Collections.emptyList();
+            if (data.isEmpty() || page.getPaging() == null || page.getNextPageUrl() == null) {
+                return Flux.fromIterable(filter(window, data, null));
+            }
+
+            Long oldest = oldestSecond(data);
+            if (pageNumber >= densePageThreshold && oldest != null) {
+                Window rest = new Window(window.since, Math.min(oldest, window.until));
+                if (rest.length() >= 2 && rest.length() > minWindow.getSeconds()) {
+                    return Flux.fromIterable(filter(window, data, oldest))
+                            .concatWith(fetchWindows(rest.splitInto(subdivisions)));
+                }
+            }
+
+            return Flux.fromIterable(filter(window, data, null))
+                    .concatWith(gate.limit(client.fetchConnectionPage(page.getNextPageUrl(), connectionType))
+                            .flatMapMany(next -> walk(window, next, pageNumber + 1)));
+        }
+
+        private List<T> filter(Window window, List<T> data, Long splitSecond) {
+            List<T> filtered = new ArrayList<>(data.size());
+            for (T item : data) {
+                Long second = secondOf(item);
+                if (second != null && !window.contains(second)) {
+                    continue;
+                }
+                boolean onBoundary = second == null || window.isBoundary(second) || second.equals(splitSecond);
+                if (!onBoundary || boundaryIds.add(idExtractor.apply(item))) {
+                    filtered.add(item);
+                }
+            }
+            return filtered;
+        }
+
+        private Long oldestSecond(List<T> data) {
+            Long oldest = null;
+            for (T item : data) {
+                Long second = secondOf(item);
+                if (second != null && (oldest == null || second < oldest)) {
+                    oldest = second;
+                }
+            }
+            return oldest;
+        }
+
+        private Long secondOf(T item) {
+            Date time = timeExtractor.apply(item);
+            return time != null ? time.getTime() / 1000 : null;
+        }
+    }
+
+    /**
+     * Inclusive range of epoch seconds.
+     */
+    static class Window {
+        final long since;
+        final long until;
+
+        Window(long since, long until) {
+            this.since = since;
+            this.until = until;
+        }
+
+        long length() {
+            return until - since;
+        }
+
+        boolean contains(long second) {
+            return second >= since && second <= until;
+        }
+
+        boolean isBoundary(long second) {
+            return second == since || second == until;
+        }
+
+        /**
+         * @return windows of {@code length} seconds, newest first
+         */
+        List<Window> splitBy(long length) {
+            List<Window> windows = new ArrayList<>();
+            for (long end = until; end > since; end -= length) {
+                windows.add(new Window(Math.max(since, end - length), end));
+            }
+            if (windows.isEmpty()) {
+                windows.add(this);
+            }
+            return windows;
+        }
+
+        /**
+         * @return {@code parts} adjacent windows, newest first
+         */
+        List<Window> splitInto(int parts) {
+            return splitBy(Math.max(1, (length() + parts - 1) / parts));
+        }
+
+        Parameter[] withBounds(Parameter[] parameters) {
+            Parameter[] withBounds = new Parameter[parameters.length + 2];
+            System.arraycopy(parameters, 0, withBounds, 0, parameters.length);
+            withBounds[parameters.length] = Parameter.with(SINCE_PARAM_NAME, since);
+            withBounds[parameters.length + 1] = Parameter.with(UNTIL_PARAM_NAME, until);
+            return withBounds;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + since + ", " + until + "]";
+        }
+    }
+
+    public static class Builder<T> {
+        private final ReactiveFacebookClient client;
+        private final String connection;
+        private final Class<T> connectionType;
+        private Parameter[] parameters = new Parameter[0];
+        private Function<T, Date> timeExtractor;
+        private Function<T, String> idExtractor;
+        private Instant since;
+        private Instant until;
+        private Duration window = Duration.ofDays(30);
+        private Duration minWindow = Duration.ofMinutes(1);
+        private int densePageThreshold = 10;
+        private int subdivisions = 4;
+        private int parallelism = 4;
+        private boolean ordered = true;
+
+        private Builder(ReactiveFacebookClient client, String connection, Class<T> connectionType) {
+            verifyParameterPresence("client", client);
+            verifyParameterPresence("connection", connection);
+            verifyParameterPresence("connectionType", connectionType);
+            this.client = client;
+            this.connection = connection;
+            this.connectionType = connectionType;
+        }
+
+        /**
+         * URL parameters added to every window request, must not contain {@code since} or {@code until}.
+         */
+        public Builder<T> setParameters(Parameter... parameters) {
+            for (Parameter parameter : parameters) {
+                if (SINCE_PARAM_NAME.equals(parameter.name) || UNTIL_PARAM_NAME.equals(parameter.name)) {
+                    throw new IllegalArgumentException("You cannot specify the '" + parameter.name
+                            + "' URL parameter yourself - it is populated from backfill range.");
+                }
+            }
+            this.parameters = parameters;
+            return this;
+        }
+
+        /**
+         * Time used to place item into window, usually {@code created_time}.
+         */
+        public Builder<T> setTimeExtractor(Function<T, Date> timeExtractor) {
+            this.timeExtractor = timeExtractor;
+            return this;
+        }
+
+        public Builder<T> setIdExtractor(Function<T, String> idExtractor) {
+            this.idExtractor = idExtractor;
+            return this;
+        }
+
+        public Builder<T> setRange(Instant since, Instant until) {
+            this.since = since;
+            this.until = until;
+            return this;
+        }
+
+        /**
+         * Initial length of windows the range is split into.
+         */
+        public Builder<T> setWindow(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Windows shorter than this are never subdivided.
+         */
+        public Builder<T> setMinWindow(Duration minWindow) {
+            this.minWindow = minWindow;
+            return this;
+        }
+
+        /**
+         * Number of pages walked serially in a window before the rest of it is subdivided.
+         */
+        public Builder<T> setDensePageThreshold(int densePageThreshold) {
+            this.densePageThreshold = densePageThreshold;
+            return this;
+        }
+
+        public Builder<T> setSubdivisions(int subdivisions) {
+            this.subdivisions = subdivisions;
+            return this;
+        }
+
+        /**
+         * Maximum number of requests in flight.
+         */
+        public Builder<T> setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * If {@code true} items are emitted newest window first, otherwise as soon as they are fetched.
+         */
+        public Builder<T> setOrdered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        public TimeSlicedBackfill<T> build() {
+            verifyParameterPresence("timeExtractor", timeExtractor);
+            verifyParameterPresence("idExtractor", idExtractor);
+            verifyParameterPresence("since", since);
+            verifyParameterPresence("until", until);
+            if (!since.isBefore(until)) {
+                throw new IllegalArgumentException("Range start should be before its end.");
+            }
+            if (window.getSeconds() < 1 || densePageThreshold < 1 || subdivisions < 2 || parallelism < 1) {
+                throw new IllegalArgumentException("Window should be at least a second, dense page threshold " +
+                        "and parallelism should be positive, subdivisions should be at least 2.");
+            }
+            return new TimeSlicedBackfill<>(this);
+        }
+    }
+}
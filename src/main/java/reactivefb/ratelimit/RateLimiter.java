@@ -0,0 +1,19 @@
+package reactivefb.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Budget of Graph API calls shared by operations of the client.
+ *
+ * @author Sergii Karpenko
+ */
+public interface RateLimiter {
+
+    RateLimiter UNLIMITED = permits -> Mono.empty();
+
+    /**
+     * @param permits number of Graph API calls about to be made, each item of batch request counts as a call
+     * @return completes when calls may be made
+     */
+    Mono<Void> acquire(int permits);
+}
@@ -0,0 +1,52 @@
+package reactivefb.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Token bucket allowing {@code permits} calls per {@code period} with bursts up to {@code permits}.
+ * Permits are reserved immediately, callers that exceed the budget are delayed without blocking threads
+ * until their reservation is covered.
+ *
+ * @author Sergii Karpenko
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final double capacity;
+    private final double permitsPerNano;
+
+    private double available;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(int permits, Duration period) {
+        if (permits <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Permits and period should be positive.");
+        }
+        this.capacity = permits;
+        this.permitsPerNano = permits / (double) period.toNanos();
+        this.available = permits;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    @Override
+    public Mono<Void> acquire(int permits) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(permits);
+            return waitNanos > 0
+                    ? Mono.delay(Duration.ofNanos(waitNanos)).then()
+                    : Mono.empty();
+        });
+    }
+
+    /**
+     * @return nanoseconds to wait before reserved permits are covered
+     */
+    synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        available -= permits;
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+}
@@ -0,0 +1,107 @@
+package reactivefb.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit usage reported by Graph API in {@code X-App-Usage}, {@code X-Page-Usage},
+ * {@code X-Ad-Account-Usage} and {@code X-Business-Use-Case-Usage} response headers.
+ *
+ * @author Sergii Karpenko
+ */
+public final class UsageHeaders {
+
+    public static final String APP_USAGE = "X-App-Usage";
+    public static final String PAGE_USAGE = "X-Page-Usage";
+    public static final String AD_ACCOUNT_USAGE = "X-Ad-Account-Usage";
+    public static final String BUSINESS_USE_CASE_USAGE = "X-Business-Use-Case-Usage";
+
+    public static final UsageHeaders NONE = new UsageHeaders(0, 0);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int usagePercent;
+    private final int minutesToRegainAccess;
+
+    private UsageHeaders(int usagePercent, int minutesToRegainAccess) {
+        this.usagePercent = usagePercent;
+        this.minutesToRegainAccess = minutesToRegainAccess;
+    }
+
+    /**
+     * @return usage of the most loaded limit reported in {@code headers}
+     */
+    public static UsageHeaders parse(Map<String, List<String>> headers) {
+        int usage = 0;
+        int regainMinutes = 0;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name == null) {
+                continue;
+            }
+            boolean businessUseCase = BUSINESS_USE_CASE_USAGE.equalsIgnoreCase(name);
+            if (!businessUseCase && !APP_USAGE.equalsIgnoreCase(name) && !PAGE_USAGE.equalsIgnoreCase(name)
+                    && !AD_ACCOUNT_USAGE.equalsIgnoreCase(name)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                JsonNode usageNode = readTree(value);
+                if (usageNode == null) {
+                    continue;
+                }
+                if (businessUseCase) {
+                    for (JsonNode useCases : usageNode) {
+                        for (JsonNode useCase : useCases) {
+                            usage = Math.max(usage, usageOf(useCase));
+                            regainMinutes = Math.max(regainMinutes,
+                                    useCase.path("estimated_time_to_regain_access").asInt());
+                        }
+                    }
+                } else {
+                    usage = Math.max(usage, usageOf(usageNode));
+                }
+            }
+        }
+        return usage == 0 && regainMinutes == 0 ? NONE : new UsageHeaders(usage, regainMinutes);
+    }
+
+    /**
+     * @return the highest of call count, CPU time and total time percentages
+     */
+    public int getUsagePercent() {
+        return usagePercent;
+    }
+
+    /**
+     * @return minutes until throttled business use case is allowed again, {@code 0} if it isn't throttled
+     */
+    public int getMinutesToRegainAccess() {
+        return minutesToRegainAccess;
+    }
+
+    public boolean isThrottled() {
+        return usagePercent >= 100 || minutesToRegainAccess > 0;
+    }
+
+    private static int usageOf(JsonNode usage) {
+        return Math.max(usage.path("call_count").asInt(),
+                Math.max(usage.path("total_cputime").asInt(), usage.path("total_time").asInt()));
+    }
+
+    private static JsonNode readTree(String value) {
+        try {
+            return OBJECT_MAPPER.readTree(value);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UsageHeaders{" + usagePercent + "%, regain in " + minutesToRegainAccess + " min}";
+    }
+}
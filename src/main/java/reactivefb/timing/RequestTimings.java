@@ -0,0 +1,157 @@
+package reactivefb.timing;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Timestamps of phases of a single Graph API exchange, captured from Jetty request and response listeners.
+ * <p>
+ * Each mark keeps its first occurrence. Phases are:
+ * <ul>
+ * <li>{@link Phase#QUEUEING} - waiting for a connection, includes DNS lookup, TCP connect and TLS handshake
+ * when a new connection has to be opened</li>
+ * <li>{@link Phase#SENDING} - writing request headers and content</li>
+ * <li>{@link Phase#WAITING} - time to first byte of response</li>
+ * <li>{@link Phase#RECEIVING} - reading response until its last byte</li>
+ * <li>{@link Phase#DECODING} - decoding left after last byte, body is decoded while it is received</li>
+ * </ul>
+ *
+ * @author Sergii Karpenko
+ */
+public final class RequestTimings {
+
+    private static final Object CAPTURE_KEY = new Object();
+    private static final Object REQUESTED_KEY = new Object();
+
+    public enum Phase {
+        QUEUEING, SENDING, WAITING, RECEIVING, DECODING
+    }
+
+    private static final int BEGUN = 1;
+    private static final int SENT = 2;
+    private static final int RESPONSE_BEGUN = 3;
+    private static final int RECEIVED = 4;
+    private static final int COMPLETED = 5;
+
+    private final String url;
+    private final AtomicLongArray marks = new AtomicLongArray(COMPLETED + 1);
+    private volatile int status;
+
+    public RequestTimings(String url) {
+        this.url = url;
+        marks.set(0, System.nanoTime());
+    }
+
+    /**
+     * Context modification asking client to attach timings to results which carry them,
+     * such as {@link reactivefb.json.types.Connection#getTimings()}.
+     */
+    public static Function<Context, Context> requested() {
+        return context -> context.put(REQUESTED_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * @return {@code true} if timings were asked for with {@link #requested()}
+     */
+    public static boolean isRequested(Context context) {
+        return context.hasKey(REQUESTED_KEY);
+    }
+
+    /**
+     * Context modification making timings of request executed within the context available in {@code holder}
+     * once its response is completely decoded.
+     */
+    public static Function<Context, Context> captureInto(AtomicReference<RequestTimings> holder) {
+        return context -> context.put(CAPTURE_KEY, holder);
+    }
+
+    /**
+     * @return holder requested by {@link #captureInto} or {@code null}
+     */
+    public static AtomicReference<RequestTimings> captureOf(Context context) {
+        return context.getOrDefault(CAPTURE_KEY, null);
+    }
+
+    public void requestBegun() {
+        mark(BEGUN);
+    }
+
+    public void requestSent() {
+        mark(SENT);
+    }
+
+    public void responseBegun(int status) {
+        this.status = status;
+        mark(RESPONSE_BEGUN);
+    }
+
+    public void responseReceived() {
+        mark(RECEIVED);
+    }
+
+    public void completed() {
+        mark(COMPLETED);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return response status or {@code 0} if response has not begun
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isCompleted() {
+        return marks.get(COMPLETED) != 0;
+    }
+
+    /**
+     * @return duration of phase or {@code null} if it has not ended
+     */
+    public Duration get(Phase phase) {
+        long start = marks.get(phase.ordinal());
+        long end = marks.get(phase.ordinal() + 1);
+        if (start == 0 || end == 0) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0, end - start));
+    }
+
+    /**
+     * @return time from request creation until the latest reached phase
+     */
+    public Duration getTotal() {
+        for (int i = COMPLETED; i > 0; i--) {
+            long end = marks.get(i);
+            if (end != 0) {
+                return Duration.ofNanos(Math.max(0, end - marks.get(0)));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    private void mark(int index) {
+        marks.compareAndSet(index, 0, System.nanoTime());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RequestTimings{url=").append(url)
+                .append(", status=").append(status)
+                .append(", total=").append(TimeUnit.NANOSECONDS.toMillis(getTotal().toNanos())).append(" ms");
+        for (Phase phase : Phase.values()) {
+            Duration duration = get(phase);
+            builder.append(", ").append(phase.name().toLowerCase()).append('=')
+                    .append(duration != null ? duration.toMillis() + " ms" : "-");
+        }
+        return builder.append('}').toString();
+    }
+}
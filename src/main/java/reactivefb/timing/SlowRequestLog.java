@@ -0,0 +1,132 @@
+package reactivefb.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Reports timings of requests which took longer than configured thresholds, as a whole or in one of phases.
+ * <p>
+ * Only {@code sampleRate} fraction of slow requests is reported, so that a burst of them
+ * doesn't flood the log.
+ *
+ * @author Sergii Karpenko
+ */
+public class SlowRequestLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestLog.class);
+
+    private final long thresholdNanos;
+    private final Map<RequestTimings.Phase, Long> phaseThresholdNanos;
+    private final double sampleRate;
+    private final Consumer<RequestTimings> listener;
+    private final AtomicLong slow = new AtomicLong();
+
+    private SlowRequestLog(Builder builder) {
+        this.thresholdNanos = builder.threshold != null ? builder.threshold.toNanos() : Long.MAX_VALUE;
+        this.phaseThresholdNanos = new EnumMap<>(RequestTimings.Phase.class);
+        builder.phaseThresholds.forEach((phase, threshold) -> phaseThresholdNanos.put(phase, threshold.toNanos()));
+        this.sampleRate = builder.sampleRate;
+        this.listener = builder.listener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reports timings of completed request if it is slow and sampled.
+     */
+    public void record(RequestTimings timings) {
+        if (!isSlow(timings)) {
+            return;
+        }
+        slow.incrementAndGet();
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            listener.accept(timings);
+        }
+    }
+
+    /**
+     * @return number of slow requests seen, including not sampled ones
+     */
+    public long getSlow() {
+        return slow.get();
+    }
+
+    boolean isSlow(RequestTimings timings) {
+        if (timings.getTotal().toNanos() > thresholdNanos) {
+            return true;
+        }
+        for (Map.Entry<RequestTimings.Phase, Long> threshold : phaseThresholdNanos.entrySet()) {
+            Duration duration = timings.get(threshold.getKey());
+            if (duration != null && duration.toNanos() > threshold.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Builder {
+        private Duration threshold;
+        private final Map<RequestTimings.Phase, Duration> phaseThresholds = new EnumMap<>(RequestTimings.Phase.class);
+        private double sampleRate = 1;
+        private Consumer<RequestTimings> listener = timings -> logger.warn("Slow request: {}", timings);
+
+        private Builder() {
+        }
+
+        /**
+         * Requests taking longer than this in total are slow.
+         */
+        public Builder setThreshold(Duration threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Requests which {@code phase} takes longer than this are slow.
+         */
+        public Builder setThreshold(RequestTimings.Phase phase, Duration threshold) {
+            verifyParameterPresence("phase", phase);
+            verifyParameterPresence("threshold", threshold);
+            phaseThresholds.put(phase, threshold);
+            return this;
+        }
+
+        /**
+         * Fraction of slow requests reported, from {@code 0} to {@code 1}.
+         */
+        public Builder setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Receives timings of slow requests, by default they are logged as warnings with slf4j.
+         */
+        public Builder setListener(Consumer<RequestTimings> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public SlowRequestLog build() {
+            verifyParameterPresence("listener", listener);
+            if (threshold == null && phaseThresholds.isEmpty()) {
+                throw new IllegalArgumentException("At least one threshold is required.");
+            }
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Sample rate should be between 0 and 1.");
+            }
+            return new SlowRequestLog(this);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package reactivefb.token;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restfb.Parameter;
+import reactivefb.ReactiveFacebookClient;
+import reactivefb.ReactiveWebRequestor;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.restfb.FacebookClient.AccessToken;
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Keeps access token valid for clients sharing it.
+ * <p>
+ * Expiry of every token is looked up once via {@code debug_token} and cached. Token is refreshed
+ * {@code refreshAhead} before it expires, by background loop started with {@link #start()} or on demand
+ * when it is requested too late. Only one refresh is in flight at a time, everyone requesting token meanwhile
+ * waits for it. Refreshed token is swapped atomically, clients built with
+ * {@link reactivefb.DefaultReactiveFacebookClient.Builder#setAccessTokenManager} put it into every request.
+ * <p>
+ * {@code client} used for lookups and refreshes must not itself be built with this manager.
+ *
+ * @author Sergii Karpenko
+ */
+public class AccessTokenManager {
+
+    static final String DEBUG_TOKEN_ENDPOINT = "debug_token";
+
+    /**
+     * Delay of refresh of token that never expires, long enough to never elapse yet safe to be scheduled.
+     */
+    private static final Duration NEVER = Duration.ofDays(365 * 100);
+
+    private final ReactiveFacebookClient client;
+    private final String appSecret;
+    private final Function<String, Mono<String>> refresher;
+    private final Duration refreshAhead;
+    private final Duration retryDelay;
+    private final Clock clock;
+    private final Scheduler scheduler;
+
+    private final Map<String, Mono<Instant>> expiries = new ConcurrentHashMap<>();
+    private volatile String accessToken;
+    private volatile Instant retryAfter = Instant.MIN;
+    private Mono<String> refresh;
+
+    private AccessTokenManager(Builder builder) {
+        this.client = builder.client;
+        this.appSecret = builder.appSecret;
+        this.refresher = builder.refresher != null
+                ? builder.refresher
+                : token -> client.obtainExtendedAccessToken(builder.appId, builder.appSecret, token)
+                        .map(AccessToken::getAccessToken);
+        this.refreshAhead = builder.refreshAhead;
+        this.retryDelay = builder.retryDelay;
+        this.clock = builder.clock;
+        this.scheduler = builder.scheduler;
+        this.accessToken = builder.accessToken;
+    }
+
+    /**
+     * @param client client used to look up and refresh tokens
+     * @param appId application the token belongs to
+     * @param appSecret secret of the application, also used for {@code appsecret_proof} of swapped tokens
+     */
+    public static Builder builder(ReactiveFacebookClient client, String appId, String appSecret) {
+        return new Builder(client, appId, appSecret);
+    }
+
+    /**
+     * @return valid token, waits for refresh if token is due or refresh is in flight
+     */
+    public Mono<String> getAccessToken() {
+        return Mono.defer(() -> {
+            Mono<String> inFlight = currentRefresh();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            String token = accessToken;
+            return expiryOf(token).flatMap(expiry -> isDue(expiry) ? refresh() : Mono.just(token));
+        });
+    }
+
+    /**
+     * @return token as it is right now without waiting
+     */
+    public String peekAccessToken() {
+        return accessToken;
+    }
+
+    /**
+     * Refreshes token now, joining refresh already in flight.
+     * Refreshed token is accepted only if it expires later than the current one, otherwise current token is kept
+     * and it is not refreshed again for {@code retryDelay}.
+     */
+    public synchronized Mono<String> refresh() {
+        if (refresh == null) {
+            String current = accessToken;
+            refresh = refresher.apply(current)
+                    .switchIfEmpty(Mono.error(new IllegalStateException("Refresh returned no access token")))
+                    .flatMap(refreshed -> expiresLater(refreshed, current)
+                            .map(later -> {
+                                if (!later) {
+                                    retryAfter = clock.instant().plus(retryDelay);
+                                    return current;
+                                }
+                                accessToken = refreshed;
+                                expiries.remove(current);
+                                return refreshed;
+                            }))
+                    .doFinally(signal -> clearRefresh())
+                    .cache();
+        }
+        return refresh;
+    }
+
+    /**
+     * Starts background refresh loop, which keeps refreshing token {@code refreshAhead} before it expires
+     * and retries failed refreshes after {@code retryDelay}.
+     *
+     * @return disposable stopping the loop
+     */
+    public Disposable start() {
+        return Mono.defer(() -> expiryOf(accessToken))
+                .flatMap(expiry -> Mono.delay(untilDue(expiry), scheduler))
+                .then(Mono.defer(this::refresh))
+                .onErrorResume(error -> Mono.delay(retryDelay, scheduler).then(Mono.empty()))
+                .repeat()
+                .subscribe();
+    }
+
+    /**
+     * @return requestor putting current token into every request of {@code delegate}
+     */
+    public ReactiveWebRequestor decorate(ReactiveWebRequestor delegate) {
+        return new TokenAwareWebRequestor(delegate, this, appSecret);
+    }
+
+    /**
+     * @return cached expiry of token, {@link Instant#MAX} if token never expires
+     */
+    Mono<Instant> expiryOf(String token) {
+        return expiries.computeIfAbsent(token, key -> client.fetchObject(DEBUG_TOKEN_ENDPOINT, JsonNode.class,
+                Parameter.with("input_token", key))
+                .map(debugInfo -> {
+                    long expiresAt = debugInfo.path("data").path("expires_at").asLong();
+                    return expiresAt > 0 ? Instant.ofEpochSecond(expiresAt) : Instant.MAX;
+                })
+                .doOnError(error -> expiries.remove(key))
+                .cache());
+    }
+
+    private Mono<Boolean> expiresLater(String refreshed, String current) {
+        if (refreshed.equals(current)) {
+            return Mono.just(false);
+        }
+        return Mono.zip(expiryOf(refreshed), expiryOf(current), Instant::isAfter);
+    }
+
+    private boolean isDue(Instant expiry) {
+        return untilDue(expiry).isZero();
+    }
+
+    /**
+     * @return time left until token should be refreshed, at least until {@code retryDelay} after refresh
+     * which didn't extend it
+     */
+    private Duration untilDue(Instant expiry) {
+        if (expiry.equals(Instant.MAX)) {
+            return NEVER;
+        }
+        Instant now = clock.instant();
+        Instant due = expiry.minus(refreshAhead);
+        if (due.isBefore(retryAfter)) {
+            due = retryAfter;
+        }
+        return due.isAfter(now) ? Duration.between(now, due) : Duration.ZERO;
+    }
+
+    private synchronized Mono<String> currentRefresh() {
+        return refresh;
+    }
+
+    private synchronized void clearRefresh() {
+        refresh = null;
+    }
+
+    public static class Builder {
+        private final ReactiveFacebookClient client;
+        private final String appId;
+        private final String appSecret;
+        private String accessToken;
+        private Function<String, Mono<String>> refresher;
+        private Duration refreshAhead = Duration.ofDays(1);
+        private Duration retryDelay = Duration.ofMinutes(1);
+        private Clock clock = Clock.systemUTC();
+        private Scheduler scheduler = Schedulers.parallel();
+
+        private Builder(ReactiveFacebookClient client, String appId, String appSecret) {
+            verifyParameterPresence("client", client);
+            verifyParameterPresence("appId", appId);
+            verifyParameterPresence("appSecret", appSecret);
+            this.client = client;
+            this.appId = appId;
+            this.appSecret = appSecret;
+        }
+
+        public Builder setAccessToken(String accessToken) {
+            this.accessToken = accessToken;
+            return this;
+        }
+
+        /**
+         * Obtains new token for the current one, by default exchanges it for extended token.
+         */
+        public Builder setRefresher(Function<String, Mono<String>> refresher) {
+            this.refresher = refresher;
+            return this;
+        }
+
+        /**
+         * How long before expiry token is refreshed.
+         */
+        public Builder setRefreshAhead(Duration refreshAhead) {
+            this.refreshAhead = refreshAhead;
+            return this;
+        }
+
+        /**
+         * Delay before background loop retries failed refresh.
+         */
+        public Builder setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        public Builder setClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder setScheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public AccessTokenManager build() {
+            verifyParameterPresence("accessToken", accessToken);
+            if (refreshAhead.isNegative() || retryDelay.isNegative()) {
+                throw new IllegalArgumentException("Refresh ahead and retry delay should not be negative.");
+            }
+            return new AccessTokenManager(this);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package reactivefb.token;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactivefb.BinaryAttachment;
+import reactivefb.ReactiveWebRequestor;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import static com.restfb.util.EncodingUtils.encodeAppSecretProof;
+import static com.restfb.util.UrlUtils.urlEncode;
+import static reactivefb.Parameters.ACCESS_TOKEN_PARAM_NAME;
+import static reactivefb.Parameters.APP_SECRET_PROOF_PARAM_NAME;
+
+/**
+ * Waits for valid token of {@link AccessTokenManager} and puts it with its {@code appsecret_proof}
+ * into every request just before it is sent.
+ *
+ * @author Sergii Karpenko
+ */
+class TokenAwareWebRequestor implements ReactiveWebRequestor {
+
+    private final ReactiveWebRequestor delegate;
+    private final AccessTokenManager tokenManager;
+    private final String appSecret;
+
+    TokenAwareWebRequestor(ReactiveWebRequestor delegate, AccessTokenManager tokenManager, String appSecret) {
+        this.delegate = delegate;
+        this.tokenManager = tokenManager;
+        this.appSecret = appSecret;
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeGet(String url, Class responseBodyType, ObjectReader objectReader) {
+        return tokenManager.getAccessToken()
+                .flatMap(token -> delegate.executeGet(withToken(url, token), responseBodyType, objectReader));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeGetRaw(String url) {
+        return tokenManager.getAccessToken()
+                .flatMap(token -> delegate.executeGetRaw(withToken(url, token)));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeDelete(String url, Class responseBodyType) {
+        return tokenManager.getAccessToken()
+                .flatMap(token -> delegate.executeDelete(withToken(url, token), responseBodyType));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executePost(String url, Class responsePublisherType, Class responseBodyType,
+                                                  String parameters) {
+        return tokenManager.getAccessToken()
+                .flatMap(token -> delegate.executePost(url, responsePublisherType, responseBodyType,
+                        parametersWithToken(parameters, token)));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executePostWithAttachments(String url, Class responsePublisherType,
+                                                                 Class responseBodyType, String parameters,
+                                                                 BinaryAttachment... binaryAttachments) {
+        return tokenManager.getAccessToken()
+                .flatMap(token -> delegate.executePostWithAttachments(url, responsePublisherType, responseBodyType,
+                        parametersWithToken(parameters, token), binaryAttachments));
+    }
+
+    String withToken(String url, String token) {
+        return withToken(url, token, appSecret);
+    }
+
+    String parametersWithToken(String parameters, String token) {
+        return parametersWithToken(parameters, token, appSecret);
+    }
+
+    /**
+     * @param url full url, with or without query
+     * @param appSecret secret to sign token with, no {@code appsecret_proof} is added if {@code null}
+     */
+    static String withToken(String url, String token, String appSecret) {
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return url + '?' + parametersWithToken("", token, appSecret);
+        }
+        return url.substring(0, queryStart + 1)
+                + parametersWithToken(url.substring(queryStart + 1), token, appSecret);
+    }
+
+    /**
+     * @param parameters bare parameter string of {@code POST} body
+     * @param appSecret secret to sign token with, no {@code appsecret_proof} is added if {@code null}
+     */
+    static String parametersWithToken(String parameters, String token, String appSecret) {
+        StringBuilder result = new StringBuilder(parameters.length() + token.length() + 100);
+        for (String parameter : parameters.split("&")) {
+            if (!parameter.isEmpty()
+                    && !parameter.startsWith(ACCESS_TOKEN_PARAM_NAME + "=")
+                    && !parameter.startsWith(APP_SECRET_PROOF_PARAM_NAME + "=")) {
+                result.append(parameter).append('&');
+            }
+        }
+        result.append(ACCESS_TOKEN_PARAM_NAME).append('=').append(urlEncode(token));
+        if (appSecret != null) {
+            result.append('&').append(APP_SECRET_PROOF_PARAM_NAME).append('=')
+                    .append(encodeAppSecretProof(appSecret, token));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,236 @@
+package reactivefb.token;
+
+import reactivefb.ReactiveWebRequestor;
+import reactivefb.ratelimit.UsageHeaders;
+import reactivefeign.client.ReactiveHttpResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Set of interchangeable access tokens requests are spread over.
+ * <p>
+ * Every request picks the token with the lowest load, which is its latest reported usage percent plus requests
+ * in flight. Usage is taken from rate limit headers of responses, reports older than {@code usageTtl}
+ * are ignored. Token is quarantined once its usage reaches 100%, a request fails with a rate limit error or
+ * business use case reports time to regain access, and it is not picked until the quarantine is over.
+ * If all tokens are quarantined requests wait for the earliest one to recover.
+ *
+ * @author Sergii Karpenko
+ */
+public class TokenPool {
+
+    private final List<PooledToken> tokens;
+    private final String appSecret;
+    private final Duration quarantine;
+    private final Duration usageTtl;
+    private final Clock clock;
+
+    private TokenPool(Builder builder) {
+        List<PooledToken> tokens = new ArrayList<>(builder.tokens.size());
+        for (String token : builder.tokens) {
+            tokens.add(new PooledToken(token));
+        }
+        this.tokens = Collections.unmodifiableList(tokens);
+        this.appSecret = builder.appSecret;
+        this.quarantine = builder.quarantine;
+        this.usageTtl = builder.usageTtl;
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return requestor sending every request of {@code delegate} with token picked from the pool
+     */
+    public ReactiveWebRequestor decorate(ReactiveWebRequestor delegate) {
+        return new TokenPoolWebRequestor(delegate, this, appSecret);
+    }
+
+    public List<PooledToken> getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Picks the least loaded available token and counts request in flight on it.
+     *
+     * @return picked token or {@code null} if all tokens are quarantined
+     */
+    synchronized PooledToken acquire() {
+        Instant now = clock.instant();
+        PooledToken best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (PooledToken token : tokens) {
+            if (token.isQuarantined(now)) {
+                continue;
+            }
+            int load = token.load(now, usageTtl);
+            if (load < bestLoad) {
+                best = token;
+                bestLoad = load;
+            }
+        }
+        if (best != null) {
+            best.inFlight.incrementAndGet();
+        }
+        return best;
+    }
+
+    /**
+     * @return time until the earliest quarantined token recovers
+     */
+    synchronized Duration untilAvailable() {
+        Instant now = clock.instant();
+        Instant earliest = null;
+        for (PooledToken token : tokens) {
+            if (earliest == null || token.quarantinedUntil.isBefore(earliest)) {
+                earliest = token.quarantinedUntil;
+            }
+        }
+        Duration wait = earliest != null ? Duration.between(now, earliest) : Duration.ZERO;
+        return wait.isNegative() ? Duration.ZERO : wait;
+    }
+
+    void release(PooledToken token) {
+        token.inFlight.decrementAndGet();
+    }
+
+    void onResponse(PooledToken token, ReactiveHttpResponse response) {
+        UsageHeaders usage = UsageHeaders.parse(response.headers());
+        Instant now = clock.instant();
+        synchronized (this) {
+            if (usage != UsageHeaders.NONE) {
+                token.usagePercent = usage.getUsagePercent();
+                token.usageReportedAt = now;
+            }
+            if (usage.isThrottled()) {
+                Duration regain = Duration.ofMinutes(usage.getMinutesToRegainAccess());
+                token.quarantine(now.plus(regain.compareTo(quarantine) > 0 ? regain : quarantine));
+            }
+        }
+    }
+
+    synchronized void onRateLimited(PooledToken token) {
+        token.quarantine(clock.instant().plus(quarantine));
+    }
+
+    /**
+     * Token of the pool with its load.
+     */
+    public static class PooledToken {
+        private final String accessToken;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int usagePercent;
+        private volatile Instant usageReportedAt = Instant.MIN;
+        private volatile Instant quarantinedUntil = Instant.MIN;
+
+        private PooledToken(String accessToken) {
+            this.accessToken = accessToken;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public int getUsagePercent() {
+            return usagePercent;
+        }
+
+        public Instant getQuarantinedUntil() {
+            return quarantinedUntil;
+        }
+
+        boolean isQuarantined(Instant now) {
+            return now.isBefore(quarantinedUntil);
+        }
+
+        int load(Instant now, Duration usageTtl) {
+            int usage = usageReportedAt.plus(usageTtl).isAfter(now) ? usagePercent : 0;
+            return usage + inFlight.get();
+        }
+
+        void quarantine(Instant until) {
+            if (until.isAfter(quarantinedUntil)) {
+                quarantinedUntil = until;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "PooledToken{usage=" + usagePercent + "%, inFlight=" + inFlight
+                    + ", quarantinedUntil=" + quarantinedUntil + "}";
+        }
+    }
+
+    public static class Builder {
+        private final List<String> tokens = new ArrayList<>();
+        private String appSecret;
+        private Duration quarantine = Duration.ofMinutes(5);
+        private Duration usageTtl = Duration.ofMinutes(5);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        public Builder addTokens(Collection<String> tokens) {
+            this.tokens.addAll(tokens);
+            return this;
+        }
+
+        public Builder addToken(String token) {
+            verifyParameterPresence("token", token);
+            this.tokens.add(token);
+            return this;
+        }
+
+        /**
+         * Secret of the application tokens belong to, {@code appsecret_proof} is not sent if not set.
+         */
+        public Builder setAppSecret(String appSecret) {
+            this.appSecret = appSecret;
+            return this;
+        }
+
+        /**
+         * Minimum time throttled token is not used for.
+         */
+        public Builder setQuarantine(Duration quarantine) {
+            this.quarantine = quarantine;
+            return this;
+        }
+
+        /**
+         * How long reported usage is taken into account.
+         */
+        public Builder setUsageTtl(Duration usageTtl) {
+            this.usageTtl = usageTtl;
+            return this;
+        }
+
+        public Builder setClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public TokenPool build() {
+            if (tokens.isEmpty()) {
+                throw new IllegalArgumentException("Token pool requires at least one token.");
+            }
+            return new TokenPool(this);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package reactivefb.token;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.reactivestreams.Publisher;
+import reactivefb.BinaryAttachment;
+import reactivefb.ReactiveWebRequestor;
+import reactivefb.error.GraphError;
+import reactivefb.jfr.GraphEvents;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static reactivefb.token.TokenAwareWebRequestor.parametersWithToken;
+import static reactivefb.token.TokenAwareWebRequestor.withToken;
+
+/**
+ * Sends every request with token picked from {@link TokenPool} and reports its outcome back to the pool.
+ *
+ * @author Sergii Karpenko
+ */
+class TokenPoolWebRequestor implements ReactiveWebRequestor {
+
+    private final ReactiveWebRequestor delegate;
+    private final TokenPool pool;
+    private final String appSecret;
+
+    TokenPoolWebRequestor(ReactiveWebRequestor delegate, TokenPool pool, String appSecret) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.appSecret = appSecret;
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeGet(String url, Class responseBodyType, ObjectReader objectReader) {
+        return withPooledToken(token -> delegate.executeGet(
+                withToken(url, token, appSecret), responseBodyType, objectReader));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeGetRaw(String url) {
+        return withPooledToken(token -> delegate.executeGetRaw(withToken(url, token, appSecret)));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executeDelete(String url, Class responseBodyType) {
+        return withPooledToken(token -> delegate.executeDelete(withToken(url, token, appSecret), responseBodyType));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executePost(String url, Class responsePublisherType, Class responseBodyType,
+                                                  String parameters) {
+        return withPooledToken(token -> delegate.executePost(url, responsePublisherType, responseBodyType,
+                parametersWithToken(parameters, token, appSecret)));
+    }
+
+    @Override
+    public Mono<ReactiveHttpResponse> executePostWithAttachments(String url, Class responsePublisherType,
+                                                                 Class responseBodyType, String parameters,
+                                                                 BinaryAttachment... binaryAttachments) {
+        return withPooledToken(token -> delegate.executePostWithAttachments(url, responsePublisherType,
+                responseBodyType, parametersWithToken(parameters, token, appSecret), binaryAttachments));
+    }
+
+    private Mono<ReactiveHttpResponse> withPooledToken(Function<String, Mono<ReactiveHttpResponse>> request) {
+        return Mono.defer(() -> {
+            TokenPool.PooledToken token = pool.acquire();
+            if (token == null) {
+                Runnable throttled = GraphEvents.get().throttleStarted("token pool", 1);
+                return Mono.delay(pool.untilAvailable())
+                        .doFinally(signal -> throttled.run())
+                        .then(withPooledToken(request));
+            }
+            return request.apply(token.getAccessToken())
+                    .map(response -> observe(token, response))
+                    .doFinally(signal -> pool.release(token));
+        });
+    }
+
+    private ReactiveHttpResponse observe(TokenPool.PooledToken token, ReactiveHttpResponse response) {
+        pool.onResponse(token, response);
+        if (response.status() == HTTP_OK) {
+            return response;
+        }
+        return new DelegatingReactiveHttpResponse(response) {
+            @Override
+            public Publisher<?> body() {
+                return response.body();
+            }
+
+            @Override
+            public Mono<byte[]> bodyData() {
+                return response.bodyData().doOnNext(bytes -> {
+                    GraphError error = GraphError.parse(bytes, response.status());
+                    if (error != null && error.getCategory() == GraphError.Category.RATE_LIMIT) {
+                        pool.onRateLimited(token);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package reactivefb.warmup;
+
+import com.restfb.exception.FacebookNetworkException;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Opens connections of Jetty {@link HttpClient} to Graph API hosts ahead of the first requests,
+ * so that their DNS lookup, TCP and TLS handshakes are not paid by the first burst of traffic.
+ * <p>
+ * Jetty pools connections per destination and opens a new one for every request that finds none idle,
+ * so concurrent {@code HEAD} exchanges leave {@code connections} connections idle in the pool.
+ * The first exchange of each host is sent alone, the rest follow once it completes and resume its TLS session
+ * from client session cache, enabled by Jetty by default, instead of doing full handshakes.
+ *
+ * @author Sergii Karpenko
+ */
+public class ConnectionWarmup {
+
+    public static final String GRAPH_HOST = "https://graph.facebook.com";
+    public static final String GRAPH_VIDEO_HOST = "https://graph-video.facebook.com";
+
+    private final List<URI> hosts;
+    private final int connections;
+    private final Duration timeout;
+
+    private ConnectionWarmup(Builder builder) {
+        this.hosts = Collections.unmodifiableList(new ArrayList<>(builder.hosts));
+        this.connections = builder.connections;
+        this.timeout = builder.timeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return completes once connections to every host are opened, errors with
+     * {@link FacebookNetworkException} if no connection to some host could be opened
+     */
+    public Mono<Void> warm(HttpClient httpClient) {
+        int perHost = Math.min(connections, httpClient.getMaxConnectionsPerDestination());
+        return Flux.fromIterable(hosts)
+                .flatMap(host -> warm(httpClient, host, perHost))
+                .then();
+    }
+
+    public List<URI> getHosts() {
+        return hosts;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    private Mono<Void> warm(HttpClient httpClient, URI host, int connections) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // the first connection is idle again by then, so all of them are needed to open the rest
+        Flux<Boolean> rest = connections > 1
+                ? Flux.range(0, connections).flatMap(attempt -> exchange(httpClient, host, failure), connections)
+                : Flux.empty();
+        return Flux.concat(exchange(httpClient, host, failure), rest)
+                .count()
+                .flatMap(opened -> opened > 0
+                        ? Mono.<Void>empty()
+                        : Mono.error(new FacebookNetworkException(
+                                "Failed to open connection to " + host, failure.get())));
+    }
+
+    /**
+     * @return emits once exchange completed, empty if it failed
+     */
+    private Mono<Boolean> exchange(HttpClient httpClient, URI host, AtomicReference<Throwable> failure) {
+        return exchange(httpClient, host)
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    failure.set(error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> exchange(HttpClient httpClient, URI host) {
+        return Mono.create(sink -> {
+            Request request = httpClient.newRequest(host)
+                    .method(HttpMethod.HEAD)
+                    .timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            sink.onCancel(() -> request.abort(new CancellationException("Warm-up cancelled: " + host)));
+            request.send(result -> {
+                if (result.isFailed()) {
+                    sink.error(result.getFailure());
+                } else {
+                    sink.success();
+                }
+            });
+        });
+    }
+
+    public static class Builder {
+        private final List<URI> hosts = new ArrayList<>();
+        private int connections = 4;
+        private Duration timeout = Duration.ofSeconds(10);
+
+        private Builder() {
+            hosts.add(URI.create(GRAPH_HOST));
+            hosts.add(URI.create(GRAPH_VIDEO_HOST));
+        }
+
+        /**
+         * Hosts to open connections to, {@value #GRAPH_HOST} and {@value #GRAPH_VIDEO_HOST} by default.
+         */
+        public Builder setHosts(String... hosts) {
+            this.hosts.clear();
+            for (String host : hosts) {
+                verifyParameterPresence("host", host);
+                this.hosts.add(URI.create(host));
+            }
+            return this;
+        }
+
+        /**
+         * Number of connections opened to each host, bounded by maximum connections per destination of client.
+         */
+        public Builder setConnections(int connections) {
+            this.connections = connections;
+            return this;
+        }
+
+        /**
+         * Timeout of each warm-up exchange.
+         */
+        public Builder setTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public ConnectionWarmup build() {
+            if (hosts.isEmpty()) {
+                throw new IllegalArgumentException("At least one host is required.");
+            }
+            verifyParameterPresence("timeout", timeout);
+            if (connections < 1) {
+                throw new IllegalArgumentException("Number of connections should be positive.");
+            }
+            return new ConnectionWarmup(this);
+        }
+    }
+}
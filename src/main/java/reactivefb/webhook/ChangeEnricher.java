@@ -0,0 +1,116 @@
+package reactivefb.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.Parameter;
+import reactivefb.ReactiveFacebookClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+/**
+ * Enriches {@link ChangeEvent}s with objects they refer to.
+ * Changes are grouped into batches of up to {@code maxBatchSize} or {@code maxDelay},
+ * distinct ids of a batch are fetched with a single {@link ReactiveFacebookClient#fetchObjects} call.
+ * Failure to fetch a batch or to decode an object doesn't terminate enrichment, affected changes are emitted
+ * with {@link EnrichedChange#getError()}.
+ *
+ * @author Sergii Karpenko
+ */
+public class ChangeEnricher<T> {
+
+    /**
+     * Maximum number of ids Graph API accepts in one request.
+     */
+    public static final int MAX_IDS_PER_REQUEST = 50;
+
+    private final ReactiveFacebookClient client;
+    private final ObjectMapper objectMapper;
+    private final Function<ChangeEvent, String> idExtractor;
+    private final Class<T> objectType;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final int concurrency;
+    private final Parameter[] parameters;
+
+    /**
+     * @param idExtractor id of object to fetch for change, e.g. {@code post_id} of its value,
+     *                    changes without id are emitted without object
+     */
+    public ChangeEnricher(ReactiveFacebookClient client, ObjectMapper objectMapper,
+                          Function<ChangeEvent, String> idExtractor, Class<T> objectType,
+                          int maxBatchSize, Duration maxDelay, int concurrency, Parameter... parameters) {
+        verifyParameterPresence("client", client);
+        verifyParameterPresence("objectMapper", objectMapper);
+        verifyParameterPresence("idExtractor", idExtractor);
+        verifyParameterPresence("objectType", objectType);
+        verifyParameterPresence("maxDelay", maxDelay);
+        if (maxBatchSize < 1 || maxBatchSize > MAX_IDS_PER_REQUEST || concurrency < 1) {
+            throw new IllegalArgumentException("Batch size should be in [1, " + MAX_IDS_PER_REQUEST
+                    + "], concurrency should be positive.");
+        }
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.idExtractor = idExtractor;
+        this.objectType = objectType;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.concurrency = concurrency;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return enriched changes in order of batches completion, order within batch is preserved
+     */
+    public Flux<EnrichedChange<T>> enrich(Flux<ChangeEvent> changes) {
+        return changes
+                .bufferTimeout(maxBatchSize, maxDelay)
+                .flatMap(this::enrichBatch, concurrency);
+    }
+
+    private Flux<EnrichedChange<T>> enrichBatch(List<ChangeEvent> batch) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (ChangeEvent change : batch) {
+            String id = idExtractor.apply(change);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Flux.fromIterable(batch).map(change -> new EnrichedChange<>(change, (T) null));
+        }
+
+        return client.fetchObjects(new ArrayList<>(ids), JsonNode.class, parameters)
+                .flatMapMany(objects -> {
+                    List<EnrichedChange<T>> enriched = new ArrayList<>(batch.size());
+                    for (ChangeEvent change : batch) {
+                        String id = idExtractor.apply(change);
+                        JsonNode object = id != null ? objects.get(id) : null;
+                        enriched.add(decode(change, object));
+                    }
+                    return Flux.fromIterable(enriched);
+                })
+                .onErrorResume(error -> Flux.fromIterable(batch)
+                        .map(change -> new EnrichedChange<>(change, (T) null,
+                                idExtractor.apply(change) != null ? error : null)));
+    }
+
+    private EnrichedChange<T> decode(ChangeEvent change, JsonNode object) {
+        if (object == null) {
+            return new EnrichedChange<>(change, null);
+        }
+        try {
+            return new EnrichedChange<>(change, objectMapper.treeToValue(object, objectType));
+        } catch (JsonProcessingException | RuntimeException e) {
+            return new EnrichedChange<>(change, null, e);
+        }
+    }
+}
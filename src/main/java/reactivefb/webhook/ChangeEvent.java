@@ -0,0 +1,66 @@
+package reactivefb.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Single change of <a href="https://developers.facebook.com/docs/graph-api/webhooks">webhook</a> notification,
+ * e.g. new post in page {@code feed}.
+ *
+ * @author Sergii Karpenko
+ */
+public class ChangeEvent {
+
+    private final String object;
+    private final String entryId;
+    private final long time;
+    private final String field;
+    private final JsonNode value;
+
+    public ChangeEvent(String object, String entryId, long time, String field, JsonNode value) {
+        this.object = object;
+        this.entryId = entryId;
+        this.time = time;
+        this.field = field;
+        this.value = value;
+    }
+
+    /**
+     * @return type of subscribed object, e.g. {@code page} or {@code user}
+     */
+    public String getObject() {
+        return object;
+    }
+
+    /**
+     * @return id of changed object
+     */
+    public String getEntryId() {
+        return entryId;
+    }
+
+    /**
+     * @return time of change in epoch seconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return changed field, e.g. {@code feed}
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @return change details, e.g. {@code {"item":"post","post_id":"1_2","verb":"add"}}
+     */
+    public JsonNode getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" + object + "/" + entryId + "." + field + "@" + time + ": " + value + "}";
+    }
+}
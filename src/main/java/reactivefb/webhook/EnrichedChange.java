@@ -0,0 +1,49 @@
+package reactivefb.webhook;
+
+/**
+ * {@link ChangeEvent} together with current state of changed object fetched from Graph API.
+ *
+ * @author Sergii Karpenko
+ */
+public class EnrichedChange<T> {
+
+    private final ChangeEvent change;
+    private final T object;
+    private final Throwable error;
+
+    public EnrichedChange(ChangeEvent change, T object) {
+        this(change, object, null);
+    }
+
+    /**
+     * @param error why object could not be fetched or decoded, {@code null} if it could
+     */
+    public EnrichedChange(ChangeEvent change, T object, Throwable error) {
+        this.change = change;
+        this.object = object;
+        this.error = error;
+    }
+
+    public ChangeEvent getChange() {
+        return change;
+    }
+
+    /**
+     * @return changed object or {@code null} if it was not returned, e.g. because it was deleted,
+     * or could not be fetched
+     */
+    public T getObject() {
+        return object;
+    }
+
+    /**
+     * @return error of fetching or decoding changed object, e.g. throttling of Graph API
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,47 @@
+package reactivefb.webhook;
+
+import com.restfb.exception.FacebookException;
+
+/**
+ * Indicates that webhook notification was not accepted.
+ *
+ * @author Sergii Karpenko
+ */
+public class WebhookException extends FacebookException {
+
+    public enum Reason {
+        /**
+         * {@code X-Hub-Signature-256} is missing or doesn't match payload, should be answered with 403
+         */
+        INVALID_SIGNATURE,
+        /**
+         * Subscription verification request has wrong {@code hub.mode} or {@code hub.verify_token},
+         * should be answered with 403
+         */
+        INVALID_VERIFY_TOKEN,
+        /**
+         * Payload is not a valid notification, should be answered with 400
+         */
+        MALFORMED_PAYLOAD,
+        /**
+         * Events buffer is full, should be answered with 503 so Facebook retries delivery later
+         */
+        OVERFLOW
+    }
+
+    private final Reason reason;
+
+    public WebhookException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public WebhookException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,268 @@
+package reactivefb.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.util.StringUtils;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static reactivefb.webhook.WebhookException.Reason.INVALID_SIGNATURE;
+import static reactivefb.webhook.WebhookException.Reason.INVALID_VERIFY_TOKEN;
+import static reactivefb.webhook.WebhookException.Reason.MALFORMED_PAYLOAD;
+import static reactivefb.webhook.WebhookException.Reason.OVERFLOW;
+
+/**
+ * Receives <a href="https://developers.facebook.com/docs/graph-api/webhooks">webhook</a> notifications
+ * independently of HTTP server in use.
+ * <p>
+ * Payload signature is verified with app secret while body chunks arrive, accepted notifications are split
+ * into {@link ChangeEvent}s published by {@link #events()} according to subscriber demand.
+ * Not yet requested events are kept in a bounded buffer, if a notification doesn't fit into it
+ * it is rejected as a whole with {@link WebhookException.Reason#OVERFLOW} so that Facebook retries it later.
+ *
+ * @author Sergii Karpenko
+ */
+public class WebhookReceiver {
+
+    public static final String SIGNATURE_HEADER = "X-Hub-Signature-256";
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SUBSCRIBE_MODE = "subscribe";
+
+    private final SecretKeySpec secretKey;
+    private final String verifyToken;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+
+    private final Queue<ChangeEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Flux<ChangeEvent> events;
+    private volatile FluxSink<ChangeEvent> sink;
+
+    private WebhookReceiver(Builder builder) {
+        this.secretKey = new SecretKeySpec(builder.appSecret.getBytes(UTF_8), HMAC_ALGORITHM);
+        this.verifyToken = builder.verifyToken;
+        this.objectMapper = builder.objectMapper;
+        this.bufferSize = builder.bufferSize;
+        this.events = Flux.<ChangeEvent>create(sink -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                sink.error(new IllegalStateException("Webhook events allow only one subscriber."));
+                return;
+            }
+            sink.onRequest(requested -> {
+                addDemand(requested);
+                drain();
+            });
+            sink.onDispose(this::detach);
+            this.sink = sink;
+            drain();
+        }, FluxSink.OverflowStrategy.IGNORE);
+    }
+
+    public static Builder builder(String appSecret, ObjectMapper objectMapper) {
+        return new Builder(appSecret, objectMapper);
+    }
+
+    /**
+     * Answers subscription verification request of Facebook.
+     *
+     * @return {@code hub.challenge} to be returned in response or error if verify token doesn't match
+     */
+    public Mono<String> verifySubscription(String mode, String token, String challenge) {
+        if (SUBSCRIBE_MODE.equals(mode) && verifyToken != null && MessageDigest.isEqual(
+                verifyToken.getBytes(UTF_8), String.valueOf(token).getBytes(UTF_8))) {
+            return Mono.justOrEmpty(challenge);
+        }
+        return Mono.error(new WebhookException(INVALID_VERIFY_TOKEN, "Subscription verify token doesn't match"));
+    }
+
+    /**
+     * Verifies and accepts notification.
+     *
+     * @param signature value of {@value #SIGNATURE_HEADER} header
+     * @param body raw payload
+     * @return completes once all changes of notification are buffered for {@link #events()},
+     * errors with {@link WebhookException} if notification is rejected
+     */
+    public Mono<Void> receive(String signature, Publisher<ByteBuffer> body) {
+        Mac mac;
+        try {
+            mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+        } catch (GeneralSecurityException e) {
+            return Mono.error(e);
+        }
+
+        return Flux.from(body)
+                .collect(ByteArrayOutputStream::new, (payload, chunk) -> {
+                    byte[] bytes = new byte[chunk.remaining()];
+                    chunk.duplicate().get(bytes);
+                    mac.update(bytes);
+                    payload.write(bytes, 0, bytes.length);
+                })
+                .flatMap(payload -> {
+                    if (!isValidSignature(signature, mac.doFinal())) {
+                        return Mono.error(new WebhookException(INVALID_SIGNATURE, "Invalid payload signature"));
+                    }
+                    List<ChangeEvent> changes;
+                    try {
+                        changes = parse(payload.toByteArray());
+                    } catch (IOException | RuntimeException e) {
+                        return Mono.error(new WebhookException(MALFORMED_PAYLOAD, "Malformed notification", e));
+                    }
+                    return offer(changes);
+                });
+    }
+
+    /**
+     * @return accepted changes, only one subscriber is allowed at a time
+     */
+    public Flux<ChangeEvent> events() {
+        return events;
+    }
+
+    /**
+     * @return number of accepted changes not yet requested by subscriber
+     */
+    public int getBuffered() {
+        return buffered.get();
+    }
+
+    private Mono<Void> offer(List<ChangeEvent> changes) {
+        while (true) {
+            int size = buffered.get();
+            if (size + changes.size() > bufferSize) {
+                return Mono.error(new WebhookException(OVERFLOW, "Webhook events buffer is full"));
+            }
+            if (buffered.compareAndSet(size, size + changes.size())) {
+                break;
+            }
+        }
+
+        buffer.addAll(changes);
+        drain();
+        return Mono.empty();
+    }
+
+    private void addDemand(long requested) {
+        demand.getAndUpdate(current -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+    }
+
+    private synchronized void drain() {
+        FluxSink<ChangeEvent> currentSink;
+        while ((currentSink = sink) != null && demand.get() > 0) {
+            ChangeEvent event = buffer.poll();
+            if (event == null) {
+                return;
+            }
+            buffered.decrementAndGet();
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            currentSink.next(event);
+        }
+    }
+
+    /**
+     * Drops demand of cancelled subscriber so that the next one receives only what it requests.
+     */
+    private synchronized void detach() {
+        sink = null;
+        demand.set(0);
+        subscribed.set(false);
+    }
+
+    private boolean isValidSignature(String signature, byte[] expected) {
+        if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                toHex(expected).getBytes(UTF_8),
+                signature.substring(SIGNATURE_PREFIX.length()).toLowerCase().getBytes(UTF_8));
+    }
+
+    private List<ChangeEvent> parse(byte[] payload) throws IOException {
+        JsonNode notification = objectMapper.readTree(payload);
+        String object = notification.path("object").asText(null);
+        List<ChangeEvent> changes = new ArrayList<>();
+        for (JsonNode entry : notification.path("entry")) {
+            String entryId = entry.path("id").asText(null);
+            long time = entry.path("time").asLong();
+            for (JsonNode change : entry.path("changes")) {
+                changes.add(new ChangeEvent(object, entryId, time,
+                        change.path("field").asText(null), change.path("value")));
+            }
+        }
+        return changes;
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    public static class Builder {
+        private final String appSecret;
+        private final ObjectMapper objectMapper;
+        private String verifyToken;
+        private int bufferSize = 10_000;
+
+        private Builder(String appSecret, ObjectMapper objectMapper) {
+            if (StringUtils.isBlank(appSecret)) {
+                throw new IllegalArgumentException("App secret is required to verify webhook signatures.");
+            }
+            verifyParameterPresence("objectMapper", objectMapper);
+            this.appSecret = appSecret;
+            this.objectMapper = objectMapper;
+        }
+
+        /**
+         * Token configured for subscription, checked by {@link WebhookReceiver#verifySubscription}.
+         */
+        public Builder setVerifyToken(String verifyToken) {
+            this.verifyToken = verifyToken;
+            return this;
+        }
+
+        /**
+         * Maximum number of accepted but not yet requested changes.
+         */
+        public Builder setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public WebhookReceiver build() {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size should be positive.");
+            }
+            return new WebhookReceiver(this);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package reactivefb.jfr;
+
+import jdk.jfr.EventType;
+import reactivefb.circuit.EndpointTemplates;
+
+/**
+ * Emits {@link GraphEvents} as Flight Recorder events, loaded only by {@link GraphEventsLoader}.
+ *
+ * @author Sergii Karpenko
+ */
+final class FlightRecorderGraphEvents implements GraphEvents {
+
+    private static final EventType REQUEST = EventType.getEventType(GraphRequestEvent.class);
+    private static final EventType DECODE = EventType.getEventType(GraphDecodeEvent.class);
+    private static final EventType THROTTLE = EventType.getEventType(GraphThrottleEvent.class);
+    private static final EventType RETRY = EventType.getEventType(GraphRetryEvent.class);
+    private static final EventType BATCH = EventType.getEventType(GraphBatchEvent.class);
+
+    @Override
+    public RequestRecording requestStarted(String url) {
+        if (!REQUEST.isEnabled()) {
+            return RequestRecording.NOOP;
+        }
+        GraphRequestEvent event = new GraphRequestEvent();
+        event.endpoint = EndpointTemplates.of(url);
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public boolean isDecodeEnabled() {
+        return DECODE.isEnabled();
+    }
+
+    @Override
+    public void decoded(Class<?> type, long bytes, long durationNanos) {
+        if (!DECODE.isEnabled()) {
+            return;
+        }
+        GraphDecodeEvent event = new GraphDecodeEvent();
+        if (event.shouldCommit()) {
+            event.type = type != null ? type.getName() : null;
+            event.bytes = bytes;
+            event.decodeTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Runnable throttleStarted(String source, int permits) {
+        if (!THROTTLE.isEnabled()) {
+            return RequestRecording.NOTHING;
+        }
+        GraphThrottleEvent event = new GraphThrottleEvent();
+        event.source = source;
+        event.permits = permits;
+        event.begin();
+        return () -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public void retried(String operation, int attempt, int requests, Throwable cause) {
+        if (!RETRY.isEnabled()) {
+            return;
+        }
+        GraphRetryEvent event = new GraphRetryEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.attempt = attempt;
+            event.requests = requests;
+            event.cause = cause != null ? cause.getClass().getName() : null;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void batchSent(int size, int attempt) {
+        if (!BATCH.isEnabled()) {
+            return;
+        }
+        GraphBatchEvent event = new GraphBatchEvent();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Graph API batch call sent by bulk operations.
+ *
+ * @author Sergii Karpenko
+ */
+@Name("reactivefb.GraphBatch")
+@Label("Graph Batch")
+@Category({"Facebook", "Graph API"})
+class GraphBatchEvent extends Event {
+
+    @Label("Size")
+    int size;
+
+    @Label("Attempt")
+    int attempt;
+}
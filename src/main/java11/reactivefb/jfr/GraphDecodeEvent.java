@@ -0,0 +1,32 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Decoding of a response body, time is summed over all its chunks and excludes waiting for them.
+ *
+ * @author Sergii Karpenko
+ */
+@Name("reactivefb.GraphDecode")
+@Label("Graph Response Decode")
+@Category({"Facebook", "Graph API"})
+@Description("CPU time spent decoding a response body, not including waiting for its chunks")
+class GraphDecodeEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Body Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Decode Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long decodeTime;
+}
@@ -0,0 +1,64 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Graph API request from its start until response headers are received.
+ *
+ * @author Sergii Karpenko
+ */
+@Name("reactivefb.GraphRequest")
+@Label("Graph Request")
+@Category({"Facebook", "Graph API"})
+@Description("Graph API request until response headers are received")
+class GraphRequestEvent extends Event implements RequestRecording {
+
+    @Label("Endpoint")
+    @Description("Endpoint template with ids replaced by placeholder")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("Content Length")
+    @DataAmount
+    long bytes = -1;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Override
+    public boolean isRecording() {
+        return true;
+    }
+
+    @Override
+    public void responded(int status, long bytes) {
+        this.status = status;
+        this.bytes = bytes;
+        finish("response");
+    }
+
+    @Override
+    public void failed(Throwable error) {
+        finish(error.getClass().getName());
+    }
+
+    @Override
+    public void cancelled() {
+        finish("cancelled");
+    }
+
+    private void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Requests sent again after a transient failure.
+ *
+ * @author Sergii Karpenko
+ */
+@Name("reactivefb.GraphRetry")
+@Label("Graph Retry")
+@Category({"Facebook", "Graph API"})
+class GraphRetryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Requests")
+    int requests;
+
+    @Label("Cause")
+    String cause;
+}
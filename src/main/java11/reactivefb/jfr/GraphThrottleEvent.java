@@ -0,0 +1,27 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Wait of requests for permits of rate limiter or for a token of token pool.
+ *
+ * @author Sergii Karpenko
+ */
+@Name("reactivefb.GraphThrottle")
+@Label("Graph Throttle Wait")
+@Category({"Facebook", "Graph API"})
+@Description("Requests waiting for rate limiter permits or an available token")
+@Threshold("1 ms")
+class GraphThrottleEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Permits")
+    int permits;
+}
@@ -1,7 +1,6 @@
 package reactivefb;
 
 import com.restfb.Version;
-import com.restfb.exception.FacebookOAuthException;
 import com.restfb.scope.ScopeBuilder;
 import com.restfb.types.DeviceCode;
 import org.junit.Test;
@@ -41,18 +40,7 @@ public class ApplicationTest {
 
         System.out.println("go to https://www.facebook.com/device and enter there user code:" + deviceCode.getUserCode());
 
-        AccessToken accessToken = null;
-        while(accessToken == null) {
-            try {
-                accessToken = clientFacebookClient.obtainDeviceAccessToken(deviceCode.getCode()).block();
-            } catch (FacebookOAuthException e) {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ie) {
-                    ie.printStackTrace();
-                }
-            }
-        }
+        AccessToken accessToken = clientFacebookClient.awaitDeviceAccessToken(deviceCode).block();
 
         AccessToken extendedToken = clientFacebookClient.obtainExtendedAccessToken(
                 appId, appSecret, accessToken.getAccessToken()).block();
@@ -0,0 +1,39 @@
+package reactivefb;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineTest {
+
+    @Test
+    public void shouldPutDeadlineIntoContext() {
+        Deadline deadline = Mono.subscriberContext()
+                .map(context -> context.<Deadline>get(Deadline.class))
+                .subscriberContext(Deadline.within(Duration.ofSeconds(5)))
+                .block();
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingMillis()).isBetween(1L, 5000L);
+    }
+
+    @Test
+    public void shouldKeepEarlierDeadline() {
+        Deadline deadline = Mono.subscriberContext()
+                .map(context -> context.<Deadline>get(Deadline.class))
+                .subscriberContext(Deadline.within(Duration.ofSeconds(60)))
+                .subscriberContext(Deadline.within(Duration.ofSeconds(1)))
+                .block();
+
+        assertThat(deadline.remainingMillis()).isLessThanOrEqualTo(1000L);
+    }
+
+    @Test
+    public void shouldExpire() {
+        assertThat(Deadline.after(Duration.ZERO).isExpired()).isTrue();
+        assertThat(Deadline.after(Duration.ofMinutes(1)).isExpired()).isFalse();
+    }
+}
@@ -0,0 +1,173 @@
+package reactivefb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.restfb.Version;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenCodeExpiredException;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenDeclinedException;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenPendingException;
+import com.restfb.exception.devicetoken.FacebookDeviceTokenSlowdownException;
+import com.restfb.types.DeviceCode;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.Test;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.restfb.FacebookClient.AccessToken;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static reactivefb.DefaultReactiveFacebookClient.DEVICE_POLLING_SLOW_DOWN_INCREMENT;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class DeviceAccessTokenTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+    }
+
+    private static final Duration interval = Duration.ofSeconds(1);
+
+    private final DeviceLoginRequestor requestor = new DeviceLoginRequestor();
+
+    private final DefaultReactiveFacebookClient client = DefaultReactiveFacebookClient.builder(Version.VERSION_2_9)
+            .setAccessToken("app|token")
+            .setHttpClient(new HttpClient())
+            .setObjectMapper(objectMapper)
+            .setWebRequestor(requestor)
+            .build();
+
+    @Test
+    public void shouldPollAgainWhileAuthorizationIsPending() {
+        requestor.answers.add(new FacebookDeviceTokenPendingException("pending", null));
+        requestor.answers.add(AccessToken.fromQueryString("access_token=user-token"));
+
+        AccessToken accessToken = client.awaitDeviceAccessToken(deviceCode(60)).block();
+
+        assertThat(accessToken.getAccessToken()).isEqualTo("user-token");
+        assertThat(requestor.polls).hasSize(2);
+        assertThat(requestor.pause(1)).isGreaterThan(interval.minusMillis(100).toNanos());
+    }
+
+    @Test
+    public void shouldSlowDownPollingWhenAsked() {
+        requestor.answers.add(new FacebookDeviceTokenSlowdownException("slow down", null));
+        requestor.answers.add(AccessToken.fromQueryString("access_token=user-token"));
+
+        AccessToken accessToken = client.awaitDeviceAccessToken(deviceCode(60)).block();
+
+        assertThat(accessToken.getAccessToken()).isEqualTo("user-token");
+        assertThat(requestor.polls).hasSize(2);
+        assertThat(requestor.pause(1)).isGreaterThan(
+                interval.plus(DEVICE_POLLING_SLOW_DOWN_INCREMENT).minusMillis(100).toNanos());
+    }
+
+    @Test
+    public void shouldFailOnceDeviceCodeExpires() {
+        Throwable error = catchThrowable(() -> client.awaitDeviceAccessToken(deviceCode(3)).block());
+
+        assertThat(error).isInstanceOf(FacebookDeviceTokenCodeExpiredException.class);
+        assertThat(requestor.polls.size()).isGreaterThan(1);
+    }
+
+    @Test
+    public void shouldStopPollingOnceAuthorizationIsDeclined() {
+        requestor.answers.add(new FacebookDeviceTokenDeclinedException("declined", null));
+        requestor.answers.add(AccessToken.fromQueryString("access_token=user-token"));
+
+        Throwable error = catchThrowable(() -> client.awaitDeviceAccessToken(deviceCode(60)).block());
+
+        assertThat(error).isInstanceOf(FacebookDeviceTokenDeclinedException.class);
+        assertThat(requestor.polls).hasSize(1);
+    }
+
+    private static DeviceCode deviceCode(int expiresIn) {
+        try {
+            return objectMapper.readValue("{\"code\":\"device-code\",\"user_code\":\"ABC123\","
+                    + "\"verification_uri\":\"https://www.facebook.com/device\","
+                    + "\"expires_in\":" + expiresIn + ",\"interval\":" + interval.getSeconds() + "}", DeviceCode.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Answers polls of device login status in order, keeps authorization pending once answers run out.
+     */
+    private static class DeviceLoginRequestor implements ReactiveWebRequestor {
+
+        private final Queue<Object> answers = new ConcurrentLinkedQueue<>();
+        private final List<Long> polls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Mono<ReactiveHttpResponse> executePost(String url, Class responsePublisherType, Class responseBodyType,
+                                                      String parameters) {
+            return Mono.defer(() -> {
+                polls.add(System.nanoTime());
+                Object answer = answers.poll();
+                if (answer == null) {
+                    return Mono.error(new FacebookDeviceTokenPendingException("pending", null));
+                }
+                if (answer instanceof RuntimeException) {
+                    return Mono.error((RuntimeException) answer);
+                }
+                return Mono.just(response(answer));
+            });
+        }
+
+        long pause(int poll) {
+            return polls.get(poll) - polls.get(poll - 1);
+        }
+
+        @Override
+        public Mono<ReactiveHttpResponse> executeGet(String url, Class responseBodyType, ObjectReader objectReader) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<ReactiveHttpResponse> executeDelete(String url, Class responseBodyType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<ReactiveHttpResponse> executePostWithAttachments(
+                String url, Class responsePublisherType, Class responseBodyType,
+                String parameters, BinaryAttachment... binaryAttachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        private static ReactiveHttpResponse response(Object body) {
+            return new ReactiveHttpResponse() {
+                @Override
+                public int status() {
+                    return 200;
+                }
+
+                @Override
+                public Map<String, List<String>> headers() {
+                    return Collections.emptyMap();
+                }
+
+                @Override
+                public Mono<Object> body() {
+                    return Mono.just(body);
+                }
+
+                @Override
+                public Mono<byte[]> bodyData() {
+                    return Mono.empty();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package reactivefb.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.restfb.types.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactivefb.json.FacebookModules;
+import reactivefb.json.types.Connection;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+/**
+ * Compares reflection based decoding of {@code Connection<Post>} pages
+ * with decoding via Afterburner generated accessors.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=reactivefb.benchmark.ConnectionDecodingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionDecodingBenchmark {
+
+    @Param({"25", "100"})
+    private int pageSize;
+
+    private byte[] page;
+
+    private ObjectReader reflectionReader;
+    private ObjectReader afterburnerReader;
+
+    @Setup
+    public void setUp() {
+        page = PostPages.connectionOfPosts(pageSize).getBytes(UTF_8);
+
+        reflectionReader = connectionOfPostReader(newObjectMapper());
+        afterburnerReader = connectionOfPostReader(FacebookModules.registerAfterburner(newObjectMapper()));
+    }
+
+    @Benchmark
+    public Connection<Post> reflection() throws IOException {
+        return reflectionReader.readValue(page);
+    }
+
+    @Benchmark
+    public Connection<Post> afterburner() throws IOException {
+        return afterburnerReader.readValue(page);
+    }
+
+    static ObjectMapper newObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return objectMapper;
+    }
+
+    static ObjectReader connectionOfPostReader(ObjectMapper objectMapper) {
+        return objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructParametricType(Connection.class, Post.class));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConnectionDecodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package reactivefb.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.restfb.types.Post;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.MappedByteBufferPool;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.eclipse.jetty.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactivefb.json.ChunkedJsonDecoder;
+import reactivefb.json.DecodeOffload;
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static reactivefb.benchmark.ConnectionDecodingBenchmark.connectionOfPostReader;
+import static reactivefb.benchmark.ConnectionDecodingBenchmark.newObjectMapper;
+
+/**
+ * Measures latency of small responses sharing a single I/O thread with large ones,
+ * when all of them are decoded on I/O thread and when large ones are offloaded by {@link DecodeOffload}.
+ * Background threads keep decoding large pages while small page latency is sampled.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=reactivefb.benchmark.DecodeOffloadBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeOffloadBenchmark {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final int LARGE_RESPONSES_IN_FLIGHT = 2;
+
+    @Param({"false", "true"})
+    private boolean offload;
+
+    private final ByteBufferPool bufferPool = new MappedByteBufferPool();
+    private ObjectReader reader;
+    private Scheduler io;
+    private DecodeOffload decodeOffload;
+    private byte[] smallPage;
+    private byte[] largePage;
+    private List<Thread> load;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reader = connectionOfPostReader(newObjectMapper());
+        io = Schedulers.newSingle("io");
+        decodeOffload = offload ? DecodeOffload.builder().build() : null;
+        smallPage = PostPages.connectionOfPosts(1).getBytes(UTF_8);
+        largePage = PostPages.connectionOfPosts(500).getBytes(UTF_8);
+
+        running = true;
+        load = new ArrayList<>();
+        for (int i = 0; i < LARGE_RESPONSES_IN_FLIGHT; i++) {
+            Thread thread = new Thread(() -> {
+                while (running) {
+                    decode(largePage).block();
+                }
+            }, "large-responses-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            load.add(thread);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread thread : load) {
+            thread.join();
+        }
+        io.dispose();
+    }
+
+    @Benchmark
+    public Connection<Post> smallResponse() {
+        return decode(smallPage).block();
+    }
+
+    private Mono<Connection<Post>> decode(byte[] body) {
+        Flux<ContentChunk> content = Flux.fromIterable(chunks(body)).subscribeOn(io);
+        if (decodeOffload != null) {
+            content = decodeOffload.apply(content, body.length);
+        }
+        return ChunkedJsonDecoder.decode(content, reader, bufferPool);
+    }
+
+    private static List<ContentChunk> chunks(byte[] body) {
+        List<ContentChunk> chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            chunks.add(new ContentChunk(ByteBuffer.wrap(body, offset, Math.min(CHUNK_SIZE, body.length - offset)),
+                    Callback.NOOP));
+        }
+        return chunks;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DecodeOffloadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package reactivefb.benchmark;
+
+/**
+ * Generates Graph API like {@code Connection<Post>} pages used as benchmark payloads.
+ */
+public class PostPages {
+
+    private PostPages() {
+    }
+
+    public static String connectionOfPosts(int pageSize) {
+        StringBuilder json = new StringBuilder(pageSize * 640);
+        json.append("{\"data\":[");
+        for (int i = 0; i < pageSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendPost(json, i);
+        }
+        json.append("],\"paging\":{\"cursors\":{")
+                .append("\"before\":\"QVFIUmx1WTBpMGpJWXprYzVYaVhabW55dVpycVd2eWxZAckV5\",")
+                .append("\"after\":\"QVFIUkRKdU5xV2xNU0t4OHVuV0hBdlUzd3JRWDJNNmZANc1Jk\"},")
+                .append("\"next\":\"https://graph.facebook.com/v2.9/20531316728/posts?limit=")
+                .append(pageSize)
+                .append("&after=QVFIUkRKdU5xV2xNU0t4OHVuV0hBdlUzd3JRWDJNNmZANc1Jk\"}}");
+        return json.toString();
+    }
+
+    private static void appendPost(StringBuilder json, int i) {
+        String id = "20531316728_" + (10154000000000000L + i);
+        json.append("{\"id\":\"").append(id).append("\",")
+                .append("\"message\":\"Introducing new ways to connect with the people and things you care about. ")
+                .append("Post number ").append(i).append(" with some longer text that resembles a real feed entry.\",")
+                .append("\"created_time\":\"2018-10-0").append(i % 9 + 1).append("T1").append(i % 10)
+                .append(":15:3").append(i % 10).append("+0000\",")
+                .append("\"updated_time\":\"2018-10-0").append(i % 9 + 1).append("T1").append(i % 10)
+                .append(":45:0").append(i % 10).append("+0000\",")
+                .append("\"from\":{\"id\":\"20531316728\",\"name\":\"Facebook\",\"category\":\"Website\"},")
+                .append("\"type\":\"").append(i % 3 == 0 ? "photo" : "status").append("\",")
+                .append("\"status_type\":\"mobile_status_update\",")
+                .append("\"permalink_url\":\"https://www.facebook.com/").append(id).append("\",")
+                .append("\"full_picture\":\"https://scontent.xx.fbcdn.net/v/t1.0-9/").append(i).append("_n.jpg\",")
+                .append("\"shares\":{\"count\":").append(i * 17).append("}}");
+    }
+}
@@ -0,0 +1,99 @@
+package reactivefb.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.Parameter;
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookNetworkException;
+import org.junit.Test;
+import reactivefb.json.types.Connection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class BatchGraphTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+    }
+
+    @Test
+    public void shouldKeepReferencesUnencodedAndDependOnReferencedStep() {
+        BatchGraph.Builder batch = BatchGraph.builder();
+        BatchStep<Connection<JsonNode>> feed = batch.getConnection("feed", "me/feed", JsonNode.class,
+                Parameter.with("fields", "id,message"));
+        BatchStep<JsonNode> comments = batch.get("comments", "comments", JsonNode.class,
+                Parameter.with("ids", feed.ref("$.data.*.id")));
+
+        List<BatchRequest> requests = batch.build().getRequests();
+
+        assertThat(requests.get(0).getRelativeUrl()).isEqualTo("me/feed?fields=id%2Cmessage");
+        assertThat(requests.get(0).getName()).isEqualTo("feed");
+        assertThat(requests.get(0).isOmitResponseOnSuccess()).isFalse();
+        assertThat(requests.get(1).getRelativeUrl()).isEqualTo("comments?ids={result=feed:$.data.*.id}");
+        assertThat(requests.get(1).getDependsOn()).isEqualTo("feed");
+        assertThat(comments.getDependency()).isNull();
+    }
+
+    @Test
+    public void shouldRejectReferenceToLaterStep() {
+        BatchGraph.Builder batch = BatchGraph.builder();
+        batch.get("comments", "comments?ids={result=feed:$.data.*.id}", JsonNode.class);
+        batch.getConnection("feed", "me/feed", JsonNode.class);
+
+        assertThatThrownBy(batch::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'feed'");
+    }
+
+    @Test
+    public void shouldRejectMalformedReferenceAndDuplicateName() {
+        BatchGraph.Builder batch = BatchGraph.builder();
+        batch.get("feed", "me/feed", JsonNode.class);
+
+        assertThatThrownBy(() -> batch.get("comments", "comments", JsonNode.class,
+                Parameter.with("ids", "{result=feed:$.data.*.id")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batch.get("feed", "me/posts", JsonNode.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldDecodeStepsIndependently() {
+        BatchGraph.Builder batch = BatchGraph.builder();
+        BatchStep<String> first = batch.get("first", "me", String.class);
+        BatchStep<String> second = batch.get("second", "me/feed", String.class).dependsOn(first);
+        BatchStep<String> third = batch.get("third", "me/likes", String.class);
+        BatchGraph graph = batch.build();
+
+        BatchGraphResult result = graph.decode(Arrays.asList(response(200, "me"), response(400, "failed"), null),
+                (step, response) -> {
+                    if (response.getCode() != 200) {
+                        throw new IllegalStateException(response.getBody());
+                    }
+                    return response.getBody();
+                });
+
+        assertThat(graph.getRequests().get(1).getDependsOn()).isEqualTo("first");
+        assertThat(result.get(first)).isEqualTo("me");
+        assertThat(result.isSuccess(second)).isFalse();
+        assertThatThrownBy(() -> result.get(second)).hasMessage("failed");
+        assertThat(result.getError(third)).isInstanceOf(FacebookNetworkException.class);
+    }
+
+    private static BatchResponse response(int code, String body) {
+        try {
+            return objectMapper.readValue("{\"code\":" + code + ",\"body\":\"" + body + "\"}", BatchResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
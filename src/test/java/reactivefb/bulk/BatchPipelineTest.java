@@ -0,0 +1,147 @@
+package reactivefb.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookNetworkException;
+import org.junit.Test;
+import reactivefb.error.GraphError;
+import reactivefb.error.GraphErrorException;
+import reactivefb.ratelimit.RateLimiter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class BatchPipelineTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+    }
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger permits = new AtomicInteger();
+
+    @Test
+    public void shouldRetryOnlyNotExecutedAndThrottledItemsKeepingInputOrder() {
+        RateLimiter rateLimiter = requested -> Mono.fromRunnable(() -> permits.addAndGet(requested));
+
+        BatchPipeline<String, String> pipeline = pipeline(this::execute, rateLimiter, BulkOptions.builder()
+                .setBatchSize(2)
+                .setRetryBackoff(Duration.ofMillis(1))
+                .build());
+
+        List<BulkResult<String, String>> results = pipeline
+                .execute(Flux.just("a", "flaky", "bad", "d", "throttled", "broken"))
+                .collectList().block();
+
+        assertThat(results).extracting(BulkResult::getItem)
+                .containsExactly("a", "flaky", "bad", "d", "throttled", "broken");
+        assertThat(results).extracting(BulkResult::isSuccess).containsExactly(true, true, false, true, true, false);
+        assertThat(results).extracting(BulkResult::getAttempts).containsExactly(1, 2, 1, 1, 2, 1);
+        assertThat(results.get(1).getResult()).isEqualTo("flaky");
+        assertThat(results.get(2).getError()).isInstanceOf(IllegalStateException.class);
+        assertThat(results.get(4).getResult()).isEqualTo("throttled");
+        assertThat(results.get(5).getError()).isInstanceOf(FacebookNetworkException.class);
+        assertThat(calls.get("a").get()).isEqualTo(1);
+        assertThat(calls.get("broken").get()).isEqualTo(1);
+        assertThat(permits.get()).isEqualTo(8);
+    }
+
+    @Test
+    public void shouldNotResendItemsOfFailedBatchByDefault() {
+        AtomicInteger batches = new AtomicInteger();
+
+        BatchPipeline<String, String> pipeline = pipeline(requests -> {
+            batches.incrementAndGet();
+            return Mono.error(new FacebookNetworkException("Bad gateway"));
+        }, requested -> Mono.empty(), BulkOptions.builder()
+                .setRetryBackoff(Duration.ofMillis(1))
+                .build());
+
+        List<BulkResult<String, String>> results = pipeline.execute(Flux.just("a", "b"))
+                .collectList().block();
+
+        assertThat(results).extracting(BulkResult::isSuccess).containsExactly(false, false);
+        assertThat(results).extracting(BulkResult::getAttempts).containsExactly(1, 1);
+        assertThat(results.get(0).getError()).isInstanceOf(FacebookNetworkException.class);
+        assertThat(batches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldResendItemsOfFailedBatchIfAllowed() {
+        AtomicInteger batches = new AtomicInteger();
+
+        BatchPipeline<String, String> pipeline = pipeline(requests -> batches.incrementAndGet() == 1
+                ? Mono.error(new FacebookNetworkException("Bad gateway"))
+                : execute(requests), requested -> Mono.empty(), BulkOptions.builder()
+                .setRetryBackoff(Duration.ofMillis(1))
+                .setRetryFailedBatches(true)
+                .build());
+
+        List<BulkResult<String, String>> results = pipeline.execute(Flux.just("a", "b"))
+                .collectList().block();
+
+        assertThat(results).extracting(BulkResult::isSuccess).containsExactly(true, true);
+        assertThat(results).extracting(BulkResult::getAttempts).containsExactly(2, 2);
+        assertThat(batches.get()).isEqualTo(2);
+    }
+
+    private static BatchPipeline<String, String> pipeline(
+            Function<List<BatchRequest>, Mono<List<BatchResponse>>> executor,
+            RateLimiter rateLimiter, BulkOptions options) {
+        return new BatchPipeline<>(executor, rateLimiter, options,
+                item -> new BatchRequest.BatchRequestBuilder(item).method("POST").build(),
+                response -> {
+                    if (response.getCode() == 200) {
+                        return response.getBody();
+                    }
+                    if (response.getCode() == 500) {
+                        throw new FacebookNetworkException(500);
+                    }
+                    GraphError error = GraphError.parse(response.getBody(), response.getCode());
+                    if (error != null) {
+                        throw new GraphErrorException(error);
+                    }
+                    throw new IllegalStateException(response.getBody());
+                });
+    }
+
+    private Mono<List<BatchResponse>> execute(List<BatchRequest> requests) {
+        List<BatchResponse> responses = new ArrayList<>();
+        for (BatchRequest request : requests) {
+            String item = request.getRelativeUrl();
+            int call = calls.computeIfAbsent(item, key -> new AtomicInteger()).incrementAndGet();
+            if (item.equals("flaky") && call == 1) {
+                responses.add(null);
+            } else if (item.equals("throttled") && call == 1) {
+                responses.add(response(400, "{\"error\":{\"code\":4,\"message\":\"Too many calls\"}}"));
+            } else {
+                int code = item.equals("bad") ? 400 : item.equals("broken") ? 500 : 200;
+                responses.add(response(code, item));
+            }
+        }
+        return Mono.just(responses);
+    }
+
+    private static BatchResponse response(int code, String body) {
+        try {
+            return objectMapper.readValue("{\"code\":" + code + ",\"body\":"
+                    + objectMapper.writeValueAsString(body) + "}", BatchResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package reactivefb.circuit;
+
+import org.junit.Test;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = Duration.ofSeconds(30).toNanos();
+    private static final String URL = "https://graph.facebook.com/v3.1/1/insights";
+
+    @Test
+    public void shouldNormalizeEndpoints() {
+        assertThat(EndpointTemplates.of("https://graph.facebook.com/v3.1/1234_5678/insights?metric=x"))
+                .isEqualTo("/{id}/insights");
+        assertThat(EndpointTemplates.of("https://graph.facebook.com/v3.1/act_42/campaigns"))
+                .isEqualTo("/{id}/campaigns");
+        assertThat(EndpointTemplates.of("https://graph.facebook.com/me/feed")).isEqualTo("/me/feed");
+        assertThat(EndpointTemplates.of("https://graph.facebook.com/v3.1/")).isEqualTo("/");
+    }
+
+    @Test
+    public void shouldOpenOnFailureRateAndCloseAfterProbes() {
+        CircuitBreaker breaker = CircuitBreakers.builder()
+                .setWindowSize(10)
+                .setMinimumCalls(4)
+                .setHalfOpenProbes(2)
+                .build()
+                .forUrl("https://graph.facebook.com/v3.1/1/insights");
+
+        long now = 0;
+        for (boolean success : new boolean[]{true, false, true, false}) {
+            assertThat(breaker.tryAcquire(now)).isTrue();
+            breaker.onResult(success, 1, now);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(now + OPEN_NANOS - 1)).isFalse();
+
+        now += OPEN_NANOS;
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        assertThat(breaker.tryAcquire(now)).isFalse();
+        breaker.onResult(true, 1, now);
+        breaker.onResult(false, 1, now);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now += OPEN_NANOS;
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        breaker.onResult(true, 1, now);
+        breaker.onResult(true, 1, now);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void shouldCountServerErrorsAndFailuresButNotGraphErrors() {
+        CircuitBreakers breakers = CircuitBreakers.builder()
+                .setWindowSize(4)
+                .setMinimumCalls(3)
+                .build();
+
+        breakers.guard(URL, Mono.just(response(400))).block();
+        breakers.guard(URL, Mono.just(response(403))).block();
+        breakers.guard(URL, Mono.just(response(500))).block();
+        assertThat(breakers.forUrl(URL).getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        catchThrowable(() -> breakers.guard(URL, Mono.error(new IllegalStateException("connection reset"))).block());
+        assertThat(breakers.forUrl(URL).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void shouldOpenOnSlowCallsAndRejectCallsWhileOpen() {
+        CircuitBreakers breakers = CircuitBreakers.builder()
+                .setWindowSize(2)
+                .setMinimumCalls(2)
+                .setSlowCallRateThreshold(100)
+                .setSlowCallDuration(Duration.ofMillis(10))
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            breakers.guard(URL, Mono.just(response(200)).delayElement(Duration.ofMillis(20))).block();
+        }
+        assertThat(breakers.forUrl(URL).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        AtomicBoolean sent = new AtomicBoolean();
+        Throwable error = catchThrowable(() -> breakers.guard(URL,
+                Mono.fromCallable(() -> {
+                    sent.set(true);
+                    return response(200);
+                })).block());
+
+        assertThat(error).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(((CircuitBreakerOpenException) error).getEndpoint()).isEqualTo("/{id}/insights");
+        assertThat(sent.get()).isFalse();
+    }
+
+    @Test
+    public void shouldNotReleaseProbeTwiceWhenCancelledAfterResponse() throws InterruptedException {
+        CircuitBreakers breakers = CircuitBreakers.builder()
+                .setWindowSize(1)
+                .setMinimumCalls(1)
+                .setOpenDuration(Duration.ofMillis(10))
+                .setHalfOpenProbes(2)
+                .build();
+        breakers.guard(URL, Mono.just(response(500))).block();
+        Thread.sleep(20);
+
+        breakers.guard(URL, Mono.just(response(200))).flux().take(1).blockLast();
+
+        CircuitBreaker breaker = breakers.forUrl(URL);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(System.nanoTime())).isTrue();
+        assertThat(breaker.tryAcquire(System.nanoTime())).isFalse();
+    }
+
+    private static ReactiveHttpResponse response(int status) {
+        return new ReactiveHttpResponse() {
+            @Override
+            public int status() {
+                return status;
+            }
+
+            @Override
+            public Map<String, List<String>> headers() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public Mono<Object> body() {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<byte[]> bodyData() {
+                return Mono.empty();
+            }
+        };
+    }
+}
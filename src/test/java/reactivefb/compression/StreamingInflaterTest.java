@@ -0,0 +1,141 @@
+package reactivefb.compression;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingInflaterTest {
+
+    private static final byte[] BODY = body();
+
+    private final Compression compression = Compression.builder().setOutputBufferSize(512).build();
+
+    @Test
+    public void shouldInflateGzipSplitAtAnyByte() throws IOException {
+        byte[] compressed = gzip(BODY);
+
+        for (int chunkSize : new int[]{1, 3, 7, 64, compressed.length}) {
+            assertThat(inflate(Compression.GZIP, compressed, chunkSize, false)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    public void shouldInflateConcatenatedGzipMembers() throws IOException {
+        byte[] first = gzip("{\"data\":".getBytes(UTF_8));
+        byte[] second = gzip("[]}".getBytes(UTF_8));
+        byte[] compressed = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, compressed, first.length, second.length);
+
+        assertThat(new String(inflate(Compression.GZIP, compressed, 5, true), UTF_8)).isEqualTo("{\"data\":[]}");
+    }
+
+    @Test
+    public void shouldInflateZlibAndRawDeflate() throws IOException {
+        assertThat(inflate(Compression.DEFLATE, deflate(BODY, false), 2, true)).isEqualTo(BODY);
+        assertThat(inflate(Compression.DEFLATE, deflate(BODY, true), 2, true)).isEqualTo(BODY);
+    }
+
+    @Test
+    public void shouldInflateRawDeflateProducingOutputFromHeaderBytes() throws IOException {
+        byte[] body = "{}".getBytes(UTF_8);
+        byte[] compressed = deflate(body, true);
+
+        for (int chunkSize = 1; chunkSize <= compressed.length; chunkSize++) {
+            assertThat(inflate(Compression.DEFLATE, compressed, chunkSize, false)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    public void shouldCountCompressedAndInflatedBytes() throws IOException {
+        byte[] compressed = gzip(BODY);
+
+        inflate(Compression.GZIP, compressed, 100, false);
+
+        CompressionMetrics metrics = compression.getMetrics();
+        assertThat(metrics.getCompressedResponses()).isEqualTo(1);
+        assertThat(metrics.getCompressedBytes()).isEqualTo(compressed.length);
+        assertThat(metrics.getDecompressedBytes()).isEqualTo(BODY.length);
+        assertThat(metrics.getRatio()).isGreaterThan(5);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectTruncatedBody() throws IOException {
+        byte[] compressed = gzip(BODY);
+
+        inflate(Compression.GZIP, Arrays.copyOf(compressed, compressed.length - 4), 64, false);
+    }
+
+    @Test
+    public void shouldAcceptEmptyBody() throws IOException {
+        assertThat(inflate(Compression.GZIP, new byte[0], 64, false)).isEmpty();
+        assertThat(inflate(Compression.DEFLATE, new byte[0], 64, false)).isEmpty();
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectBodyTruncatedWithinHeader() throws IOException {
+        inflate(Compression.GZIP, Arrays.copyOf(gzip(BODY), 1), 64, false);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectCorruptedBody() throws IOException {
+        byte[] compressed = gzip(BODY);
+        compressed[compressed.length - 6] ^= 1;
+
+        inflate(Compression.GZIP, compressed, 64, false);
+    }
+
+    @Test
+    public void shouldNotNegotiateUnsupportedEncoding() {
+        assertThat(compression.getAcceptEncoding()).isEqualTo("gzip, deflate");
+        assertThat(compression.newInflater("br")).isNull();
+    }
+
+    private byte[] inflate(String encoding, byte[] compressed, int chunkSize, boolean direct) throws IOException {
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        StreamingInflater inflater = compression.newInflater(encoding);
+        for (int offset = 0; offset < compressed.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, compressed.length - offset);
+            ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            chunk.put(compressed, offset, length).flip();
+            inflater.inflate(chunk, buffer -> inflated.write(buffer.array(),
+                    buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+            assertThat(chunk.remaining()).isEqualTo(length);
+        }
+        inflater.finish();
+        return inflated.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] bytes, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out,
+                new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            deflate.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] body() {
+        StringBuilder body = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 500; i++) {
+            body.append(i > 0 ? "," : "").append("{\"id\":\"").append(i).append("\",\"message\":\"post\"}");
+        }
+        return body.append("]}").toString().getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package reactivefb.error;
+
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphErrorTest {
+
+    @Test
+    public void shouldParseAndClassifyError() {
+        byte[] body = ("{\"error\":{\"message\":\"(#17) User request limit reached\",\"type\":\"OAuthException\"," +
+                "\"is_transient\":true,\"error_data\":{\"x\":[1,2]},\"code\":17,\"fbtrace_id\":\"AbC\"}}")
+                .getBytes(UTF_8);
+
+        GraphError error = GraphError.parse(body, 400);
+
+        assertThat(error.getCategory()).isEqualTo(GraphError.Category.RATE_LIMIT);
+        assertThat(error.getCode()).isEqualTo(17);
+        assertThat(error.getSubcode()).isNull();
+        assertThat(error.getType()).isEqualTo("OAuthException");
+        assertThat(error.getMessage()).isEqualTo("(#17) User request limit reached");
+        assertThat(error.getFbtraceId()).isEqualTo("AbC");
+        assertThat(error.getCategory().isRetryable()).isTrue();
+    }
+
+    @Test
+    public void shouldClassifyCodes() {
+        assertThat(GraphError.classify(400, 100, 33)).isEqualTo(GraphError.Category.NOT_FOUND);
+        assertThat(GraphError.classify(400, 100, null)).isEqualTo(GraphError.Category.OTHER);
+        assertThat(GraphError.classify(403, 200, null)).isEqualTo(GraphError.Category.PERMISSION);
+        assertThat(GraphError.classify(400, 80004, null)).isEqualTo(GraphError.Category.RATE_LIMIT);
+        assertThat(GraphError.classify(401, 190, 463)).isEqualTo(GraphError.Category.OAUTH);
+        assertThat(GraphError.classify(404, null, null)).isEqualTo(GraphError.Category.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldNotCaptureStackTrace() {
+        GraphErrorException exception = new GraphErrorException(GraphError.parse("{\"error\":{\"code\":803}}", 404));
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.is(GraphError.Category.NOT_FOUND)).isTrue();
+        assertThat(GraphError.parse("{\"data\":[]}", 200)).isNull();
+    }
+}
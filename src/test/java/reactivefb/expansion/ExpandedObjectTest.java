@@ -0,0 +1,67 @@
+package reactivefb.expansion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpandedObjectTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final GraphQuery query = GraphQuery.of("1")
+            .edge(Edge.of("posts").limit(2).fields("message"))
+            .edge(Edge.of("photos").limit(2));
+    private final List<String> pageRequests = new ArrayList<>();
+
+    @Test
+    public void shouldPageTruncatedEdgeOnlyWhenSubscribed() throws IOException {
+        ExpandedObject object = expanded("{\"id\":\"1\"," +
+                "\"posts\":{\"data\":[{\"id\":\"1_1\",\"message\":\"a\"},{\"id\":\"1_2\",\"message\":\"b\"}]," +
+                "\"paging\":{\"cursors\":{\"after\":\"c2\"},\"next\":\"https://graph.facebook.com/1/posts?after=c2\"}}}");
+
+        Flux<Post> posts = object.edge("posts", Post.class);
+        assertThat(object.isTruncated("posts")).isTrue();
+        assertThat(pageRequests).isEmpty();
+
+        List<Post> fetched = posts.collectList().block();
+
+        assertThat(fetched).extracting(post -> post.message).containsExactly("a", "b", "c", "d");
+        assertThat(pageRequests).containsExactly("1/posts after c2 fields=id,message");
+    }
+
+    @Test
+    public void shouldNotPageCompleteEdge() throws IOException {
+        ExpandedObject object = expanded("{\"id\":\"1\"," +
+                "\"photos\":{\"data\":[{\"id\":\"1_3\"}],\"paging\":{\"cursors\":{\"after\":\"c3\"}}}}");
+
+        List<ExpandedObject> photos = object.edge("photos").collectList().block();
+
+        assertThat(object.isTruncated("photos")).isFalse();
+        assertThat(photos).extracting(ExpandedObject::getId).containsExactly("1_3");
+        assertThat(pageRequests).isEmpty();
+    }
+
+    private ExpandedObject expanded(String json) throws IOException {
+        return new ExpandedObject(objectMapper.readTree(json), query, objectMapper, (parentId, edge, afterCursor) -> {
+            pageRequests.add(parentId + "/" + edge.getName() + " after " + afterCursor
+                    + " fields=" + edge.toFieldsParameter());
+            return Flux.just(post("1_3", "c"), post("1_4", "d"));
+        });
+    }
+
+    private static JsonNode post(String id, String message) {
+        return objectMapper.createObjectNode().put("id", id).put("message", message);
+    }
+
+    public static class Post {
+        public String id;
+        public String message;
+    }
+}
@@ -0,0 +1,26 @@
+package reactivefb.expansion;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphQueryTest {
+
+    @Test
+    public void shouldCompileNestedEdges() {
+        GraphQuery query = GraphQuery.of("20531316728").fields("name")
+                .edge(Edge.of("posts").limit(100).fields("message", "created_time")
+                        .edge(Edge.of("comments").limit(50).fields("message"))
+                        .edge(Edge.of("reactions").limit(0).modifier("summary", "true")));
+
+        assertThat(query.toFieldsParameter()).isEqualTo("id,name," +
+                "posts.limit(100){id,message,created_time," +
+                "comments.limit(50){id,message}," +
+                "reactions.limit(0).summary(true){id}}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectDuplicateEdge() {
+        GraphQuery.of("me").edge(Edge.of("posts")).edge(Edge.of("posts"));
+    }
+}
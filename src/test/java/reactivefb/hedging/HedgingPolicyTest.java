@@ -0,0 +1,71 @@
+package reactivefb.hedging;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void shouldAnswerWithHedgeIfPrimaryIsSlow() {
+        HedgingPolicy policy = HedgingPolicy.builder()
+                .setInitialDelay(Duration.ofMillis(20))
+                .setBudgetPercent(100)
+                .build();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+
+        String result = policy.hedge(() -> sent.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(10)).map(tick -> "primary").doOnCancel(cancelled::incrementAndGet)
+                : Mono.just("hedge"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(cancelled.get()).isEqualTo(1);
+        assertThat(policy.getMetrics().getHedgesFired()).isEqualTo(1);
+        assertThat(policy.getMetrics().getHedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotHedgeBeyondBudget() {
+        HedgingPolicy policy = HedgingPolicy.builder()
+                .setInitialDelay(Duration.ofMillis(1))
+                .setBudgetPercent(50)
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            policy.hedge(() -> Mono.delay(Duration.ofMillis(30)).map(tick -> "slow")).block();
+        }
+
+        assertThat(policy.getMetrics().getHedgesFired()).isEqualTo(2);
+        assertThat(policy.getMetrics().getHedgesDenied()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDelayHedgeByPercentile() {
+        LatencyTracker tracker = new LatencyTracker(100, 90, 10, 1);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertThat(tracker.percentileNanos()).isEqualTo(90);
+        assertThat(new LatencyTracker(100, 90, 1, 1).percentileNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldEstimatePercentileOnlyFromMinSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 50, 10, 50);
+        for (int i = 1; i < 10; i++) {
+            tracker.record(1000);
+            assertThat(tracker.percentileNanos()).isEqualTo(-1);
+        }
+
+        tracker.record(1);
+
+        assertThat(tracker.percentileNanos()).isEqualTo(1000);
+    }
+}
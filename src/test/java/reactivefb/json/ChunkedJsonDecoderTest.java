@@ -0,0 +1,54 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.FacebookClient.AccessToken;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class ChunkedJsonDecoderTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Test
+    public void shouldDecodeHeapAndDirectChunks() throws IOException {
+        String token = "{\"access_token\":\"abc|def\",\"token_type\":\"bearer\",\"expires_in\":5183944}";
+
+        ChunkedJsonDecoder<AccessToken> decoder = new ChunkedJsonDecoder<>(
+                objectMapper.readerFor(AccessToken.class), new ArrayByteBufferPool());
+        byte[] bytes = token.getBytes(UTF_8);
+        for (int i = 0; i < bytes.length; i += 5) {
+            int length = Math.min(5, bytes.length - i);
+            ByteBuffer chunk = i % 2 == 0
+                    ? ByteBuffer.wrap(bytes, i, length)
+                    : (ByteBuffer) ByteBuffer.allocateDirect(length).put(bytes, i, length).flip();
+            decoder.feed(chunk);
+            assertThat(chunk.remaining()).isEqualTo(length);
+        }
+
+        AccessToken accessToken = decoder.finish();
+        assertThat(accessToken.getAccessToken()).isEqualTo("abc|def");
+        assertThat(accessToken.getTokenType()).isEqualTo("bearer");
+        assertThat(accessToken.getExpires()).isNotNull();
+    }
+
+    @Test
+    public void shouldReturnNullForEmptyBody() throws IOException {
+        ChunkedJsonDecoder<AccessToken> decoder = new ChunkedJsonDecoder<>(
+                objectMapper.readerFor(AccessToken.class), new ArrayByteBufferPool());
+        decoder.feed(ByteBuffer.allocate(0));
+
+        assertThat(decoder.finish()).isNull();
+    }
+}
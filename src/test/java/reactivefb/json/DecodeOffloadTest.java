@@ -0,0 +1,57 @@
+package reactivefb.json;
+
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.eclipse.jetty.util.Callback;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecodeOffloadTest {
+
+    private final Scheduler scheduler = Schedulers.newSingle("decode");
+    private final DecodeOffload offload = DecodeOffload.builder()
+            .setScheduler(scheduler)
+            .setMinContentLength(10)
+            .build();
+
+    @Test
+    public void shouldPublishBigBodyOnDecodeScheduler() {
+        String thread = offload.apply(chunks(), 100)
+                .map(chunk -> Thread.currentThread().getName())
+                .blockLast();
+
+        assertThat(thread).startsWith("decode");
+    }
+
+    @Test
+    public void shouldPublishBodyOfUnknownLengthOnDecodeScheduler() {
+        String thread = offload.apply(chunks(), -1)
+                .map(chunk -> Thread.currentThread().getName())
+                .blockLast();
+
+        assertThat(thread).startsWith("decode");
+    }
+
+    @Test
+    public void shouldKeepSmallBodyInPlace() {
+        String thread = offload.apply(chunks(), 5)
+                .map(chunk -> Thread.currentThread().getName())
+                .blockLast();
+
+        assertThat(thread).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositivePrefetch() {
+        DecodeOffload.builder().setPrefetch(0).build();
+    }
+
+    private static Flux<ContentChunk> chunks() {
+        return Flux.just(new ContentChunk(ByteBuffer.wrap(new byte[]{'{', '}'}), Callback.NOOP));
+    }
+}
@@ -0,0 +1,41 @@
+package reactivefb.json;
+
+import org.junit.Test;
+import reactivefb.json.types.Connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagingScannerTest {
+
+    @Test
+    public void shouldExtractPagingFromChunks() throws IOException {
+        String page = "{\"data\":[{\"id\":\"1\",\"paging\":{\"next\":\"wrong\"}},{\"id\":\"2\"}]," +
+                "\"paging\":{\"cursors\":{\"before\":\"b1\",\"after\":\"a1\"}," +
+                "\"next\":\"http://graph.facebook.com/v2.9/me/feed?after=a1\"}}";
+
+        PagingScanner scanner = new PagingScanner();
+        byte[] bytes = page.getBytes(UTF_8);
+        for (int i = 0; i < bytes.length; i += 7) {
+            ByteBuffer chunk = ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i));
+            scanner.feed(chunk);
+            assertThat(chunk.position()).isEqualTo(i);
+        }
+
+        Connection.Paging paging = scanner.finish();
+        assertThat(paging.getNext()).isEqualTo("https://graph.facebook.com/v2.9/me/feed?after=a1");
+        assertThat(paging.getCursors().getBefore()).isEqualTo("b1");
+        assertThat(paging.getCursors().getAfter()).isEqualTo("a1");
+    }
+
+    @Test
+    public void shouldReturnNullIfNoPaging() throws IOException {
+        PagingScanner scanner = new PagingScanner();
+        scanner.feed(ByteBuffer.wrap("{\"data\":[]}".getBytes(UTF_8)));
+
+        assertThat(scanner.finish()).isNull();
+    }
+}
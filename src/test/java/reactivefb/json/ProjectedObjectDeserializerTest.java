@@ -0,0 +1,63 @@
+package reactivefb.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+import reactivefb.Projection;
+import reactivefb.json.types.Connection;
+import reactivefb.json.types.ProjectedObject;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class ProjectedObjectDeserializerTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private final Projection projection = Projection.of("id", "created_time", "shares");
+
+    @Test
+    public void shouldDecodeOnlyProjectedFields() throws IOException {
+
+        ObjectReader reader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructParametricType(Connection.class, ProjectedObject.class))
+                .withAttribute(Projection.class, projection);
+
+        Connection<ProjectedObject> connection = reader.readValue("{\"data\":[" +
+                "{\"id\":\"1_2\",\"message\":\"skipped\",\"from\":{\"id\":\"1\",\"tags\":[1,2]}," +
+                "\"created_time\":\"2018-10-01T10:15:30+0000\",\"shares\":{\"count\":3}}," +
+                "{\"id\":\"1_3\"}]," +
+                "\"paging\":{\"cursors\":{\"after\":\"abc\"}}}");
+
+        assertThat(connection.getData()).hasSize(2);
+
+        ProjectedObject first = connection.getData().get(0);
+        assertThat(first.getId()).isEqualTo("1_2");
+        assertThat(first.getString("created_time")).isEqualTo("2018-10-01T10:15:30+0000");
+        assertThat(first.asMap()).containsOnlyKeys("id", "created_time", "shares");
+        assertThat(first.asMap().get("shares")).isInstanceOf(java.util.Map.class);
+
+        ProjectedObject second = connection.getData().get(1);
+        assertThat(second.asMap()).containsOnlyKeys("id");
+        assertThat(second.get("created_time")).isNull();
+
+        assertThat(connection.getPaging().getCursors().getAfter()).isEqualTo("abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNotProjectedField() throws IOException {
+        ProjectedObject object = objectMapper.readerFor(ProjectedObject.class)
+                .withAttribute(Projection.class, projection)
+                .readValue("{\"id\":\"1_2\"}");
+
+        object.get("message");
+    }
+
+}
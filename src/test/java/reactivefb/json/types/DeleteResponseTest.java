@@ -0,0 +1,29 @@
+package reactivefb.json.types;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefb.json.FacebookPropertyNamingStrategy.FACEBOOK_NAMING_STRATEGY;
+
+public class DeleteResponseTest {
+
+    private final static ObjectMapper objectMapper = new ObjectMapper();
+    static {
+        objectMapper.setPropertyNamingStrategy(FACEBOOK_NAMING_STRATEGY);
+    }
+
+    private final ObjectReader reader = objectMapper.readerFor(DeleteResponse.class);
+
+    @Test
+    public void shouldDecodeAllResponseFormats() throws IOException {
+        assertThat(reader.<DeleteResponse>readValue("{\"success\":true}").isDeleted()).isTrue();
+        assertThat(reader.<DeleteResponse>readValue("{\"success\":false}").isDeleted()).isFalse();
+        assertThat(reader.<DeleteResponse>readValue("{\"result\":\"Successfully deleted\"}").isDeleted()).isTrue();
+        assertThat(reader.<DeleteResponse>readValue("true").isDeleted()).isTrue();
+        assertThat(reader.<DeleteResponse>readValue("false").isDeleted()).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package reactivefb.leak;
+
+import org.junit.Test;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResponseTrackerTest {
+
+    private final AtomicInteger cancelled = new AtomicInteger();
+    private final List<ResponseLeak> leaks = new ArrayList<>();
+
+    @Test
+    public void shouldStopTrackingConsumedResponse() {
+        ResponseTracker tracker = ResponseTracker.builder().setLeakListener(leaks::add).build();
+
+        ReactiveHttpResponse response = tracker.track("/me", response(Flux.just(ByteBuffer.allocate(1))));
+        assertThat(tracker.getOpen()).isEqualTo(1);
+
+        assertThat(Flux.from(response.body()).count().block()).isEqualTo(1);
+        assertThat(tracker.getOpen()).isZero();
+        assertThat(cancelled.get()).isZero();
+    }
+
+    @Test
+    public void shouldKeepMonoBody() {
+        ResponseTracker tracker = ResponseTracker.builder().build();
+
+        ReactiveHttpResponse response = tracker.track("/me", response(Mono.just("body")));
+
+        assertThat(response.body()).isInstanceOf(Mono.class);
+    }
+
+    @Test
+    public void shouldReleaseNotConsumedResponse() throws InterruptedException {
+        ResponseTracker tracker = ResponseTracker.builder()
+                .setDebug(true)
+                .setMaxUnconsumedAge(Duration.ZERO)
+                .setLeakListener(leaks::add)
+                .build();
+
+        ReactiveHttpResponse response = tracker.track("/me", response(Flux.never()));
+        Thread.sleep(5);
+        tracker.detectLeaks();
+
+        assertThat(tracker.getLeaked()).isEqualTo(1);
+        assertThat(tracker.getOpen()).isZero();
+        assertThat(cancelled.get()).isEqualTo(1);
+        assertThat(leaks).hasSize(1);
+        assertThat(leaks.get(0).getUrl()).isEqualTo("/me");
+        assertThat(leaks.get(0).getCreationStack()).isNotNull();
+
+        assertThatThrownBy(() -> response.bodyData().block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldReleaseExplicitly() {
+        ResponseTracker tracker = ResponseTracker.builder().setLeakListener(leaks::add).build();
+
+        ReactiveHttpResponse response = tracker.track("/me", response(Flux.never()));
+        ResponseTracker.release(response);
+        ResponseTracker.release(response);
+
+        assertThat(cancelled.get()).isEqualTo(1);
+        assertThat(tracker.getOpen()).isZero();
+        assertThat(leaks).isEmpty();
+    }
+
+    private ReactiveHttpResponse response(Mono<?> body) {
+        Mono<?> tracked = body.doOnCancel(cancelled::incrementAndGet);
+        return new DelegatingReactiveHttpResponse(null) {
+            @Override
+            public Mono<?> body() {
+                return tracked;
+            }
+        };
+    }
+
+    private ReactiveHttpResponse response(Flux<?> body) {
+        Flux<?> tracked = body.doOnCancel(cancelled::incrementAndGet);
+        return new DelegatingReactiveHttpResponse(null) {
+            @Override
+            public Flux<?> body() {
+                return tracked;
+            }
+
+            @Override
+            public Mono<byte[]> bodyData() {
+                return tracked.then(Mono.just(new byte[0]));
+            }
+        };
+    }
+}
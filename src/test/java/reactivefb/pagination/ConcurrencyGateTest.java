@@ -0,0 +1,56 @@
+package reactivefb.pagination;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyGateTest {
+
+    @Test
+    public void shouldServeWaitersInArrivalOrder() {
+        ConcurrencyGate gate = new ConcurrencyGate(1);
+        MonoProcessor<String> first = MonoProcessor.create();
+        List<String> completed = new ArrayList<>();
+
+        gate.limit(first).subscribe(completed::add);
+        gate.limit(Mono.just("second")).subscribe(completed::add);
+        gate.limit(Mono.just("third")).subscribe(completed::add);
+        assertThat(completed).isEmpty();
+        assertThat(gate.getAvailable()).isEqualTo(0);
+
+        first.onNext("first");
+
+        assertThat(completed).containsExactly("first", "second", "third");
+        assertThat(gate.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotReleasePermitOfCancelledWaiter() {
+        ConcurrencyGate gate = new ConcurrencyGate(1);
+        Disposable holder = gate.limit(Mono.never()).subscribe();
+        Disposable waiter = gate.limit(Mono.just(1)).subscribe();
+
+        waiter.dispose();
+        assertThat(gate.getAvailable()).isEqualTo(0);
+
+        holder.dispose();
+        assertThat(gate.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReleasePermitOnceWhenHolderIsCancelled() {
+        ConcurrencyGate gate = new ConcurrencyGate(2);
+        Disposable holder = gate.limit(Mono.never()).subscribe();
+
+        holder.dispose();
+        holder.dispose();
+
+        assertThat(gate.getAvailable()).isEqualTo(2);
+    }
+}
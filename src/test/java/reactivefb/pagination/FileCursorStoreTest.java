@@ -0,0 +1,61 @@
+package reactivefb.pagination;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileCursorStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreLatestCheckpoints() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cursors");
+
+        try (FileCursorStore store = new FileCursorStore(file)) {
+            store.save("feed", Checkpoint.afterCursor("a1")).block();
+            store.save("feed", Checkpoint.afterCursor("a2")).block();
+            store.save("photos", Checkpoint.pageUrl("https://graph.facebook.com/me/photos?until=1")).block();
+            store.save("comments", Checkpoint.afterCursor("c1")).block();
+            store.remove("comments").block();
+        }
+
+        Files.write(file, "feed\tAFTER_CURSOR\ta3-incomplete".getBytes(UTF_8), StandardOpenOption.APPEND);
+
+        try (FileCursorStore store = new FileCursorStore(file)) {
+            assertThat(store.load("feed").block()).isEqualTo(Checkpoint.afterCursor("a2"));
+            assertThat(store.load("photos").block())
+                    .isEqualTo(Checkpoint.pageUrl("https://graph.facebook.com/me/photos?until=1"));
+            assertThat(store.load("comments").block()).isNull();
+
+            store.save("feed", Checkpoint.afterCursor("a4")).block();
+        }
+
+        try (FileCursorStore store = new FileCursorStore(file)) {
+            assertThat(store.load("feed").block()).isEqualTo(Checkpoint.afterCursor("a4"));
+        }
+    }
+
+    @Test
+    public void shouldCompact() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cursors");
+
+        try (FileCursorStore store = new FileCursorStore(file)) {
+            for (int i = 0; i < 20; i++) {
+                store.save("feed", Checkpoint.afterCursor("a" + i)).block();
+            }
+            store.compact();
+        }
+
+        assertThat(Files.readAllLines(file, UTF_8)).containsExactly("feed\tAFTER_CURSOR\ta19");
+    }
+}
@@ -0,0 +1,27 @@
+package reactivefb.pagination;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HighWaterMarkTest {
+
+    @Test
+    public void shouldTrackIdsSeenAtNewestSecond() {
+        HighWaterMark mark = new HighWaterMark(100, Collections.singleton("a"))
+                .advance(100, "b")
+                .advance(99, "c");
+
+        assertThat(mark.getEpochSecond()).isEqualTo(100);
+        assertThat(mark.getIdsAtSecond()).containsOnly("a", "b");
+        assertThat(mark.isSeen(100, "b")).isTrue();
+        assertThat(mark.isSeen(100, "d")).isFalse();
+        assertThat(mark.isSeen(99, "d")).isTrue();
+
+        HighWaterMark advanced = mark.advance(101, "d");
+        assertThat(advanced.getIdsAtSecond()).containsOnly("d");
+        assertThat(advanced.isSeen(100, "e")).isTrue();
+    }
+}
@@ -0,0 +1,207 @@
+package reactivefb.pagination;
+
+import com.restfb.Parameter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactivefb.ReactiveFacebookClient;
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalSyncTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final StubFeed feed = new StubFeed();
+    private final InMemoryStore store = new InMemoryStore();
+    private final IncrementalSync<Item> sync = IncrementalSync.builder(feed.client(), "feed", Item.class)
+            .setTimeExtractor(item -> item.time)
+            .setIdExtractor(item -> item.id)
+            .setStore(store)
+            .build();
+
+    @Test
+    public void shouldEmitOnlyItemsNewerThanPreviousSync() {
+        feed.publish(new Item("a", 100), new Item("b", 101), new Item("c", 102));
+        assertThat(ids(sync.sync("page").collectList().block())).containsExactly("c", "b", "a");
+
+        feed.publish(new Item("d", 102), new Item("e", 103));
+        assertThat(ids(sync.sync("page").collectList().block())).containsExactly("e", "d");
+        assertThat(sync.sync("page").collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void shouldQuerySinceMarkAndStopAtSeenItem() {
+        feed.ignoreSince = true;
+        feed.publish(new Item("a", 100), new Item("b", 101), new Item("c", 102), new Item("d", 103));
+        sync.sync("page").blockLast();
+        assertThat(feed.since).containsExactly((Long) null);
+        assertThat(feed.nextPages).isEqualTo(1);
+
+        feed.publish(new Item("e", 104), new Item("f", 105));
+        sync.sync("page").blockLast();
+
+        assertThat(feed.since).containsExactly(null, 103L);
+        assertThat(feed.nextPages).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldSaveMarkOnlyAfterItemsAreDelivered() {
+        feed.publish(new Item("a", 100), new Item("b", 101), new Item("c", 101));
+
+        List<String> savedOnDelivery = new ArrayList<>();
+        sync.sync("page")
+                .doOnNext(item -> savedOnDelivery.add(String.valueOf(store.marks.get("page/feed"))))
+                .blockLast();
+
+        assertThat(savedOnDelivery).containsExactly("null", "null", "null");
+        assertThat(store.marks.get("page/feed"))
+                .isEqualTo(new HighWaterMark(101, new HashSet<>(Arrays.asList("b", "c"))));
+    }
+
+    @Test
+    public void shouldNotSaveMarkIfDeliveryIsCancelled() {
+        feed.publish(new Item("a", 100), new Item("b", 101), new Item("c", 102));
+
+        sync.sync("page").take(1).blockLast();
+
+        assertThat(store.marks).isEmpty();
+        assertThat(ids(sync.sync("page").collectList().block())).containsExactly("c", "b", "a");
+    }
+
+    @Test
+    public void shouldSkipItemsWithoutTime() {
+        feed.publish(new Item("a", 100), new Item("untimed", null), new Item("b", 101));
+
+        assertThat(ids(sync.sync("page").collectList().block())).containsExactly("b", "a");
+        assertThat(sync.sync("page").collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void shouldPersistMarksInFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("marks");
+
+        try (FileHighWaterMarkStore fileStore = new FileHighWaterMarkStore(file)) {
+            fileStore.save("page/feed", new HighWaterMark(100, Collections.singleton("a"))).block();
+            fileStore.save("page/feed", new HighWaterMark(101, new HashSet<>(Arrays.asList("b", "c")))).block();
+            fileStore.save("page/photos", new HighWaterMark(50, Collections.emptySet())).block();
+        }
+
+        try (FileHighWaterMarkStore fileStore = new FileHighWaterMarkStore(file)) {
+            assertThat(fileStore.load("page/feed").block())
+                    .isEqualTo(new HighWaterMark(101, new HashSet<>(Arrays.asList("b", "c"))));
+            assertThat(fileStore.load("page/photos").block())
+                    .isEqualTo(new HighWaterMark(50, Collections.emptySet()));
+            assertThat(fileStore.load("page/comments").block()).isNull();
+        }
+    }
+
+    private static List<String> ids(List<Item> items) {
+        List<String> ids = new ArrayList<>();
+        for (Item item : items) {
+            ids.add(item.id);
+        }
+        return ids;
+    }
+
+    public static class Item {
+        final String id;
+        final Date time;
+
+        Item(String id, Integer second) {
+            this.id = id;
+            this.time = second != null ? new Date(second * 1000L) : null;
+        }
+    }
+
+    /**
+     * Feed answering newest first in pages of two items, honoring {@code since} the way Graph API does
+     * unless told to ignore it.
+     */
+    private static class StubFeed {
+        private static final int PAGE_SIZE = 2;
+
+        final List<Item> items = new ArrayList<>();
+        final List<Long> since = new ArrayList<>();
+        int nextPages;
+        boolean ignoreSince;
+
+        void publish(Item... published) {
+            for (Item item : published) {
+                items.add(0, item);
+            }
+        }
+
+        ReactiveFacebookClient client() {
+            return (ReactiveFacebookClient) Proxy.newProxyInstance(IncrementalSyncTest.class.getClassLoader(),
+                    new Class[]{ReactiveFacebookClient.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "fetchConnection":
+                                Long sinceSecond = null;
+                                for (Parameter parameter : (Parameter[]) args[2]) {
+                                    if (parameter.name.equals(TimeSlicedBackfill.SINCE_PARAM_NAME)) {
+                                        sinceSecond = Long.parseLong(parameter.value);
+                                    }
+                                }
+                                since.add(sinceSecond);
+                                return page(sinceSecond, 0);
+                            case "fetchConnectionPage":
+                                nextPages++;
+                                String[] cursor = ((String) args[0]).split("#")[1].split(",");
+                                return page(cursor[0].isEmpty() ? null : Long.parseLong(cursor[0]),
+                                        Integer.parseInt(cursor[1]));
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private Mono<Connection<Item>> page(Long sinceSecond, int offset) {
+            List<Item> matching = new ArrayList<>();
+            for (Item item : items) {
+                if (ignoreSince || sinceSecond == null || item.time == null || item.time.getTime() / 1000 >= sinceSecond) {
+                    matching.add(item);
+                }
+            }
+            int end = Math.min(matching.size(), offset + PAGE_SIZE);
+            Connection<Item> page = new Connection<>();
+            page.setData(new ArrayList<>(matching.subList(offset, end)));
+            if (end < matching.size()) {
+                Connection.Paging paging = new Connection.Paging();
+                paging.setNext("https://graph.facebook.com/page/feed#" + (sinceSecond != null ? sinceSecond : "")
+                        + "," + end);
+                page.setPaging(paging);
+            }
+            return Mono.just(page);
+        }
+    }
+
+    private static class InMemoryStore implements HighWaterMarkStore {
+        final Map<String, HighWaterMark> marks = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<HighWaterMark> load(String syncId) {
+            return Mono.justOrEmpty(marks.get(syncId));
+        }
+
+        @Override
+        public Mono<Void> save(String syncId, HighWaterMark highWaterMark) {
+            return Mono.fromRunnable(() -> marks.put(syncId, highWaterMark));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package reactivefb.pagination;
+
+import com.restfb.Parameter;
+import org.junit.Test;
+import reactivefb.ReactiveFacebookClient;
+import reactivefb.json.types.Connection;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeSlicedBackfillTest {
+
+    @Test
+    public void shouldSplitRangeIntoAdjacentWindowsNewestFirst() {
+        List<TimeSlicedBackfill.Window> windows = new TimeSlicedBackfill.Window(0, 250).splitBy(100);
+
+        assertThat(windows).extracting(Object::toString)
+                .containsExactly("[150, 250]", "[50, 150]", "[0, 50]");
+    }
+
+    @Test
+    public void shouldSubdivideWindow() {
+        List<TimeSlicedBackfill.Window> windows = new TimeSlicedBackfill.Window(10, 20).splitInto(4);
+
+        assertThat(windows).extracting(Object::toString)
+                .containsExactly("[17, 20]", "[14, 17]", "[11, 14]", "[10, 11]");
+        assertThat(windows.get(0).isBoundary(17)).isTrue();
+    }
+
+    @Test
+    public void shouldFetchEveryItemOnceNewestFirst() {
+        StubFeed feed = new StubFeed(10, false);
+
+        List<Item> items = backfill(feed)
+                .setWindow(Duration.ofSeconds(25))
+                .build().fetch().collectList().block();
+
+        assertThat(items).extracting(item -> item.id).containsExactlyElementsOf(feed.idsNewestFirst());
+        assertThat(feed.windows).containsExactlyInAnyOrder("[75, 100]", "[50, 75]", "[25, 50]", "[0, 25]");
+    }
+
+    @Test
+    public void shouldSubdivideRestOfDenseWindow() {
+        StubFeed feed = new StubFeed(5, false);
+
+        List<Item> items = backfill(feed)
+                .setWindow(Duration.ofSeconds(100))
+                .setDensePageThreshold(2)
+                .setMinWindow(Duration.ofSeconds(10))
+                .build().fetch().collectList().block();
+
+        assertThat(items).extracting(item -> item.id).containsExactlyElementsOf(feed.idsNewestFirst());
+        assertThat(feed.windows).startsWith("[0, 100]")
+                .contains("[68, 91]", "[45, 68]", "[22, 45]", "[0, 22]");
+    }
+
+    @Test
+    public void shouldEmitItemsAsSoonAsFetchedIfUnordered() {
+        StubFeed feed = new StubFeed(10, true);
+
+        List<Item> items = backfill(feed)
+                .setWindow(Duration.ofSeconds(25))
+                .setOrdered(false)
+                .build().fetch().collectList().block(Duration.ofSeconds(10));
+
+        assertThat(items).extracting(item -> item.id).containsExactlyInAnyOrderElementsOf(feed.idsNewestFirst());
+        assertThat(items.get(0).time.getTime() / 1000).isLessThanOrEqualTo(25);
+    }
+
+    @Test
+    public void shouldKeepWindowOrderIfOrdered() {
+        StubFeed feed = new StubFeed(10, true);
+
+        List<Item> items = backfill(feed)
+                .setWindow(Duration.ofSeconds(25))
+                .build().fetch().collectList().block(Duration.ofSeconds(10));
+
+        assertThat(items).extracting(item -> item.id).containsExactlyElementsOf(feed.idsNewestFirst());
+    }
+
+    @Test
+    public void shouldLimitRequestsInFlight() {
+        StubFeed feed = new StubFeed(3, true);
+
+        List<Item> items = backfill(feed)
+                .setWindow(Duration.ofSeconds(10))
+                .setDensePageThreshold(2)
+                .setMinWindow(Duration.ofSeconds(2))
+                .setParallelism(2)
+                .build().fetch().collectList().block(Duration.ofSeconds(30));
+
+        assertThat(items).hasSize(101);
+        assertThat(feed.maxInFlight.get()).isEqualTo(2);
+    }
+
+    private static TimeSlicedBackfill.Builder<Item> backfill(StubFeed feed) {
+        return TimeSlicedBackfill.builder(feed.client(), "me/feed", Item.class)
+                .setTimeExtractor(item -> item.time)
+                .setIdExtractor(item -> item.id)
+                .setRange(Instant.ofEpochSecond(0), Instant.ofEpochSecond(100));
+    }
+
+    public static class Item {
+        final String id;
+        final Date time;
+
+        Item(long second) {
+            this.id = "item-" + second;
+            this.time = new Date(second * 1000);
+        }
+    }
+
+    /**
+     * Feed with an item every second of [0, 100], paged newest first the way Graph API pages
+     * {@code since}/{@code until} queries. Slow feed answers requests of newer windows later.
+     */
+    private static class StubFeed {
+        final int pageSize;
+        final boolean slow;
+        final Queue<String> windows = new ConcurrentLinkedQueue<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        StubFeed(int pageSize, boolean slow) {
+            this.pageSize = pageSize;
+            this.slow = slow;
+        }
+
+        List<String> idsNewestFirst() {
+            List<String> ids = new ArrayList<>();
+            for (long second = 100; second >= 0; second--) {
+                ids.add(new Item(second).id);
+            }
+            return ids;
+        }
+
+        ReactiveFacebookClient client() {
+            return (ReactiveFacebookClient) Proxy.newProxyInstance(TimeSlicedBackfillTest.class.getClassLoader(),
+                    new Class[]{ReactiveFacebookClient.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "fetchConnection":
+                                long since = 0;
+                                long until = 0;
+                                for (Parameter parameter : (Parameter[]) args[2]) {
+                                    if (parameter.name.equals(TimeSlicedBackfill.SINCE_PARAM_NAME)) {
+                                        since = Long.parseLong(parameter.value);
+                                    } else if (parameter.name.equals(TimeSlicedBackfill.UNTIL_PARAM_NAME)) {
+                                        until = Long.parseLong(parameter.value);
+                                    }
+                                }
+                                windows.add("[" + since + ", " + until + "]");
+                                return page(since, until, 0);
+                            case "fetchConnectionPage":
+                                String[] cursor = ((String) args[0]).split("#")[1].split(",");
+                                return page(Long.parseLong(cursor[0]), Long.parseLong(cursor[1]),
+                                        Integer.parseInt(cursor[2]));
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private Mono<Connection<Item>> page(long since, long until, int offset) {
+            List<Item> data = new ArrayList<>();
+            for (long second = until - offset; second >= since && data.size() < pageSize; second--) {
+                data.add(new Item(second));
+            }
+            Connection<Item> page = new Connection<>();
+            page.setData(data);
+            if (until - offset - data.size() >= since) {
+                Connection.Paging paging = new Connection.Paging();
+                paging.setNext("https://graph.facebook.com/me/feed#" + since + "," + until + ","
+                        + (offset + data.size()));
+                page.setPaging(paging);
+            }
+            Mono<Long> response = slow ? Mono.delay(Duration.ofMillis(10 + until)) : Mono.just(0L);
+            return response
+                    .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .map(tick -> {
+                        inFlight.decrementAndGet();
+                        return page;
+                    });
+        }
+    }
+}
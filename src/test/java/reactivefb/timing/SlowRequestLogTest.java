@@ -0,0 +1,101 @@
+package reactivefb.timing;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowRequestLogTest {
+
+    private final List<RequestTimings> reported = new ArrayList<>();
+
+    @Test
+    public void shouldReportRequestSlowInTotal() throws InterruptedException {
+        SlowRequestLog log = SlowRequestLog.builder()
+                .setThreshold(Duration.ofMillis(5))
+                .setListener(reported::add)
+                .build();
+
+        RequestTimings fast = completed();
+        log.record(fast);
+        assertThat(reported).isEmpty();
+
+        RequestTimings slow = new RequestTimings("/me");
+        Thread.sleep(10);
+        complete(slow);
+        log.record(slow);
+
+        assertThat(reported).containsExactly(slow);
+        assertThat(log.getSlow()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReportRequestSlowInPhase() throws InterruptedException {
+        SlowRequestLog log = SlowRequestLog.builder()
+                .setThreshold(RequestTimings.Phase.WAITING, Duration.ofMillis(5))
+                .setListener(reported::add)
+                .build();
+
+        RequestTimings timings = new RequestTimings("/me/feed");
+        timings.requestBegun();
+        timings.requestSent();
+        Thread.sleep(10);
+        timings.responseBegun(200);
+        timings.responseReceived();
+        timings.completed();
+        log.record(timings);
+
+        assertThat(reported).containsExactly(timings);
+        assertThat(timings.get(RequestTimings.Phase.WAITING)).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+        assertThat(timings.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void shouldNotReportNotSampled() throws InterruptedException {
+        SlowRequestLog log = SlowRequestLog.builder()
+                .setThreshold(Duration.ZERO)
+                .setSampleRate(0)
+                .setListener(reported::add)
+                .build();
+
+        RequestTimings timings = new RequestTimings("/me");
+        Thread.sleep(1);
+        complete(timings);
+        log.record(timings);
+
+        assertThat(reported).isEmpty();
+        assertThat(log.getSlow()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldKeepNotReachedPhasesEmpty() {
+        RequestTimings timings = new RequestTimings("/me");
+        timings.requestBegun();
+
+        assertThat(timings.get(RequestTimings.Phase.QUEUEING)).isNotNull();
+        assertThat(timings.get(RequestTimings.Phase.SENDING)).isNull();
+        assertThat(timings.isCompleted()).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireThreshold() {
+        SlowRequestLog.builder().build();
+    }
+
+    private static RequestTimings completed() {
+        RequestTimings timings = new RequestTimings("/me");
+        complete(timings);
+        return timings;
+    }
+
+    private static void complete(RequestTimings timings) {
+        timings.requestBegun();
+        timings.requestSent();
+        timings.responseBegun(200);
+        timings.responseReceived();
+        timings.completed();
+    }
+}
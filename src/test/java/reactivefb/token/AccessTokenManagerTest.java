@@ -0,0 +1,103 @@
+package reactivefb.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.Parameter;
+import org.junit.Test;
+import reactivefb.ReactiveFacebookClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessTokenManagerTest {
+
+    private static final Instant NOW = Instant.parse("2018-10-01T10:15:30Z");
+
+    private final AtomicInteger debugCalls = new AtomicInteger();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    @Test
+    public void shouldShareRefreshOfDueToken() {
+        AccessTokenManager manager = AccessTokenManager.builder(debugTokenClient(), "app", "secret")
+                .setAccessToken("old")
+                .setRefreshAhead(Duration.ofDays(1))
+                .setRefresher(token -> {
+                    refreshes.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(50)).map(tick -> "new");
+                })
+                .setClock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+
+        List<String> tokens = Flux.range(0, 3)
+                .flatMap(i -> manager.getAccessToken())
+                .collectList().block();
+
+        assertThat(tokens).containsExactly("new", "new", "new");
+        assertThat(refreshes.get()).isEqualTo(1);
+
+        assertThat(manager.getAccessToken().block()).isEqualTo("new");
+        assertThat(manager.getAccessToken().block()).isEqualTo("new");
+        assertThat(refreshes.get()).isEqualTo(1);
+        assertThat(debugCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldKeepTokenIfRefreshDoesNotExtendIt() {
+        AccessTokenManager manager = AccessTokenManager.builder(debugTokenClient(), "app", "secret")
+                .setAccessToken("old")
+                .setRefreshAhead(Duration.ofDays(1))
+                .setRetryDelay(Duration.ofMinutes(1))
+                .setRefresher(token -> {
+                    refreshes.incrementAndGet();
+                    return Mono.just(token);
+                })
+                .setClock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+
+        assertThat(manager.getAccessToken().block()).isEqualTo("old");
+        assertThat(manager.getAccessToken().block()).isEqualTo("old");
+        assertThat(manager.getAccessToken().block()).isEqualTo("old");
+        assertThat(refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReplaceTokenOfRequest() {
+        AccessTokenManager manager = AccessTokenManager.builder(debugTokenClient(), "app", "secret")
+                .setAccessToken("old")
+                .build();
+        TokenAwareWebRequestor requestor = new TokenAwareWebRequestor(null, manager, "secret");
+
+        assertThat(requestor.withToken("https://graph.facebook.com/me?access_token=old&fields=id", "a|b"))
+                .startsWith("https://graph.facebook.com/me?fields=id&access_token=a%7Cb&appsecret_proof=");
+        assertThat(requestor.withToken("https://graph.facebook.com/me", "new"))
+                .startsWith("https://graph.facebook.com/me?access_token=new&appsecret_proof=");
+        assertThat(requestor.parametersWithToken("", "new")).startsWith("access_token=new&appsecret_proof=");
+    }
+
+    /**
+     * "old" token expires in an hour, any other one in 60 days.
+     */
+    private ReactiveFacebookClient debugTokenClient() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return (ReactiveFacebookClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{ReactiveFacebookClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("fetchObject")
+                            || !AccessTokenManager.DEBUG_TOKEN_ENDPOINT.equals(args[0])) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    debugCalls.incrementAndGet();
+                    String token = ((Parameter[]) args[2])[0].value;
+                    Instant expiresAt = token.equals("old") ? NOW.plusSeconds(3600) : NOW.plus(Duration.ofDays(60));
+                    return Mono.fromCallable(() -> objectMapper.readTree(
+                            "{\"data\":{\"is_valid\":true,\"expires_at\":" + expiresAt.getEpochSecond() + "}}"));
+                });
+    }
+}
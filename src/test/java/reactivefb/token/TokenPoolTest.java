@@ -0,0 +1,76 @@
+package reactivefb.token;
+
+import org.junit.Test;
+import reactivefb.ratelimit.UsageHeaders;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenPoolTest {
+
+    private final Instant now = Instant.parse("2018-10-01T10:15:30Z");
+
+    @Test
+    public void shouldPickLeastLoadedAvailableToken() {
+        TokenPool pool = TokenPool.builder()
+                .addTokens(asList("a", "b", "c"))
+                .setQuarantine(Duration.ofMinutes(1))
+                .setClock(Clock.fixed(now, ZoneOffset.UTC))
+                .build();
+        TokenPool.PooledToken a = pool.getTokens().get(0);
+        TokenPool.PooledToken b = pool.getTokens().get(1);
+        TokenPool.PooledToken c = pool.getTokens().get(2);
+
+        pool.onResponse(a, response(UsageHeaders.APP_USAGE,
+                "{\"call_count\":40,\"total_cputime\":5,\"total_time\":7}"));
+        pool.onResponse(b, response(UsageHeaders.BUSINESS_USE_CASE_USAGE,
+                "{\"1\":[{\"type\":\"pages\",\"call_count\":100,\"estimated_time_to_regain_access\":15}]}"));
+        pool.onResponse(c, response(UsageHeaders.PAGE_USAGE, "{\"call_count\":10}"));
+
+        assertThat(b.getQuarantinedUntil()).isEqualTo(now.plus(Duration.ofMinutes(15)));
+        assertThat(pool.acquire()).isSameAs(c);
+        assertThat(pool.acquire()).isSameAs(c);
+
+        pool.onRateLimited(c);
+        assertThat(pool.acquire()).isSameAs(a);
+        assertThat(a.getInFlight()).isEqualTo(1);
+
+        pool.onRateLimited(a);
+        assertThat(pool.acquire()).isNull();
+        assertThat(pool.untilAvailable()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    private static ReactiveHttpResponse response(String header, String usage) {
+        return new ReactiveHttpResponse() {
+            @Override
+            public int status() {
+                return 200;
+            }
+
+            @Override
+            public Map<String, List<String>> headers() {
+                return Collections.singletonMap(header, Collections.singletonList(usage));
+            }
+
+            @Override
+            public Mono<Object> body() {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<byte[]> bodyData() {
+                return Mono.empty();
+            }
+        };
+    }
+}
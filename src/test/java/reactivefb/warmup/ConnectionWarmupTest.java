@@ -0,0 +1,105 @@
+package reactivefb.warmup;
+
+import com.restfb.exception.FacebookNetworkException;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConnectionWarmupTest {
+
+    private final AtomicInteger accepted = new AtomicInteger();
+    private ServerSocket server;
+    private HttpClient httpClient;
+
+    @Before
+    public void before() throws Exception {
+        server = new ServerSocket(0);
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    accepted.incrementAndGet();
+                    Thread connection = new Thread(() -> answerHeads(socket));
+                    connection.setDaemon(true);
+                    connection.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        httpClient = new HttpClient();
+        httpClient.start();
+    }
+
+    @After
+    public void after() throws Exception {
+        httpClient.stop();
+        server.close();
+    }
+
+    @Test
+    public void shouldOpenConnectionsToEachHost() {
+        ConnectionWarmup warmup = ConnectionWarmup.builder()
+                .setHosts("http://localhost:" + server.getLocalPort())
+                .setConnections(3)
+                .build();
+
+        warmup.warm(httpClient).block(Duration.ofSeconds(10));
+
+        assertThat(accepted.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldFailIfHostIsUnreachable() throws IOException {
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            closedPort = closed.getLocalPort();
+        }
+        ConnectionWarmup warmup = ConnectionWarmup.builder()
+                .setHosts("http://localhost:" + server.getLocalPort(), "http://localhost:" + closedPort)
+                .setConnections(2)
+                .build();
+
+        assertThatThrownBy(() -> warmup.warm(httpClient).block(Duration.ofSeconds(10)))
+                .isInstanceOf(FacebookNetworkException.class)
+                .hasMessageContaining(String.valueOf(closedPort));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveConnections() {
+        ConnectionWarmup.builder().setConnections(0).build();
+    }
+
+    private static void answerHeads(Socket socket) {
+        try (Socket closing = socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(closing.getInputStream(), US_ASCII));
+            OutputStream out = closing.getOutputStream();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    out.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n".getBytes(US_ASCII));
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // connection closed by client
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package reactivefb.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfb.exception.FacebookNetworkException;
+import org.junit.Test;
+import reactivefb.ReactiveFacebookClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeEnricherTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void shouldKeepEnrichingAfterFailedBatchAndObject() {
+        ChangeEnricher<Post> enricher = new ChangeEnricher<>(client(), objectMapper,
+                change -> change.getValue().path("post_id").asText(null), Post.class,
+                2, Duration.ofSeconds(1), 1);
+
+        List<EnrichedChange<Post>> enriched = enricher.enrich(Flux.just(
+                change("throttled"), change(null),
+                change("1_1"), change("1_2")))
+                .collectList().block();
+
+        assertThat(enriched).hasSize(4);
+        assertThat(enriched.get(0).getError()).isInstanceOf(FacebookNetworkException.class);
+        assertThat(enriched.get(1).isSuccess()).isTrue();
+        assertThat(enriched.get(1).getObject()).isNull();
+        assertThat(enriched.get(2).getObject().likes).isEqualTo(3);
+        assertThat(enriched.get(3).getObject()).isNull();
+        assertThat(enriched.get(3).getError()).isNotNull();
+    }
+
+    private static ChangeEvent change(String postId) {
+        return new ChangeEvent("page", "1", 0, "feed", objectMapper.createObjectNode().put("post_id", postId));
+    }
+
+    /**
+     * Fails batches with "throttled" id, returns "1_2" in a shape not decodable as {@link Post}.
+     */
+    private static ReactiveFacebookClient client() {
+        return (ReactiveFacebookClient) Proxy.newProxyInstance(ChangeEnricherTest.class.getClassLoader(),
+                new Class[]{ReactiveFacebookClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("fetchObjects")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<?> ids = (List<?>) args[0];
+                    if (ids.contains("throttled")) {
+                        return Mono.error(new FacebookNetworkException("Throttled"));
+                    }
+                    return Mono.fromCallable(() -> objectMapper.readTree(
+                            "{\"1_1\":{\"id\":\"1_1\",\"likes\":3},\"1_2\":{\"id\":\"1_2\",\"likes\":\"many\"}}"));
+                });
+    }
+
+    public static class Post {
+        public String id;
+        public int likes;
+    }
+}
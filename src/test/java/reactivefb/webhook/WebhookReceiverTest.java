@@ -0,0 +1,127 @@
+package reactivefb.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class WebhookReceiverTest {
+
+    private static final String appSecret = "990f893fcd3bd433131d981838bdc0cc";
+
+    private static final String notification = "{\"object\":\"page\",\"entry\":[{\"id\":\"123\",\"time\":1539000000," +
+            "\"changes\":[{\"field\":\"feed\",\"value\":{\"item\":\"post\",\"post_id\":\"123_1\",\"verb\":\"add\"}}," +
+            "{\"field\":\"feed\",\"value\":{\"item\":\"comment\",\"comment_id\":\"1_2\",\"verb\":\"add\"}}]}]}";
+
+    private final WebhookReceiver receiver = WebhookReceiver.builder(appSecret, new ObjectMapper())
+            .setBufferSize(3)
+            .build();
+
+    @Test
+    public void shouldAcceptSignedNotification() throws GeneralSecurityException {
+        receiver.receive(sign(notification), chunked(notification)).block();
+
+        List<ChangeEvent> events = receiver.events().take(2).collectList().block();
+
+        assertThat(events).extracting(ChangeEvent::getEntryId).containsExactly("123", "123");
+        assertThat(events.get(0).getValue().get("post_id").asText()).isEqualTo("123_1");
+        assertThat(events.get(1).getField()).isEqualTo("feed");
+    }
+
+    @Test
+    public void shouldRejectInvalidSignature() {
+        Throwable error = catchThrowable(() -> receiver.receive("sha256=00", chunked(notification)).block());
+
+        assertThat(error).isInstanceOf(WebhookException.class);
+        assertThat(((WebhookException) error).getReason()).isEqualTo(WebhookException.Reason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    public void shouldAnswerSubscriptionVerificationWithChallenge() {
+        WebhookReceiver verifier = WebhookReceiver.builder(appSecret, new ObjectMapper())
+                .setVerifyToken("token")
+                .build();
+
+        assertThat(verifier.verifySubscription("subscribe", "token", "challenge").block()).isEqualTo("challenge");
+    }
+
+    @Test
+    public void shouldRejectSubscriptionVerificationWithWrongTokenOrMode() {
+        WebhookReceiver verifier = WebhookReceiver.builder(appSecret, new ObjectMapper())
+                .setVerifyToken("token")
+                .build();
+
+        Throwable wrongToken = catchThrowable(() -> verifier.verifySubscription("subscribe", "other", "challenge")
+                .block());
+        Throwable wrongMode = catchThrowable(() -> verifier.verifySubscription("unsubscribe", "token", "challenge")
+                .block());
+
+        assertThat(((WebhookException) wrongToken).getReason())
+                .isEqualTo(WebhookException.Reason.INVALID_VERIFY_TOKEN);
+        assertThat(((WebhookException) wrongMode).getReason())
+                .isEqualTo(WebhookException.Reason.INVALID_VERIFY_TOKEN);
+    }
+
+    @Test
+    public void shouldRejectNotificationNotFittingIntoBuffer() throws GeneralSecurityException {
+        receiver.receive(sign(notification), chunked(notification)).block();
+
+        Throwable error = catchThrowable(() -> receiver.receive(sign(notification), chunked(notification)).block());
+
+        assertThat(((WebhookException) error).getReason()).isEqualTo(WebhookException.Reason.OVERFLOW);
+        assertThat(receiver.getBuffered()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotPassDemandOfCancelledSubscriberToNextOne() throws GeneralSecurityException {
+        receiver.receive(sign(notification), chunked(notification)).block();
+        assertThat(receiver.events().take(1).collectList().block()).hasSize(1);
+
+        receiver.receive(sign(notification), chunked(notification)).block();
+        List<ChangeEvent> received = new ArrayList<>();
+        BaseSubscriber<ChangeEvent> subscriber = new BaseSubscriber<ChangeEvent>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(ChangeEvent event) {
+                received.add(event);
+            }
+        };
+        receiver.events().subscribe(subscriber);
+
+        assertThat(received).hasSize(1);
+        assertThat(receiver.getBuffered()).isEqualTo(2);
+        subscriber.dispose();
+    }
+
+    private static Flux<ByteBuffer> chunked(String payload) {
+        byte[] bytes = payload.getBytes(UTF_8);
+        int half = bytes.length / 2;
+        return Flux.just(ByteBuffer.wrap(bytes, 0, half), ByteBuffer.wrap(bytes, half, bytes.length - half));
+    }
+
+    private static String sign(String payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(appSecret.getBytes(UTF_8), "HmacSHA256"));
+        StringBuilder hex = new StringBuilder("sha256=");
+        for (byte b : mac.doFinal(payload.getBytes(UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
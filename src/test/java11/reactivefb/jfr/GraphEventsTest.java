@@ -0,0 +1,67 @@
+package reactivefb.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphEventsTest {
+
+    @Test
+    public void shouldRecordRequest() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            RequestRecording recording = GraphEvents.get()
+                    .requestStarted("https://graph.facebook.com/v3.1/1234/feed?limit=10");
+            recording.responded(200, 42);
+        });
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getEventType().getName()).isEqualTo("reactivefb.GraphRequest");
+        assertThat(event.getString("endpoint")).isEqualTo("/{id}/feed");
+        assertThat(event.getInt("status")).isEqualTo(200);
+        assertThat(event.getLong("bytes")).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldRecordBatchesRetriesAndDecoding() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            GraphEvents.get().batchSent(50, 1);
+            GraphEvents.get().retried("batch", 2, 3, new IllegalStateException());
+            GraphEvents.get().decoded(String.class, 100, 1000);
+        });
+
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .containsExactlyInAnyOrder("reactivefb.GraphBatch", "reactivefb.GraphRetry", "reactivefb.GraphDecode");
+    }
+
+    @Test
+    public void shouldNotRecordWhenDisabled() {
+        assertThat(GraphEvents.get().requestStarted("/me").isRecording()).isFalse();
+        assertThat(GraphEvents.get().isDecodeEnabled()).isFalse();
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = Files.createTempFile("graph-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GraphRequestEvent.class);
+            recording.enable(GraphBatchEvent.class);
+            recording.enable(GraphRetryEvent.class);
+            recording.enable(GraphDecodeEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}